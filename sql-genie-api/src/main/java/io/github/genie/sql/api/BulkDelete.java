@@ -0,0 +1,5 @@
+package io.github.genie.sql.api;
+
+public interface BulkDelete<T> extends BulkWhere<T, BulkDelete<T>> {
+
+}
@@ -0,0 +1,9 @@
+package io.github.genie.sql.api;
+
+public interface BulkUpdate<T> extends BulkWhere<T, BulkUpdate<T>> {
+
+    <U> BulkUpdate<T> set(Path<T, U> path, U value);
+
+    <U> BulkUpdate<T> setExpression(Path<T, U> path, ExpressionHolder<T, U> value);
+
+}
@@ -0,0 +1,36 @@
+package io.github.genie.sql.api;
+
+import io.github.genie.sql.api.ExpressionOperator.ComparableOperator;
+import io.github.genie.sql.api.ExpressionOperator.NumberOperator;
+import io.github.genie.sql.api.ExpressionOperator.PathOperator;
+import io.github.genie.sql.api.ExpressionOperator.StringOperator;
+import io.github.genie.sql.api.Path.ComparablePath;
+import io.github.genie.sql.api.Path.NumberPath;
+import io.github.genie.sql.api.Path.StringPath;
+
+import java.util.function.Function;
+
+/**
+ * where clause of a bulk update or delete, predicates are combined with {@code and}
+ */
+public interface BulkWhere<T, B extends BulkWhere<T, B>> {
+
+    B where(ExpressionHolder<T, Boolean> predicate);
+
+    B where(Function<Root<T>, ExpressionHolder<T, Boolean>> predicateBuilder);
+
+    <N> PathOperator<T, N, B> where(Path<T, N> path);
+
+    <N extends Comparable<N>> ComparableOperator<T, N, B> where(ComparablePath<T, N> path);
+
+    <N extends Number & Comparable<N>> NumberOperator<T, N, B> where(NumberPath<T, N> path);
+
+    StringOperator<T, B> where(StringPath<T> path);
+
+    /**
+     * @return affected row count
+     * @throws IllegalStateException if no where clause was given
+     */
+    int execute();
+
+}
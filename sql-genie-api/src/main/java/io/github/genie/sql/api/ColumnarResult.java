@@ -0,0 +1,124 @@
+package io.github.genie.sql.api;
+
+import java.util.Arrays;
+
+/**
+ * query result laid out column by column, numeric and boolean columns are kept in primitive arrays.
+ * each array has exactly {@link #size()} elements, a null cell reads as zero or false there and is
+ * reported by {@link #isNull(int, int)}
+ */
+public interface ColumnarResult {
+
+    int size();
+
+    int columnCount();
+
+    ColumnType columnType(int column);
+
+    boolean isNull(int column, int row);
+
+    int[] ints(int column);
+
+    long[] longs(int column);
+
+    double[] doubles(int column);
+
+    boolean[] booleans(int column);
+
+    String[] strings(int column);
+
+    Object[] objects(int column);
+
+    /**
+     * the boxed cell value, whatever the column type
+     */
+    Object get(int column, int row);
+
+    /**
+     * the non-null values of an int column, empty for a column without values whatever its type
+     */
+    default int[] toIntArray(int column) {
+        int nulls = nullCount(column);
+        if (nulls == size()) {
+            return new int[0];
+        }
+        int[] values = ints(column);
+        if (nulls == 0) {
+            return values;
+        }
+        int[] result = new int[values.length - nulls];
+        for (int row = 0, i = 0; row < values.length; row++) {
+            if (!isNull(column, row)) {
+                result[i++] = values[row];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * the non-null values of an int or long column, empty for a column without values whatever its type
+     */
+    default long[] toLongArray(int column) {
+        ColumnType type = columnType(column);
+        int nulls = nullCount(column);
+        if (nulls == size()) {
+            return new long[0];
+        } else if (type == ColumnType.LONG && nulls == 0) {
+            return longs(column);
+        } else if (type != ColumnType.INT && type != ColumnType.LONG) {
+            throw new IllegalStateException("column " + column + " is " + type);
+        }
+        long[] result = new long[size() - nulls];
+        int[] ints = type == ColumnType.INT ? ints(column) : null;
+        long[] longs = type == ColumnType.LONG ? longs(column) : null;
+        for (int row = 0, i = 0; row < size(); row++) {
+            if (!isNull(column, row)) {
+                result[i++] = ints != null ? ints[row] : longs[row];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * the non-null values of a numeric column, empty for a column without values whatever its type
+     */
+    default double[] toDoubleArray(int column) {
+        if (nullCount(column) == size()) {
+            return new double[0];
+        } else if (columnType(column) != ColumnType.DOUBLE) {
+            return Arrays.stream(toLongArray(column)).asDoubleStream().toArray();
+        }
+        double[] values = doubles(column);
+        int nulls = nullCount(column);
+        if (nulls == 0) {
+            return values;
+        }
+        double[] result = new double[values.length - nulls];
+        for (int row = 0, i = 0; row < values.length; row++) {
+            if (!isNull(column, row)) {
+                result[i++] = values[row];
+            }
+        }
+        return result;
+    }
+
+    default int nullCount(int column) {
+        int count = 0;
+        for (int row = 0; row < size(); row++) {
+            if (isNull(column, row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    enum ColumnType {
+        INT,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        STRING,
+        OBJECT
+    }
+
+}
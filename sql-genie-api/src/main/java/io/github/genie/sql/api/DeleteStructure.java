@@ -0,0 +1,11 @@
+package io.github.genie.sql.api;
+
+import java.io.Serializable;
+
+public interface DeleteStructure extends Serializable {
+
+    Class<?> entityType();
+
+    Expression where();
+
+}
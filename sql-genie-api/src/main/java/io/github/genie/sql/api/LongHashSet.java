@@ -0,0 +1,175 @@
+package io.github.genie.sql.api;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * open addressing set of primitive longs, values are never boxed
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] table;
+    private boolean containsEmpty;
+    private int size;
+    private int mask;
+    private int shift;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    public static LongHashSet of(long[] values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    public static LongHashSet of(int[] values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    /**
+     * @return false if the value was already present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int index = index(value);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        if (++size > table.length >>> 1) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        int index = index(value);
+        long cur;
+        while ((cur = table[index]) != EMPTY) {
+            if (cur == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsEmpty) {
+            action.accept(EMPTY);
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int i = 0;
+        if (containsEmpty) {
+            result[i++] = EMPTY;
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    private int index(long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(mask);
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = index(value);
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongHashSet other) || other.size != size) {
+            return false;
+        }
+        long[] values = toArray();
+        for (long value : values) {
+            if (!other.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (long value : toArray()) {
+            result += Long.hashCode(value);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+
+}
@@ -0,0 +1,15 @@
+package io.github.genie.sql.api;
+
+import java.util.List;
+
+public interface Page<T> {
+
+    List<T> data();
+
+    String next();
+
+    default boolean hasNext() {
+        return next() != null;
+    }
+
+}
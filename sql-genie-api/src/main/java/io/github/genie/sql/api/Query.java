@@ -25,8 +25,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.github.genie.sql.api.Order.SortOrder.ASC;
 import static io.github.genie.sql.api.Order.SortOrder.DESC;
@@ -393,6 +396,65 @@ public interface Query {
 
         Slice<T> slice(int offset, int limit);
 
+        Slice<T> sliceWithoutCount(int offset, int limit);
+
+        Slice<T> sliceWithoutCount(int offset, int limit, LongSupplier estimate);
+
+        Page<T> getPage(String cursor, int size);
+
+        /**
+         * rows are mapped while the stream is consumed only if the executor can keep a connection open for it,
+         * a jdbc executor needs a connection provider that lends connections. otherwise the whole result is read
+         * first. the stream must be closed
+         */
+        Stream<T> stream();
+
+        /**
+         * the selected expressions, one array per expression instead of one tuple per row
+         */
+        ColumnarResult getColumns(int offset, int maxResult);
+
+        default ColumnarResult getColumns() {
+            return getColumns(-1, -1);
+        }
+
+        /**
+         * the non-null values of a single selected int column, read without boxing
+         */
+        default int[] getIntArray() {
+            return getSingleColumn().toIntArray(0);
+        }
+
+        default long[] getLongArray() {
+            return getSingleColumn().toLongArray(0);
+        }
+
+        default double[] getDoubleArray() {
+            return getSingleColumn().toDoubleArray(0);
+        }
+
+        default LongHashSet getLongSet() {
+            return LongHashSet.of(getLongArray());
+        }
+
+        private ColumnarResult getSingleColumn() {
+            ColumnarResult columns = getColumns();
+            if (columns.columnCount() != 1) {
+                throw new IllegalStateException("single column required, found " + columns.columnCount());
+            }
+            return columns;
+        }
+
+        default void forEach(Consumer<? super T> action) {
+            try (Stream<T> stream = stream()) {
+                stream.forEach(action);
+            }
+        }
+
+        default Page<T> getPage(int size) {
+            return getPage(null, size);
+        }
+
         QueryStructureBuilder buildMetadata();
 
     }
@@ -24,7 +24,25 @@ public interface Update {
 
     <T> T updateNonNullColumn(T entity, Class<T> entityType);
 
+    /**
+     * inserts the entities whose id does not exist yet and updates the others, in one pass
+     */
+    <T> List<T> upsert(List<T> entities, Class<T> entityType);
+
+    default <T> T upsert(T entity, Class<T> entityType) {
+        return upsert(Lists.of(entity), entityType).get(0);
+    }
+
     <T> Updater<T> getUpdater(Class<T> type);
 
+    /**
+     * {@code update ... set ... where ...} over the rows matching the predicate
+     */
+    <T> BulkUpdate<T> update(Class<T> entityType);
+
+    /**
+     * {@code delete ... where ...} over the rows matching the predicate
+     */
+    <T> BulkDelete<T> delete(Class<T> entityType);
 
 }
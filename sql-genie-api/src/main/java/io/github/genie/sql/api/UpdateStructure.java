@@ -0,0 +1,22 @@
+package io.github.genie.sql.api;
+
+import java.io.Serializable;
+import java.util.List;
+
+public interface UpdateStructure extends Serializable {
+
+    Class<?> entityType();
+
+    List<? extends Assignment> assignments();
+
+    Expression where();
+
+    interface Assignment extends Serializable {
+
+        Column column();
+
+        Expression value();
+
+    }
+
+}
@@ -18,4 +18,8 @@ public interface Updater<T> {
 
     T updateNonNullColumn(T entity);
 
+    List<T> upsert(List<T> entities);
+
+    T upsert(T entity);
+
 }
@@ -0,0 +1,25 @@
+package io.github.genie.sql.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * runs jmh with json results written to {@code jmh-result.json} unless {@code -rf} or {@code -rff} is given
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> list = new ArrayList<>(Arrays.asList(args));
+        if (!list.contains("-rf")) {
+            list.addAll(0, List.of("-rf", "json"));
+        }
+        if (!list.contains("-rff")) {
+            list.addAll(0, List.of("-rff", "jmh-result.json"));
+        }
+        Main.main(list.toArray(String[]::new));
+    }
+
+}
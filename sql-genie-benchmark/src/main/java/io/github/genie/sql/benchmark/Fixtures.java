@@ -0,0 +1,62 @@
+package io.github.genie.sql.benchmark;
+
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.benchmark.entity.Employee;
+import io.github.genie.sql.benchmark.entity.Status;
+import io.github.genie.sql.builder.AbstractQueryExecutor;
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.builder.meta.Metamodel;
+import io.github.genie.sql.meta.JpaMetamodel;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+final class Fixtures {
+
+    static final Metamodel METAMODEL = JpaMetamodel.of();
+
+    static final Select<Employee> QUERY = new AbstractQueryExecutor() {
+        @NotNull
+        @Override
+        public <R> List<R> getList(@NotNull QueryStructure queryStructure) {
+            return List.of();
+        }
+    }.createQuery().from(Employee.class);
+
+    static QueryStructure simple(int id) {
+        return QUERY.where(Employee::getId).eq(id)
+                .buildMetadata().getList(0, 20, LockModeType.NONE);
+    }
+
+    static QueryStructure joined(int id) {
+        return QUERY.fetch(Employee::getDepartment)
+                .where(Employee::getManager).get(Employee::getName).eq("manager" + id)
+                .where(Employee::getStatus).eq(Status.ACTIVE)
+                .where(Employee::getAge).between(20, 40)
+                .orderBy(Employee::getId).desc()
+                .buildMetadata().getList(id, 20, LockModeType.NONE);
+    }
+
+    static QueryStructure grouped(int id) {
+        return QUERY.select(List.of(
+                        Q.get(Employee::getDepartmentId),
+                        Q.get(Employee::getSalary).sum(),
+                        Q.get(Employee::getId).count()))
+                .where(Employee::isValid).eq(true)
+                .groupBy(Employee::getDepartmentId)
+                .having(Q.get(Employee::getId).count().gt((long) id))
+                .buildMetadata().getList(0, 20, LockModeType.NONE);
+    }
+
+    static QueryStructure subQuery(int id) {
+        return QUERY.selectDistinct(Employee::getDepartmentId)
+                .where(Employee::getAge).gt(id)
+                .buildMetadata().count();
+    }
+
+    private Fixtures() {
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.github.genie.sql.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+/**
+ * forward only result set over fixed rows, rewound by {@link #reset()} between invocations
+ */
+final class InMemoryResultSet implements InvocationHandler {
+
+    private final Object[][] rows;
+    private final ResultSet resultSet;
+    private final ResultSetMetaData metaData;
+    private int cursor = -1;
+    private boolean wasNull;
+
+    InMemoryResultSet(Object[][] rows, int columnCount) {
+        this.rows = rows;
+        this.resultSet = (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                this);
+        this.metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getColumnCount")) {
+                        return columnCount;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    ResultSet resultSet() {
+        return resultSet;
+    }
+
+    void reset() {
+        cursor = -1;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "next":
+                return ++cursor < rows.length;
+            case "getMetaData":
+                return metaData;
+            case "getType":
+                return ResultSet.TYPE_FORWARD_ONLY;
+            case "wasNull":
+                return wasNull;
+            case "close":
+                return null;
+            case "isClosed":
+                return false;
+            default:
+        }
+        if (!name.startsWith("get") || args == null || args.length != 1 || !(args[0] instanceof Integer)) {
+            throw new UnsupportedOperationException(name);
+        }
+        Object value = rows[cursor][(Integer) args[0] - 1];
+        wasNull = value == null;
+        Class<?> type = method.getReturnType();
+        if (type.isPrimitive()) {
+            if (value == null) {
+                return type == boolean.class ? Boolean.FALSE : defaultNumber(type);
+            }
+            if (value instanceof Number) {
+                return toNumber((Number) value, type);
+            }
+        }
+        return value;
+    }
+
+    private static Object defaultNumber(Class<?> type) {
+        return toNumber(0, type);
+    }
+
+    private static Object toNumber(Number number, Class<?> type) {
+        if (type == int.class) {
+            return number.intValue();
+        } else if (type == long.class) {
+            return number.longValue();
+        } else if (type == double.class) {
+            return number.doubleValue();
+        } else if (type == float.class) {
+            return number.floatValue();
+        } else if (type == short.class) {
+            return number.shortValue();
+        } else if (type == byte.class) {
+            return number.byteValue();
+        }
+        throw new UnsupportedOperationException(type.getName());
+    }
+
+}
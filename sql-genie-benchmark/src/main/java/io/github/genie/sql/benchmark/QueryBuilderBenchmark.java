@@ -0,0 +1,64 @@
+package io.github.genie.sql.benchmark;
+
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.benchmark.entity.Employee;
+import io.github.genie.sql.benchmark.entity.Employee_Genie;
+import io.github.genie.sql.benchmark.entity.Status;
+import io.github.genie.sql.builder.PathReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.genie.sql.benchmark.Fixtures.QUERY;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBuilderBenchmark {
+
+    private int id;
+
+    @Benchmark
+    public QueryStructure whereEq() {
+        return QUERY.where(Employee::getId).eq(++id)
+                .buildMetadata().getList(0, 20, LockModeType.NONE);
+    }
+
+    @Benchmark
+    public QueryStructure whereEqGenerated() {
+        return QUERY.where(Employee_Genie.id).eq(++id)
+                .buildMetadata().getList(0, 20, LockModeType.NONE);
+    }
+
+    @Benchmark
+    public QueryStructure fetchWhereOrder() {
+        return Fixtures.joined(++id);
+    }
+
+    @Benchmark
+    public QueryStructure projection() {
+        return QUERY.select(Employee::getId, Employee::getName, Employee::getSalary)
+                .where(Employee::getStatus).in(Status.ACTIVE, Status.SUSPENDED)
+                .where(Employee::getName).startWith("a")
+                .orderBy(Employee::getName).asc()
+                .buildMetadata().getList(0, 20, LockModeType.NONE);
+    }
+
+    @Benchmark
+    public PathReference pathReference() {
+        return PathReference.of(Employee::getName);
+    }
+
+}
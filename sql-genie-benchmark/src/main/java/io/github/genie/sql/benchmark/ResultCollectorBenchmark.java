@@ -0,0 +1,129 @@
+package io.github.genie.sql.benchmark;
+
+import io.github.genie.sql.api.Column;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Selection.MultiSelected;
+import io.github.genie.sql.benchmark.entity.Employee;
+import io.github.genie.sql.benchmark.projection.EmployeeBean;
+import io.github.genie.sql.benchmark.projection.EmployeeRecord;
+import io.github.genie.sql.benchmark.projection.EmployeeView;
+import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.builder.meta.Type;
+import io.github.genie.sql.executor.jdbc.JdbcResultCollector;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.genie.sql.benchmark.Fixtures.METAMODEL;
+import static io.github.genie.sql.benchmark.Fixtures.QUERY;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultCollectorBenchmark {
+
+    @Param({"entity", "bean", "record", "interface", "tuple"})
+    private String selection;
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    private final JdbcResultCollector collector = new JdbcResultCollector();
+    private EntityType entityType;
+    private List<? extends Attribute> selected;
+    private QueryStructure structure;
+    private InMemoryResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        structure = switch (selection) {
+            case "entity" -> QUERY.buildMetadata().getList(0, rows, LockModeType.NONE);
+            case "bean" -> QUERY.select(EmployeeBean.class).buildMetadata().getList(0, rows, LockModeType.NONE);
+            case "record" -> QUERY.select(EmployeeRecord.class).buildMetadata().getList(0, rows, LockModeType.NONE);
+            case "interface" -> QUERY.select(EmployeeView.class).buildMetadata().getList(0, rows, LockModeType.NONE);
+            case "tuple" -> QUERY.select(Employee::getId, Employee::getName, Employee::getSalary, Employee::getStatus)
+                    .buildMetadata().getList(0, rows, LockModeType.NONE);
+            default -> throw new IllegalArgumentException(selection);
+        };
+        entityType = METAMODEL.getEntity(Employee.class);
+        selected = new MySqlQuerySqlBuilder(0).build(structure, METAMODEL).selected();
+        List<Class<?>> types = columnTypes();
+        Object[][] data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            Object[] row = new Object[types.size()];
+            for (int j = 0; j < row.length; j++) {
+                row[j] = value(types.get(j), i);
+            }
+            data[i] = row;
+        }
+        resultSet = new InMemoryResultSet(data, types.size());
+    }
+
+    @Benchmark
+    public List<Object> resolve() throws SQLException {
+        resultSet.reset();
+        return collector.resolve(resultSet.resultSet(), entityType, selected, structure);
+    }
+
+    private List<Class<?>> columnTypes() {
+        List<Class<?>> types = new ArrayList<>();
+        if (structure.select() instanceof MultiSelected multiSelected) {
+            for (Expression expression : multiSelected.expressions()) {
+                Type type = entityType;
+                for (String path : (Column) expression) {
+                    type = ((EntityType) type).getAttribute(path);
+                }
+                types.add(type.javaType());
+            }
+        } else {
+            for (Attribute attribute : selected) {
+                types.add(attribute.javaType());
+            }
+        }
+        return types;
+    }
+
+    private static Object value(Class<?> type, int row) {
+        if (type == int.class || type == Integer.class) {
+            return row;
+        } else if (type == long.class || type == Long.class) {
+            return (long) row;
+        } else if (type == String.class) {
+            return "name" + row;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(row, 2);
+        } else if (type == boolean.class || type == Boolean.class) {
+            return row % 2 == 0;
+        } else if (type == LocalDateTime.class || type == Date.class) {
+            return new Timestamp(1700000000000L + row);
+        } else if (type.isEnum()) {
+            return row % type.getEnumConstants().length;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.github.genie.sql.benchmark;
+
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.PreparedSql;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.genie.sql.benchmark.Fixtures.METAMODEL;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SqlBuilderBenchmark {
+
+    /**
+     * 0 renders every structure from scratch, otherwise sql templates are cached by shape
+     */
+    @Param({"0", "256"})
+    private int cacheSize;
+
+    private MySqlQuerySqlBuilder builder;
+    private QueryStructure simple;
+    private QueryStructure joined;
+    private QueryStructure grouped;
+    private QueryStructure subQuery;
+
+    @Setup
+    public void setup() {
+        builder = new MySqlQuerySqlBuilder(cacheSize);
+        simple = Fixtures.simple(1);
+        joined = Fixtures.joined(1);
+        grouped = Fixtures.grouped(1);
+        subQuery = Fixtures.subQuery(1);
+    }
+
+    @Benchmark
+    public PreparedSql simple() {
+        return builder.build(simple, METAMODEL);
+    }
+
+    @Benchmark
+    public PreparedSql joined() {
+        return builder.build(joined, METAMODEL);
+    }
+
+    @Benchmark
+    public PreparedSql grouped() {
+        return builder.build(grouped, METAMODEL);
+    }
+
+    @Benchmark
+    public PreparedSql subQuery() {
+        return builder.build(subQuery, METAMODEL);
+    }
+
+}
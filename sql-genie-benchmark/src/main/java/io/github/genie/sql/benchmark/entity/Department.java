@@ -0,0 +1,18 @@
+package io.github.genie.sql.benchmark.entity;
+
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+@SuppressWarnings("JpaDataSourceORMInspection")
+@jakarta.persistence.Entity
+@Getter
+@Setter
+public class Department {
+
+    @Id
+    private int id;
+
+    private String name;
+
+}
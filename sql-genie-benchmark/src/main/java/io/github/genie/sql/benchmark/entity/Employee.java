@@ -0,0 +1,46 @@
+package io.github.genie.sql.benchmark.entity;
+
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@SuppressWarnings("JpaDataSourceORMInspection")
+@jakarta.persistence.Entity
+@Getter
+@Setter
+public class Employee {
+
+    @Id
+    private int id;
+
+    private String name;
+
+    private int age;
+
+    private BigDecimal salary;
+
+    private boolean valid;
+
+    private Status status;
+
+    private LocalDateTime hiredAt;
+
+    private Integer departmentId;
+
+    private Integer managerId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "departmentId", insertable = false, updatable = false)
+    private Department department;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "managerId", insertable = false, updatable = false)
+    private Employee manager;
+
+}
@@ -0,0 +1,5 @@
+package io.github.genie.sql.benchmark.entity;
+
+public enum Status {
+    ACTIVE, SUSPENDED, LEFT
+}
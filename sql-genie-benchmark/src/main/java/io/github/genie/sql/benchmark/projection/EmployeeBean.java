@@ -0,0 +1,25 @@
+package io.github.genie.sql.benchmark.projection;
+
+import io.github.genie.sql.benchmark.entity.Status;
+import io.github.genie.sql.builder.meta.EntityAttribute;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class EmployeeBean {
+
+    private int id;
+
+    private String name;
+
+    private int age;
+
+    private BigDecimal salary;
+
+    private Status status;
+
+    @EntityAttribute("department.name")
+    private String departmentName;
+
+}
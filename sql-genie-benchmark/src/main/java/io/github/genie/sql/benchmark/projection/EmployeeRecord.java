@@ -0,0 +1,8 @@
+package io.github.genie.sql.benchmark.projection;
+
+import io.github.genie.sql.benchmark.entity.Status;
+
+import java.math.BigDecimal;
+
+public record EmployeeRecord(int id, String name, int age, BigDecimal salary, Status status) {
+}
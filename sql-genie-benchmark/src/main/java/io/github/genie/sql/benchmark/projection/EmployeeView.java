@@ -0,0 +1,25 @@
+package io.github.genie.sql.benchmark.projection;
+
+import io.github.genie.sql.benchmark.entity.Status;
+import io.github.genie.sql.builder.meta.EntityAttribute;
+import io.github.genie.sql.builder.meta.GenerateImplementation;
+
+import java.math.BigDecimal;
+
+@GenerateImplementation
+public interface EmployeeView {
+
+    int getId();
+
+    String getName();
+
+    int getAge();
+
+    BigDecimal getSalary();
+
+    Status getStatus();
+
+    @EntityAttribute("department.name")
+    String getDepartmentName();
+
+}
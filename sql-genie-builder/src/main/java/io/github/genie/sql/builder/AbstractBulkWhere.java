@@ -0,0 +1,87 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.BulkWhere;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.ExpressionHolder;
+import io.github.genie.sql.api.ExpressionOperator.ComparableOperator;
+import io.github.genie.sql.api.ExpressionOperator.NumberOperator;
+import io.github.genie.sql.api.ExpressionOperator.PathOperator;
+import io.github.genie.sql.api.ExpressionOperator.StringOperator;
+import io.github.genie.sql.api.Operator;
+import io.github.genie.sql.api.Path;
+import io.github.genie.sql.api.Path.ComparablePath;
+import io.github.genie.sql.api.Path.NumberPath;
+import io.github.genie.sql.api.Path.StringPath;
+import io.github.genie.sql.api.Root;
+import io.github.genie.sql.api.TypedExpression;
+import io.github.genie.sql.builder.DefaultExpressionOperator.ComparableOperatorImpl;
+import io.github.genie.sql.builder.DefaultExpressionOperator.NumberOperatorImpl;
+import io.github.genie.sql.builder.DefaultExpressionOperator.PathOperatorImpl;
+import io.github.genie.sql.builder.DefaultExpressionOperator.StringOperatorImpl;
+
+import java.util.function.Function;
+
+abstract class AbstractBulkWhere<T, B extends BulkWhere<T, B>> implements BulkWhere<T, B> {
+
+    protected final BulkUpdateExecutor executor;
+    protected final Class<T> entityType;
+    protected final Expression where;
+
+    AbstractBulkWhere(BulkUpdateExecutor executor, Class<T> entityType, Expression where) {
+        this.executor = executor;
+        this.entityType = entityType;
+        this.where = where;
+    }
+
+    protected abstract B withWhere(Expression where);
+
+    @Override
+    public B where(ExpressionHolder<T, Boolean> predicate) {
+        return whereAnd(predicate.expression());
+    }
+
+    @Override
+    public B where(Function<Root<T>, ExpressionHolder<T, Boolean>> predicateBuilder) {
+        return where(predicateBuilder.apply(RootImpl.of()));
+    }
+
+    @Override
+    public <N> PathOperator<T, N, B> where(Path<T, N> path) {
+        return new PathOperatorImpl<>(RootImpl.<T>of().get(path), this::whereAnd);
+    }
+
+    @Override
+    public <N extends Comparable<N>> ComparableOperator<T, N, B> where(ComparablePath<T, N> path) {
+        return new ComparableOperatorImpl<>(RootImpl.<T>of().get(path), this::whereAnd);
+    }
+
+    @Override
+    public <N extends Number & Comparable<N>> NumberOperator<T, N, B> where(NumberPath<T, N> path) {
+        return new NumberOperatorImpl<>(RootImpl.<T>of().get(path), this::whereAnd);
+    }
+
+    @Override
+    public StringOperator<T, B> where(StringPath<T> path) {
+        return new StringOperatorImpl<>(RootImpl.<T>of().get(path), this::whereAnd);
+    }
+
+    private B whereAnd(TypedExpression<?, ?> expression) {
+        return whereAnd(expression.expression());
+    }
+
+    private B whereAnd(Expression expression) {
+        return withWhere(where == null ? expression : Expressions.operate(where, Operator.AND, expression));
+    }
+
+    /**
+     * @return the optimized predicate, or {@code null} if no row can match
+     */
+    protected Expression requireWhere() {
+        if (where == null) {
+            throw new IllegalStateException("where clause required");
+        }
+        Expression predicate = PredicateOptimizer.DEFAULT.optimize(where);
+        return Expressions.isFalse(predicate) ? null : predicate;
+    }
+
+}
@@ -6,7 +6,9 @@ import io.github.genie.sql.api.Slice;
 import io.github.genie.sql.api.Sliceable;
 import io.github.genie.sql.builder.QueryStructures.SliceImpl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 public interface AbstractCollector<T> extends Collector<T> {
 
@@ -21,6 +23,28 @@ public interface AbstractCollector<T> extends Collector<T> {
         }
     }
 
+    @Override
+    default Slice<T> sliceWithoutCount(int offset, int limit) {
+        return sliceWithoutCount(offset, limit, null);
+    }
+
+    @Override
+    default Slice<T> sliceWithoutCount(int offset, int limit, LongSupplier estimate) {
+        int start = Math.max(offset, 0);
+        List<T> list = getList(offset, limit < 0 ? -1 : limit + 1);
+        if (limit >= 0 && list.size() > limit) {
+            List<T> data = new ArrayList<>(list.subList(0, limit));
+            long total = estimate == null
+                    ? count()
+                    : Math.max(estimate.getAsLong(), (long) start + limit + 1);
+            return new SliceImpl<>(data, total, offset, limit);
+        } else if (list.isEmpty() && start > 0) {
+            long total = estimate == null ? count() : Math.min(estimate.getAsLong(), start);
+            return new SliceImpl<>(list, total, offset, limit);
+        }
+        return new SliceImpl<>(list, (long) start + list.size(), offset, limit);
+    }
+
     @Override
     default <R> R slice(Sliceable<T, R> sliceable) {
         long count = count();
@@ -1,7 +1,12 @@
 package io.github.genie.sql.builder;
 
+import io.github.genie.sql.api.ColumnarResult;
 import io.github.genie.sql.api.Query;
 import io.github.genie.sql.api.QueryExecutor;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Slice;
+
+import java.util.stream.Stream;
 
 public interface AbstractQueryExecutor extends QueryExecutor {
     default Query createQuery() {
@@ -12,4 +17,34 @@ public interface AbstractQueryExecutor extends QueryExecutor {
         return new QueryImpl(this, structurePostProcessor);
     }
 
+    default Query createQuery(QueryStructurePostProcessor structurePostProcessor,
+                              PredicateOptimizer predicateOptimizer) {
+        return new QueryImpl(this, structurePostProcessor, predicateOptimizer);
+    }
+
+    /**
+     * asked before the list query of a slice is post-processed, {@link #getSlice} is only called when true
+     */
+    default boolean supportsSlice() {
+        return false;
+    }
+
+    /**
+     * @return null if the executor can not read the rows and the total at once, they are then queried separately
+     */
+    default <R> Slice<R> getSlice(QueryStructure queryStructure) {
+        return null;
+    }
+
+    default <R> Stream<R> getStream(QueryStructure queryStructure) {
+        return this.<R>getList(queryStructure).stream();
+    }
+
+    /**
+     * @return null if the executor can not collect columns itself, the rows are then transposed
+     */
+    default ColumnarResult getColumns(QueryStructure queryStructure) {
+        return null;
+    }
+
 }
@@ -0,0 +1,112 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.Path;
+import io.github.genie.sql.api.Path.BooleanPath;
+import io.github.genie.sql.api.Path.ComparablePath;
+import io.github.genie.sql.api.Path.NumberPath;
+import io.github.genie.sql.api.Path.StringPath;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * path of an entity property that knows its name and type, e.g. the {@code User_Genie.username} constants written by the
+ * sql-genie-processor. expressions built from it do not go through {@link PathReference}
+ */
+@Getter
+public class AttributePath<T, R> implements Path<T, R> {
+
+    private final Class<T> entityType;
+    private final String propertyName;
+    /**
+     * boxed, like the type resolved by {@link PathReference}
+     */
+    private final Class<R> returnType;
+    private final transient Function<T, R> getter;
+
+    protected AttributePath(Class<T> entityType, String propertyName, Class<R> returnType, Function<T, R> getter) {
+        this.entityType = Objects.requireNonNull(entityType, "entityType");
+        this.propertyName = Objects.requireNonNull(propertyName, "propertyName");
+        this.returnType = Objects.requireNonNull(returnType, "returnType");
+        this.getter = getter;
+    }
+
+    /**
+     * @param getter null if the property has no accessible getter, the path can still be used in queries
+     */
+    public static <T, R> Path<T, R> of(Class<T> entityType,
+                                       String propertyName,
+                                       Class<R> returnType,
+                                       Function<T, R> getter) {
+        return new AttributePath<>(entityType, propertyName, returnType, getter);
+    }
+
+    public static <T, R extends Comparable<R>> ComparablePath<T, R> ofComparable(Class<T> entityType,
+                                                                                 String propertyName,
+                                                                                 Class<R> returnType,
+                                                                                 Function<T, R> getter) {
+        return new ComparableAttributePath<>(entityType, propertyName, returnType, getter);
+    }
+
+    public static <T, R extends Number & Comparable<R>> NumberPath<T, R> ofNumber(Class<T> entityType,
+                                                                                  String propertyName,
+                                                                                  Class<R> returnType,
+                                                                                  Function<T, R> getter) {
+        return new NumberAttributePath<>(entityType, propertyName, returnType, getter);
+    }
+
+    public static <T> StringPath<T> ofString(Class<T> entityType, String propertyName, Function<T, String> getter) {
+        return new StringAttributePath<>(entityType, propertyName, getter);
+    }
+
+    public static <T> BooleanPath<T> ofBoolean(Class<T> entityType, String propertyName, Function<T, Boolean> getter) {
+        return new BooleanAttributePath<>(entityType, propertyName, getter);
+    }
+
+    @Override
+    public R apply(T t) {
+        if (getter == null) {
+            throw new IllegalStateException("no accessible getter of " + this);
+        }
+        return getter.apply(t);
+    }
+
+    @Override
+    public String toString() {
+        return entityType.getSimpleName() + "." + propertyName;
+    }
+
+    private static class ComparableAttributePath<T, R extends Comparable<R>>
+            extends AttributePath<T, R> implements ComparablePath<T, R> {
+        private ComparableAttributePath(Class<T> entityType,
+                                        String propertyName,
+                                        Class<R> returnType,
+                                        Function<T, R> getter) {
+            super(entityType, propertyName, returnType, getter);
+        }
+    }
+
+    private static class NumberAttributePath<T, R extends Number & Comparable<R>>
+            extends AttributePath<T, R> implements NumberPath<T, R> {
+        private NumberAttributePath(Class<T> entityType,
+                                    String propertyName,
+                                    Class<R> returnType,
+                                    Function<T, R> getter) {
+            super(entityType, propertyName, returnType, getter);
+        }
+    }
+
+    private static class StringAttributePath<T> extends AttributePath<T, String> implements StringPath<T> {
+        private StringAttributePath(Class<T> entityType, String propertyName, Function<T, String> getter) {
+            super(entityType, propertyName, String.class, getter);
+        }
+    }
+
+    private static class BooleanAttributePath<T> extends AttributePath<T, Boolean> implements BooleanPath<T> {
+        private BooleanAttributePath(Class<T> entityType, String propertyName, Function<T, Boolean> getter) {
+            super(entityType, propertyName, Boolean.class, getter);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.BulkDelete;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.builder.QueryStructures.DeleteStructureImpl;
+
+public class BulkDeleteImpl<T> extends AbstractBulkWhere<T, BulkDelete<T>> implements BulkDelete<T> {
+
+    public BulkDeleteImpl(BulkUpdateExecutor executor, Class<T> entityType) {
+        this(executor, entityType, null);
+    }
+
+    private BulkDeleteImpl(BulkUpdateExecutor executor, Class<T> entityType, Expression where) {
+        super(executor, entityType, where);
+    }
+
+    @Override
+    protected BulkDelete<T> withWhere(Expression where) {
+        return new BulkDeleteImpl<>(executor, entityType, where);
+    }
+
+    @Override
+    public int execute() {
+        Expression predicate = requireWhere();
+        if (predicate == null) {
+            return 0;
+        }
+        return executor.executeDelete(new DeleteStructureImpl(entityType, predicate));
+    }
+
+}
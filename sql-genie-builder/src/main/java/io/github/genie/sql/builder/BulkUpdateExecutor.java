@@ -0,0 +1,12 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.DeleteStructure;
+import io.github.genie.sql.api.UpdateStructure;
+
+public interface BulkUpdateExecutor {
+
+    int executeUpdate(UpdateStructure structure);
+
+    int executeDelete(DeleteStructure structure);
+
+}
@@ -0,0 +1,65 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.BulkUpdate;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.ExpressionHolder;
+import io.github.genie.sql.api.Lists;
+import io.github.genie.sql.api.Path;
+import io.github.genie.sql.api.UpdateStructure.Assignment;
+import io.github.genie.sql.builder.QueryStructures.AssignmentImpl;
+import io.github.genie.sql.builder.QueryStructures.UpdateStructureImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkUpdateImpl<T> extends AbstractBulkWhere<T, BulkUpdate<T>> implements BulkUpdate<T> {
+
+    private final List<Assignment> assignments;
+
+    public BulkUpdateImpl(BulkUpdateExecutor executor, Class<T> entityType) {
+        this(executor, entityType, Lists.of(), null);
+    }
+
+    private BulkUpdateImpl(BulkUpdateExecutor executor,
+                           Class<T> entityType,
+                           List<Assignment> assignments,
+                           Expression where) {
+        super(executor, entityType, where);
+        this.assignments = assignments;
+    }
+
+    @Override
+    public <U> BulkUpdate<T> set(Path<T, U> path, U value) {
+        return set(path, Expressions.of(value));
+    }
+
+    @Override
+    public <U> BulkUpdate<T> setExpression(Path<T, U> path, ExpressionHolder<T, U> value) {
+        return set(path, value.expression());
+    }
+
+    private BulkUpdate<T> set(Path<T, ?> path, Expression value) {
+        List<Assignment> assignments = new ArrayList<>(this.assignments.size() + 1);
+        assignments.addAll(this.assignments);
+        assignments.add(new AssignmentImpl(Expressions.of(path), value));
+        return new BulkUpdateImpl<>(executor, entityType, assignments, where);
+    }
+
+    @Override
+    protected BulkUpdate<T> withWhere(Expression where) {
+        return new BulkUpdateImpl<>(executor, entityType, assignments, where);
+    }
+
+    @Override
+    public int execute() {
+        if (assignments.isEmpty()) {
+            throw new IllegalStateException("no column to update");
+        }
+        Expression predicate = requireWhere();
+        if (predicate == null) {
+            return 0;
+        }
+        return executor.executeUpdate(new UpdateStructureImpl(entityType, assignments, predicate));
+    }
+
+}
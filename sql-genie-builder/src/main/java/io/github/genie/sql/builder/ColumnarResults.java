@@ -0,0 +1,309 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.ColumnarResult;
+import io.github.genie.sql.api.ColumnarResult.ColumnType;
+import io.github.genie.sql.api.Selection;
+import io.github.genie.sql.api.Selection.MultiSelected;
+import io.github.genie.sql.api.Selection.SingleSelected;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ColumnarResults {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    public static ColumnType columnType(Class<?> javaType) {
+        if (javaType == int.class || javaType == Integer.class
+            || javaType == short.class || javaType == Short.class
+            || javaType == byte.class || javaType == Byte.class) {
+            return ColumnType.INT;
+        } else if (javaType == long.class || javaType == Long.class) {
+            return ColumnType.LONG;
+        } else if (javaType == double.class || javaType == Double.class
+                   || javaType == float.class || javaType == Float.class) {
+            return ColumnType.DOUBLE;
+        } else if (javaType == boolean.class || javaType == Boolean.class) {
+            return ColumnType.BOOLEAN;
+        } else if (javaType == String.class) {
+            return ColumnType.STRING;
+        }
+        return ColumnType.OBJECT;
+    }
+
+    /**
+     * @param capacity expected row count, or a negative number when unknown
+     */
+    public static Builder builder(List<? extends Class<?>> javaTypes, int capacity) {
+        ColumnType[] types = javaTypes.stream()
+                .map(ColumnarResults::columnType)
+                .toArray(ColumnType[]::new);
+        return new Builder(types, capacity < 0 ? DEFAULT_CAPACITY : capacity);
+    }
+
+    /**
+     * column types are taken from the values, a column holding values of several types is kept as objects
+     */
+    public static ColumnarResult of(List<Object[]> rows, int columnCount) {
+        return of(rows, Collections.nCopies(columnCount, Object.class));
+    }
+
+    /**
+     * declared types of the selected columns, {@code Object.class} where only the values can tell
+     */
+    public static List<? extends Class<?>> javaTypes(Selection select) {
+        if (select instanceof MultiSelected) {
+            return Collections.nCopies(((MultiSelected) select).expressions().size(), Object.class);
+        } else if (select instanceof SingleSelected) {
+            return Collections.singletonList(select.resultType());
+        }
+        throw new IllegalStateException("columnar result requires selected expressions");
+    }
+
+    /**
+     * a column declared as {@code Object.class} is typed from its values like {@link #of(List, int)},
+     * the others keep their declared type even when no row holds a value
+     */
+    public static ColumnarResult of(List<Object[]> rows, List<? extends Class<?>> javaTypes) {
+        int columnCount = javaTypes.size();
+        ColumnType[] types = new ColumnType[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            if (javaTypes.get(i) != Object.class) {
+                types[i] = columnType(javaTypes.get(i));
+                continue;
+            }
+            Class<?> javaType = null;
+            for (Object[] row : rows) {
+                if (row[i] == null || row[i].getClass() == javaType) {
+                    continue;
+                }
+                if (javaType != null) {
+                    javaType = Object.class;
+                    break;
+                }
+                javaType = row[i].getClass();
+            }
+            types[i] = javaType == null ? ColumnType.OBJECT : columnType(javaType);
+        }
+        Builder builder = new Builder(types, rows.size());
+        for (Object[] row : rows) {
+            int index = builder.addRow();
+            for (int i = 0; i < columnCount; i++) {
+                builder.set(i, index, row[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    public static final class Builder {
+        private final ColumnType[] types;
+        private final Object[] columns;
+        private final long[][] nulls;
+        private int size;
+        private int capacity;
+
+        private Builder(ColumnType[] types, int capacity) {
+            this.types = types;
+            this.columns = new Object[types.length];
+            this.nulls = new long[types.length][];
+            resize(capacity);
+        }
+
+        public ColumnType columnType(int column) {
+            return types[column];
+        }
+
+        /**
+         * @return index of the new row, the arrays grow by half when full
+         */
+        public int addRow() {
+            if (size == capacity) {
+                resize(Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1)));
+            }
+            return size++;
+        }
+
+        public void setInt(int column, int row, int value) {
+            ((int[]) columns[column])[row] = value;
+        }
+
+        public void setLong(int column, int row, long value) {
+            ((long[]) columns[column])[row] = value;
+        }
+
+        public void setDouble(int column, int row, double value) {
+            ((double[]) columns[column])[row] = value;
+        }
+
+        public void setBoolean(int column, int row, boolean value) {
+            ((boolean[]) columns[column])[row] = value;
+        }
+
+        public void setObject(int column, int row, Object value) {
+            if (value == null) {
+                setNull(column, row);
+            } else {
+                ((Object[]) columns[column])[row] = value;
+            }
+        }
+
+        public void setNull(int column, int row) {
+            nulls[column][row >>> 6] |= 1L << row;
+        }
+
+        /**
+         * boxed value of any column type
+         */
+        public void set(int column, int row, Object value) {
+            if (value == null) {
+                setNull(column, row);
+                return;
+            }
+            switch (types[column]) {
+                case INT -> setInt(column, row, ((Number) value).intValue());
+                case LONG -> setLong(column, row, ((Number) value).longValue());
+                case DOUBLE -> setDouble(column, row, ((Number) value).doubleValue());
+                case BOOLEAN -> setBoolean(column, row, (Boolean) value);
+                default -> setObject(column, row, value);
+            }
+        }
+
+        public ColumnarResult build() {
+            if (size != capacity) {
+                resize(size);
+            }
+            return new ColumnarResultImpl(types, columns, nulls, size);
+        }
+
+        private void resize(int capacity) {
+            for (int i = 0; i < types.length; i++) {
+                columns[i] = columns[i] == null
+                        ? newArray(types[i], capacity)
+                        : copyOf(columns[i], capacity);
+                int words = (capacity + 63) >>> 6;
+                nulls[i] = nulls[i] == null ? new long[words] : Arrays.copyOf(nulls[i], words);
+            }
+            this.capacity = capacity;
+        }
+
+        private static Object newArray(ColumnType type, int length) {
+            return switch (type) {
+                case INT -> new int[length];
+                case LONG -> new long[length];
+                case DOUBLE -> new double[length];
+                case BOOLEAN -> new boolean[length];
+                case STRING -> new String[length];
+                case OBJECT -> new Object[length];
+            };
+        }
+
+        private static Object copyOf(Object array, int length) {
+            if (array instanceof int[] a) {
+                return Arrays.copyOf(a, length);
+            } else if (array instanceof long[] a) {
+                return Arrays.copyOf(a, length);
+            } else if (array instanceof double[] a) {
+                return Arrays.copyOf(a, length);
+            } else if (array instanceof boolean[] a) {
+                return Arrays.copyOf(a, length);
+            }
+            return Arrays.copyOf((Object[]) array, length);
+        }
+    }
+
+    @Data
+    @Accessors(fluent = true)
+    private static final class ColumnarResultImpl implements ColumnarResult {
+        private final ColumnType[] types;
+        private final Object[] columns;
+        private final long[][] nulls;
+        private final int size;
+
+        @Override
+        public int columnCount() {
+            return types.length;
+        }
+
+        @Override
+        public ColumnType columnType(int column) {
+            return types[column];
+        }
+
+        @Override
+        public boolean isNull(int column, int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException(row);
+            }
+            return (nulls[column][row >>> 6] & 1L << row) != 0;
+        }
+
+        @Override
+        public int nullCount(int column) {
+            int count = 0;
+            for (long word : nulls[column]) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        @Override
+        public int[] ints(int column) {
+            return (int[]) column(column, ColumnType.INT);
+        }
+
+        @Override
+        public long[] longs(int column) {
+            return (long[]) column(column, ColumnType.LONG);
+        }
+
+        @Override
+        public double[] doubles(int column) {
+            return (double[]) column(column, ColumnType.DOUBLE);
+        }
+
+        @Override
+        public boolean[] booleans(int column) {
+            return (boolean[]) column(column, ColumnType.BOOLEAN);
+        }
+
+        @Override
+        public String[] strings(int column) {
+            return (String[]) column(column, ColumnType.STRING);
+        }
+
+        @Override
+        public Object[] objects(int column) {
+            return (Object[]) column(column, ColumnType.OBJECT);
+        }
+
+        @Override
+        public Object get(int column, int row) {
+            if (isNull(column, row)) {
+                return null;
+            }
+            return switch (types[column]) {
+                case INT -> ((int[]) columns[column])[row];
+                case LONG -> ((long[]) columns[column])[row];
+                case DOUBLE -> ((double[]) columns[column])[row];
+                case BOOLEAN -> ((boolean[]) columns[column])[row];
+                default -> ((Object[]) columns[column])[row];
+            };
+        }
+
+        private Object column(int column, ColumnType type) {
+            if (types[column] != type) {
+                throw new IllegalStateException("column " + column + " is " + types[column] + ", not " + type);
+            }
+            return columns[column];
+        }
+
+        @Override
+        public String toString() {
+            return "ColumnarResult" + Arrays.toString(types) + "[" + size + "]";
+        }
+    }
+
+}
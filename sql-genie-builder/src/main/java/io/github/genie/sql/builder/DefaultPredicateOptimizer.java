@@ -0,0 +1,440 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.Constant;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.Lists;
+import io.github.genie.sql.api.Operation;
+import io.github.genie.sql.api.Operator;
+import io.github.genie.sql.builder.QueryStructures.OperationImpl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@SuppressWarnings("PatternVariableCanBeUsed")
+final class DefaultPredicateOptimizer implements PredicateOptimizer {
+
+    @Override
+    public Expression optimize(Expression predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        Expression optimized = optimize(predicate, true);
+        return optimized.equals(predicate) ? predicate : optimized;
+    }
+
+    /*
+     * certain is false below a NOT: there an unknown (null) comparison result
+     * must not be replaced by false, so contradictions are only folded when certain.
+     */
+    private Expression optimize(Expression expression, boolean certain) {
+        if (!(expression instanceof Operation)) {
+            return expression;
+        }
+        Operation operation = (Operation) expression;
+        switch (operation.operator()) {
+            case NOT:
+                return not(optimize(operation.operand(), false));
+            case AND:
+            case OR:
+                return junction(operation, certain);
+            case IN:
+                return in(operation);
+            case EQ:
+            case NE:
+            case GT:
+            case GE:
+            case LT:
+            case LE:
+                return compare(operation);
+            default:
+                return expression;
+        }
+    }
+
+    private Expression not(Expression operand) {
+        if (Expressions.isTrue(operand)) {
+            return Expressions.FALSE;
+        } else if (Expressions.isFalse(operand)) {
+            return Expressions.TRUE;
+        }
+        return Expressions.operate(operand, Operator.NOT);
+    }
+
+    private Expression junction(Operation operation, boolean certain) {
+        Operator operator = operation.operator();
+        boolean and = operator == Operator.AND;
+        LinkedHashSet<Expression> terms = new LinkedHashSet<>();
+        List<Expression> children = new ArrayList<>(operation.args().size() + 1);
+        children.add(operation.operand());
+        children.addAll(operation.args());
+        for (Expression child : children) {
+            Expression term = optimize(child, certain);
+            if (term instanceof Operation && ((Operation) term).operator() == operator) {
+                Operation nested = (Operation) term;
+                terms.add(nested.operand());
+                terms.addAll(nested.args());
+            } else if (and ? Expressions.isFalse(term) : Expressions.isTrue(term)) {
+                return term;
+            } else if (!(and ? Expressions.isTrue(term) : Expressions.isFalse(term))) {
+                terms.add(term);
+            }
+        }
+        List<Expression> merged = and
+                ? mergeConjuncts(new ArrayList<>(terms), certain)
+                : mergeDisjuncts(new ArrayList<>(terms));
+        if (merged.isEmpty()) {
+            return and ? Expressions.TRUE : Expressions.FALSE;
+        } else if (merged.size() == 1) {
+            return merged.get(0);
+        }
+        return new OperationImpl(merged.get(0), operator, merged.subList(1, merged.size()));
+    }
+
+    private Expression in(Operation operation) {
+        List<? extends Expression> args = operation.args();
+        if (args.isEmpty()) {
+            return Expressions.FALSE;
+        }
+        List<Expression> values = new ArrayList<>(new LinkedHashSet<>(args));
+        if (values.size() == 1) {
+            return Expressions.operate(operation.operand(), Operator.EQ, values.get(0));
+        } else if (values.size() != args.size()) {
+            return new OperationImpl(operation.operand(), Operator.IN, values);
+        }
+        return operation;
+    }
+
+    private Expression compare(Operation operation) {
+        if (!(operation.operand() instanceof Constant)
+            || operation.args().size() != 1
+            || !(operation.firstArg() instanceof Constant)) {
+            return operation;
+        }
+        Object left = ((Constant) operation.operand()).value();
+        Object right = ((Constant) operation.firstArg()).value();
+        Operator operator = operation.operator();
+        boolean equality = operator == Operator.EQ || operator == Operator.NE;
+        if (left == null || right == null || left.getClass() != right.getClass()
+            || !(equality ? isDiscrete(left) : isOrdered(left))) {
+            return operation;
+        }
+        boolean result;
+        if (equality) {
+            result = left.equals(right) == (operator == Operator.EQ);
+        } else {
+            int c = compare(left, right);
+            result = operator == Operator.GT ? c > 0
+                    : operator == Operator.GE ? c >= 0
+                    : operator == Operator.LT ? c < 0
+                    : c <= 0;
+        }
+        return result ? Expressions.TRUE : Expressions.FALSE;
+    }
+
+    private List<Expression> mergeConjuncts(List<Expression> terms, boolean certain) {
+        Map<Expression, Range> ranges = new LinkedHashMap<>();
+        List<Object> slots = new ArrayList<>(terms.size());
+        for (Expression term : terms) {
+            Range range = Range.of(term);
+            if (range == null) {
+                slots.add(term);
+                continue;
+            }
+            Range exists = ranges.get(range.subject);
+            if (exists == null) {
+                ranges.put(range.subject, range);
+                slots.add(range);
+            } else if (!exists.merge(range)) {
+                slots.add(term);
+            }
+        }
+        if (ranges.isEmpty()) {
+            return terms;
+        }
+        List<Expression> result = new ArrayList<>(terms.size());
+        for (Object slot : slots) {
+            if (slot instanceof Range) {
+                Range range = (Range) slot;
+                if (range.isEmpty()) {
+                    if (certain) {
+                        return Lists.of(Expressions.FALSE);
+                    }
+                    result.addAll(range.sources);
+                } else {
+                    result.addAll(range.toExpressions());
+                }
+            } else {
+                result.add((Expression) slot);
+            }
+        }
+        return result;
+    }
+
+    private List<Expression> mergeDisjuncts(List<Expression> terms) {
+        Map<Expression, List<Expression>> sources = new LinkedHashMap<>();
+        Map<Expression, LinkedHashSet<Expression>> values = new LinkedHashMap<>();
+        List<Expression> slots = new ArrayList<>(terms.size());
+        for (Expression term : terms) {
+            Expression subject = equalitySubject(term);
+            if (subject == null) {
+                slots.add(term);
+                continue;
+            }
+            if (!sources.containsKey(subject)) {
+                sources.put(subject, new ArrayList<>());
+                values.put(subject, new LinkedHashSet<>());
+                slots.add(subject);
+            }
+            sources.get(subject).add(term);
+            values.get(subject).addAll(((Operation) term).args());
+        }
+        if (sources.isEmpty()) {
+            return terms;
+        }
+        List<Expression> result = new ArrayList<>(slots.size());
+        for (Expression slot : slots) {
+            List<Expression> source = sources.get(slot);
+            if (source == null) {
+                result.add(slot);
+            } else if (source.size() == 1) {
+                result.add(source.get(0));
+            } else {
+                List<Expression> args = new ArrayList<>(values.get(slot));
+                result.add(args.size() == 1
+                        ? Expressions.operate(slot, Operator.EQ, args.get(0))
+                        : new OperationImpl(slot, Operator.IN, args));
+            }
+        }
+        return result;
+    }
+
+    private static Expression equalitySubject(Expression term) {
+        if (!(term instanceof Operation)) {
+            return null;
+        }
+        Operation operation = (Operation) term;
+        Operator operator = operation.operator();
+        List<? extends Expression> args = operation.args();
+        if (operator != Operator.EQ && operator != Operator.IN
+            || args.isEmpty()
+            || operation.operand() instanceof Constant) {
+            return null;
+        }
+        for (Expression arg : args) {
+            if (!(arg instanceof Constant)) {
+                return null;
+            }
+        }
+        return operation.operand();
+    }
+
+    private static boolean isDiscrete(Object value) {
+        return value instanceof Integer
+               || value instanceof Long
+               || value instanceof Short
+               || value instanceof Byte
+               || value instanceof BigInteger
+               || value instanceof Boolean
+               || value instanceof Enum<?>
+               || isTemporal(value);
+    }
+
+    private static boolean isOrdered(Object value) {
+        return value instanceof Integer
+               || value instanceof Long
+               || value instanceof Short
+               || value instanceof Byte
+               || value instanceof BigInteger
+               || value instanceof BigDecimal
+               || isTemporal(value);
+    }
+
+    private static boolean isTemporal(Object value) {
+        return value instanceof Date
+               || value instanceof LocalDate
+               || value instanceof LocalDateTime
+               || value instanceof LocalTime
+               || value instanceof Instant;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object a, Object b) {
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static final class Range {
+        private final Expression subject;
+        private final Class<?> type;
+        private final List<Expression> sources = new ArrayList<>();
+        private Map<Object, Expression> values;
+        private Constant lower;
+        private boolean lowerInclusive;
+        private Constant upper;
+        private boolean upperInclusive;
+
+        private Range(Expression subject, Class<?> type, Expression source) {
+            this.subject = subject;
+            this.type = type;
+            this.sources.add(source);
+        }
+
+        static Range of(Expression term) {
+            if (!(term instanceof Operation)) {
+                return null;
+            }
+            Operation operation = (Operation) term;
+            Expression subject = operation.operand();
+            List<? extends Expression> args = operation.args();
+            if (subject instanceof Constant || args.isEmpty()) {
+                return null;
+            }
+            Class<?> type = null;
+            for (Expression arg : args) {
+                if (!(arg instanceof Constant) || ((Constant) arg).value() == null) {
+                    return null;
+                }
+                Class<?> argType = ((Constant) arg).value().getClass();
+                if (type != null && type != argType) {
+                    return null;
+                }
+                type = argType;
+            }
+            Object value = ((Constant) args.get(0)).value();
+            Range range = new Range(subject, type, term);
+            switch (operation.operator()) {
+                case EQ:
+                case IN:
+                    if (!isDiscrete(value)) {
+                        return null;
+                    }
+                    range.values = new LinkedHashMap<>();
+                    for (Expression arg : args) {
+                        range.values.putIfAbsent(((Constant) arg).value(), arg);
+                    }
+                    return range;
+                case GT:
+                case GE:
+                    if (!isOrdered(value)) {
+                        return null;
+                    }
+                    range.lower = (Constant) args.get(0);
+                    range.lowerInclusive = operation.operator() == Operator.GE;
+                    return range;
+                case LT:
+                case LE:
+                    if (!isOrdered(value)) {
+                        return null;
+                    }
+                    range.upper = (Constant) args.get(0);
+                    range.upperInclusive = operation.operator() == Operator.LE;
+                    return range;
+                case BETWEEN:
+                    if (args.size() != 2 || !isOrdered(value)) {
+                        return null;
+                    }
+                    range.lower = (Constant) args.get(0);
+                    range.lowerInclusive = true;
+                    range.upper = (Constant) args.get(1);
+                    range.upperInclusive = true;
+                    return range;
+                default:
+                    return null;
+            }
+        }
+
+        boolean merge(Range other) {
+            if (type != other.type) {
+                return false;
+            }
+            sources.addAll(other.sources);
+            if (other.values != null) {
+                if (values == null) {
+                    values = other.values;
+                } else {
+                    values.keySet().retainAll(other.values.keySet());
+                }
+            }
+            if (other.lower != null) {
+                int c = lower == null ? -1 : compare(lower.value(), other.lower.value());
+                if (c < 0 || c == 0 && lowerInclusive) {
+                    lower = other.lower;
+                    lowerInclusive = other.lowerInclusive;
+                }
+            }
+            if (other.upper != null) {
+                int c = upper == null ? 1 : compare(upper.value(), other.upper.value());
+                if (c > 0 || c == 0 && upperInclusive) {
+                    upper = other.upper;
+                    upperInclusive = other.upperInclusive;
+                }
+            }
+            if (values != null && (lower != null || upper != null)) {
+                values.keySet().removeIf(value -> !inBounds(value));
+                lower = null;
+                upper = null;
+            }
+            return true;
+        }
+
+        private boolean inBounds(Object value) {
+            if (lower != null) {
+                int c = compare(value, lower.value());
+                if (c < 0 || c == 0 && !lowerInclusive) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                int c = compare(value, upper.value());
+                return c < 0 || c == 0 && upperInclusive;
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            if (values != null) {
+                return values.isEmpty();
+            }
+            if (lower == null || upper == null) {
+                return false;
+            }
+            int c = compare(lower.value(), upper.value());
+            return c > 0 || c == 0 && !(lowerInclusive && upperInclusive);
+        }
+
+        List<Expression> toExpressions() {
+            if (sources.size() == 1) {
+                return sources;
+            }
+            if (values != null) {
+                List<Expression> args = new ArrayList<>(values.values());
+                return Lists.of(args.size() == 1
+                        ? Expressions.operate(subject, Operator.EQ, args.get(0))
+                        : new OperationImpl(subject, Operator.IN, args));
+            }
+            if (lower != null && upper != null && lowerInclusive && upperInclusive
+                && Objects.equals(lower.value(), upper.value())) {
+                return Lists.of(Expressions.operate(subject, Operator.EQ, lower));
+            }
+            List<Expression> result = new ArrayList<>(2);
+            if (lower != null) {
+                result.add(Expressions.operate(subject, lowerInclusive ? Operator.GE : Operator.GT, lower));
+            }
+            if (upper != null) {
+                result.add(Expressions.operate(subject, upperInclusive ? Operator.LE : Operator.LT, upper));
+            }
+            return result;
+        }
+    }
+
+}
@@ -25,11 +25,18 @@ public interface Expressions {
 
     Expression TRUE = of(true);
 
+    Expression FALSE = of(false);
+
     static boolean isTrue(Expression expression) {
         return expression instanceof Constant
                && Boolean.TRUE.equals(((Constant) expression).value());
     }
 
+    static boolean isFalse(Expression expression) {
+        return expression instanceof Constant
+               && Boolean.FALSE.equals(((Constant) expression).value());
+    }
+
     static Expression of(Object value) {
         if (value instanceof ExpressionHolder<?, ?>) {
             return ((ExpressionHolder<?, ?>) value).expression();
@@ -45,6 +52,9 @@ public interface Expressions {
     }
 
     static String columnName(Path<?, ?> path) {
+        if (path instanceof AttributePath<?, ?>) {
+            return ((AttributePath<?, ?>) path).getPropertyName();
+        }
         return PathReference.of(path).getPropertyName();
     }
 
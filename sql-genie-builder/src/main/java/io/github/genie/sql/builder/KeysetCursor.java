@@ -0,0 +1,209 @@
+package io.github.genie.sql.builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+/*
+ * Encodes the order by key of the last row of a page as an url safe token.
+ * Values are written as tagged text or primitives, never as serialized objects.
+ */
+final class KeysetCursor {
+
+    private static final int VERSION = 1;
+
+    private KeysetCursor() {
+    }
+
+    static String encode(Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(values.length);
+            for (Object value : values) {
+                write(out, value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static Object[] decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                if (in.readUnsignedByte() != VERSION) {
+                    throw new IllegalArgumentException("unsupported cursor version");
+                }
+                Object[] values = new Object[in.readUnsignedShort()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = read(in);
+                }
+                if (in.available() > 0) {
+                    throw new IllegalArgumentException("malformed cursor");
+                }
+                return values;
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("malformed cursor: " + cursor, e);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('N');
+        } else if (value instanceof String) {
+            out.writeByte('S');
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte('I');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte('J');
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte('H');
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte('B');
+            out.writeByte((Byte) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte('Z');
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Character) {
+            out.writeByte('C');
+            out.writeChar((Character) value);
+        } else if (value instanceof Double) {
+            out.writeByte('D');
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte('F');
+            out.writeFloat((Float) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte('d');
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte('i');
+            writeString(out, value.toString());
+        } else if (value instanceof Enum<?>) {
+            out.writeByte('E');
+            writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+            writeString(out, ((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            out.writeByte('u');
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDate) {
+            out.writeByte('a');
+            writeString(out, value.toString());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte('b');
+            writeString(out, value.toString());
+        } else if (value instanceof LocalTime) {
+            out.writeByte('c');
+            writeString(out, value.toString());
+        } else if (value instanceof Instant) {
+            out.writeByte('n');
+            writeString(out, value.toString());
+        } else if (value instanceof OffsetDateTime) {
+            out.writeByte('o');
+            writeString(out, value.toString());
+        } else {
+            throw new IllegalArgumentException("unsupported cursor value type " + value.getClass().getName());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'N':
+                return null;
+            case 'S':
+                return readString(in);
+            case 'I':
+                return in.readInt();
+            case 'J':
+                return in.readLong();
+            case 'H':
+                return in.readShort();
+            case 'B':
+                return in.readByte();
+            case 'Z':
+                return in.readBoolean();
+            case 'C':
+                return in.readChar();
+            case 'D':
+                return in.readDouble();
+            case 'F':
+                return in.readFloat();
+            case 'd':
+                return new BigDecimal(readString(in));
+            case 'i':
+                return new BigInteger(readString(in));
+            case 'E':
+                return readEnum(readString(in), readString(in));
+            case 'u':
+                return new Date(in.readLong());
+            case 'a':
+                return LocalDate.parse(readString(in));
+            case 'b':
+                return LocalDateTime.parse(readString(in));
+            case 'c':
+                return LocalTime.parse(readString(in));
+            case 'n':
+                return Instant.parse(readString(in));
+            case 'o':
+                return OffsetDateTime.parse(readString(in));
+            default:
+                throw new IllegalArgumentException("unknown cursor value tag " + tag);
+        }
+    }
+
+    private static Object readEnum(String className, String name) {
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, KeysetCursor.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+        if (!type.isEnum()) {
+            throw new IllegalArgumentException(className + " is not an enum");
+        }
+        for (Object constant : type.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("no enum constant " + className + "." + name);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IllegalArgumentException("malformed cursor");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
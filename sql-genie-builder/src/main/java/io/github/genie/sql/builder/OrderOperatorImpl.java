@@ -1,9 +1,11 @@
 package io.github.genie.sql.builder;
 
 import io.github.genie.sql.api.Root;
+import io.github.genie.sql.api.ColumnarResult;
 import io.github.genie.sql.api.LockModeType;
 import io.github.genie.sql.api.Order;
 import io.github.genie.sql.api.Order.SortOrder;
+import io.github.genie.sql.api.Page;
 import io.github.genie.sql.api.Path;
 import io.github.genie.sql.api.Query.Collector;
 import io.github.genie.sql.api.Query.OrderBy;
@@ -16,7 +18,9 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class OrderOperatorImpl<T, U> implements OrderOperator<T, U> {
     private final QueryConditionBuilder<T, U> builder;
@@ -80,6 +84,31 @@ public class OrderOperatorImpl<T, U> implements OrderOperator<T, U> {
         return asc().slice(offset, limit);
     }
 
+    @Override
+    public Slice<U> sliceWithoutCount(int offset, int limit) {
+        return asc().sliceWithoutCount(offset, limit);
+    }
+
+    @Override
+    public Slice<U> sliceWithoutCount(int offset, int limit, LongSupplier estimate) {
+        return asc().sliceWithoutCount(offset, limit, estimate);
+    }
+
+    @Override
+    public Stream<U> stream() {
+        return asc().stream();
+    }
+
+    @Override
+    public ColumnarResult getColumns(int offset, int maxResult) {
+        return asc().getColumns(offset, maxResult);
+    }
+
+    @Override
+    public Page<U> getPage(String cursor, int size) {
+        return asc().getPage(cursor, size);
+    }
+
     @Override
     public QueryStructureBuilder buildMetadata() {
         return asc().buildMetadata();
@@ -0,0 +1,13 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.Expression;
+
+public interface PredicateOptimizer {
+
+    PredicateOptimizer NONE = predicate -> predicate;
+
+    PredicateOptimizer DEFAULT = new DefaultPredicateOptimizer();
+
+    Expression optimize(Expression predicate);
+
+}
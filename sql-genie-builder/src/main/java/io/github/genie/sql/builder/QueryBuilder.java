@@ -23,7 +23,6 @@ import io.github.genie.sql.api.tuple.Tuple8;
 import io.github.genie.sql.api.tuple.Tuple9;
 import io.github.genie.sql.builder.QueryStructures.MultiSelectedImpl;
 import io.github.genie.sql.builder.QueryStructures.ProjectionSelectedImpl;
-import io.github.genie.sql.builder.QueryStructures.QueryStructureImpl;
 import io.github.genie.sql.builder.QueryStructures.SingleSelectedImpl;
 
 import java.util.ArrayList;
@@ -39,8 +38,14 @@ public class QueryBuilder<T> extends QueryConditionBuilder<T, T> implements Sele
         super(queryExecutor, type, structurePostProcessor);
     }
 
+    public QueryBuilder(QueryExecutor queryExecutor,
+                        Class<T> type,
+                        QueryStructurePostProcessor structurePostProcessor,
+                        PredicateOptimizer predicateOptimizer) {
+        super(queryExecutor, type, structurePostProcessor, predicateOptimizer);
+    }
+
     public Where0<T, T> fetch(List<ColumnHolder<T, ?>> expressions) {
-        QueryStructureImpl structure = queryStructure.copy();
         List<Column> list = new ArrayList<>(expressions.size());
         for (ColumnHolder<T, ?> expression : expressions) {
             Expression expr = expression.expression();
@@ -49,8 +54,7 @@ public class QueryBuilder<T> extends QueryConditionBuilder<T, T> implements Sele
                 list.add(column);
             }
         }
-        structure.fetch = list;
-        return update(structure);
+        return update(queryStructure.withFetch(list));
     }
 
     @Override
@@ -69,12 +73,10 @@ public class QueryBuilder<T> extends QueryConditionBuilder<T, T> implements Sele
     }
 
     public <R> Where0<T, R> select(boolean distinct, Class<R> projectionType) {
-        if (projectionType == queryStructure.from.type()) {
+        if (projectionType == queryStructure.from().type()) {
             return update(queryStructure);
         }
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.select = new ProjectionSelectedImpl(projectionType, distinct);
-        return update(structure);
+        return update(queryStructure.withSelect(new ProjectionSelectedImpl(projectionType, distinct)));
     }
 
     public <R> Where0<T, R> selectDistinct(Path<T, ? extends R> path) {
@@ -86,11 +88,9 @@ public class QueryBuilder<T> extends QueryConditionBuilder<T, T> implements Sele
     }
 
     public <R> Where0<T, R> select(boolean distinct, Path<T, ? extends R> path) {
-        QueryStructureImpl structure = queryStructure.copy();
         Expression paths = Expressions.of(path);
         Class<?> type = getType(path);
-        structure.select = new SingleSelectedImpl(type, paths, distinct);
-        return update(structure);
+        return update(queryStructure.withSelect(new SingleSelectedImpl(type, paths, distinct)));
     }
 
     public Where0<T, Tuple> selectDistinct(Collection<Path<T, ?>> paths) {
@@ -215,21 +215,17 @@ public class QueryBuilder<T> extends QueryConditionBuilder<T, T> implements Sele
     }
 
     public Where0<T, Tuple> select(boolean distinct, List<? extends ExpressionHolder<T, ?>> expressions) {
-        QueryStructureImpl structure = queryStructure.copy();
         List<Expression> selectExpressions = expressions.stream()
                 .map(ExpressionHolder::expression)
                 .collect(Collectors.toList());
-        structure.select = new MultiSelectedImpl(selectExpressions, distinct);
-        return update(structure);
+        return update(queryStructure.withSelect(new MultiSelectedImpl(selectExpressions, distinct)));
     }
 
     public <R extends Tuple> Where0<T, R> selectTuple(boolean distinct, List<? extends Path<T, ?>> paths) {
-        QueryStructureImpl structure = queryStructure.copy();
         List<Expression> selectExpressions = paths.stream()
                 .map(Expressions::of)
                 .collect(Collectors.toList());
-        structure.select = new MultiSelectedImpl(selectExpressions, distinct);
-        return update(structure);
+        return update(queryStructure.withSelect(new MultiSelectedImpl(selectExpressions, distinct)));
     }
 
     public <R> Where0<T, R> selectDistinct(ExpressionHolder<T, R> paths) {
@@ -241,14 +237,15 @@ public class QueryBuilder<T> extends QueryConditionBuilder<T, T> implements Sele
     }
 
     public <R> Where0<T, R> select(boolean distinct, ExpressionHolder<T, R> paths) {
-        QueryStructureImpl structure = queryStructure.copy();
         Expression expression = paths.expression();
         Class<?> type = Object.class;
-        structure.select = new SingleSelectedImpl(type, expression, distinct);
-        return update(structure);
+        return update(queryStructure.withSelect(new SingleSelectedImpl(type, expression, distinct)));
     }
 
     protected Class<?> getType(Path<?, ?> path) {
+        if (path instanceof AttributePath<?, ?>) {
+            return ((AttributePath<?, ?>) path).getReturnType();
+        }
         return PathReference.of(path).getReturnType();
     }
 
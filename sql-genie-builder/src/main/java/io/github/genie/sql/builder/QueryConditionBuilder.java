@@ -1,6 +1,7 @@
 package io.github.genie.sql.builder;
 
 import io.github.genie.sql.api.Column;
+import io.github.genie.sql.api.ColumnarResult;
 import io.github.genie.sql.api.Expression;
 import io.github.genie.sql.api.ExpressionBuilder;
 import io.github.genie.sql.api.ExpressionHolder;
@@ -13,6 +14,7 @@ import io.github.genie.sql.api.LockModeType;
 import io.github.genie.sql.api.Operation;
 import io.github.genie.sql.api.Operator;
 import io.github.genie.sql.api.Order;
+import io.github.genie.sql.api.Page;
 import io.github.genie.sql.api.Path;
 import io.github.genie.sql.api.Path.ComparablePath;
 import io.github.genie.sql.api.Path.NumberPath;
@@ -29,20 +31,30 @@ import io.github.genie.sql.api.QueryStructure;
 import io.github.genie.sql.api.Root;
 import io.github.genie.sql.api.Selection;
 import io.github.genie.sql.api.Selection.MultiSelected;
+import io.github.genie.sql.api.Selection.SingleSelected;
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.api.Sliceable;
 import io.github.genie.sql.api.TypedExpression;
+import io.github.genie.sql.api.tuple.Tuple;
 import io.github.genie.sql.builder.DefaultExpressionOperator.ComparableOperatorImpl;
 import io.github.genie.sql.builder.DefaultExpressionOperator.NumberOperatorImpl;
 import io.github.genie.sql.builder.DefaultExpressionOperator.PathOperatorImpl;
 import io.github.genie.sql.builder.DefaultExpressionOperator.StringOperatorImpl;
 import io.github.genie.sql.builder.QueryStructures.FromSubQuery;
+import io.github.genie.sql.builder.QueryStructures.PageImpl;
 import io.github.genie.sql.builder.QueryStructures.QueryStructureImpl;
 import io.github.genie.sql.builder.QueryStructures.SingleSelectedImpl;
+import io.github.genie.sql.builder.reflect.ReflectUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @SuppressWarnings("PatternVariableCanBeUsed")
 public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>, AbstractCollector<U> {
@@ -58,25 +70,75 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     protected final QueryStructurePostProcessor structurePostProcessor;
 
+    protected final PredicateOptimizer predicateOptimizer;
+
+    private QueryStructureImpl optimizedStructure;
+
     public QueryConditionBuilder(QueryExecutor queryExecutor, Class<T> type, QueryStructurePostProcessor structurePostProcessor) {
-        this(queryExecutor, new QueryStructureImpl(type), structurePostProcessor);
+        this(queryExecutor, type, structurePostProcessor, PredicateOptimizer.DEFAULT);
+    }
+
+    public QueryConditionBuilder(QueryExecutor queryExecutor,
+                                 Class<T> type,
+                                 QueryStructurePostProcessor structurePostProcessor,
+                                 PredicateOptimizer predicateOptimizer) {
+        this(queryExecutor, new QueryStructureImpl(type), structurePostProcessor, predicateOptimizer);
     }
 
-    QueryConditionBuilder(QueryExecutor queryExecutor, QueryStructureImpl queryStructure, QueryStructurePostProcessor structurePostProcessor) {
+    QueryConditionBuilder(QueryExecutor queryExecutor,
+                          QueryStructureImpl queryStructure,
+                          QueryStructurePostProcessor structurePostProcessor,
+                          PredicateOptimizer predicateOptimizer) {
         this.queryExecutor = queryExecutor;
         this.queryStructure = queryStructure;
         this.structurePostProcessor = structurePostProcessor == null ? QueryStructurePostProcessor.NONE : structurePostProcessor;
+        this.predicateOptimizer = predicateOptimizer == null ? PredicateOptimizer.NONE : predicateOptimizer;
     }
 
     <X, Y> QueryConditionBuilder<X, Y> update(QueryStructureImpl queryStructure) {
-        return new QueryConditionBuilder<>(queryExecutor, queryStructure, structurePostProcessor);
+        return new QueryConditionBuilder<>(queryExecutor, queryStructure, structurePostProcessor, predicateOptimizer);
+    }
+
+    QueryStructureImpl optimizedStructure() {
+        QueryStructureImpl structure = optimizedStructure;
+        if (structure == null) {
+            structure = queryStructure;
+            Expression where = predicateOptimizer.optimize(structure.where());
+            if (where != structure.where()) {
+                structure = structure.withWhere(where);
+            }
+            Expression having = predicateOptimizer.optimize(structure.having());
+            if (having != structure.having()) {
+                structure = structure.withHaving(having);
+            }
+            optimizedStructure = structure;
+        }
+        return structure;
+    }
+
+    boolean isEmptyResult(QueryStructureImpl structure) {
+        if (Expressions.isFalse(structure.having())) {
+            return true;
+        }
+        if (!Expressions.isFalse(structure.where())) {
+            return false;
+        }
+        List<? extends Expression> groupBy = structure.groupBy();
+        return groupBy != null && !groupBy.isEmpty() || !isAggregateSelected(structure.select());
+    }
+
+    private boolean isAggregateSelected(Selection select) {
+        if (select instanceof SingleSelectedImpl) {
+            return requiredCountSubQuery(((SingleSelectedImpl) select).expression());
+        } else if (select instanceof MultiSelected) {
+            return requiredCountSubQuery(((MultiSelected) select).expressions());
+        }
+        return false;
     }
 
     @Override
     public Where0<T, U> where(ExpressionHolder<T, Boolean> predicate) {
-        QueryStructureImpl structure = queryStructure.copy();
-        whereAnd(structure, predicate.expression());
-        return update(structure);
+        return update(whereAnd(queryStructure, predicate.expression()));
     }
 
     @Override
@@ -84,11 +146,12 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
         return where(predicateBuilder.apply(RootImpl.of()));
     }
 
-    static void whereAnd(QueryStructureImpl structure, Expression expression) {
-        if (structure.where == null || Expressions.isTrue(structure.where)) {
-            structure.where = expression;
+    static QueryStructureImpl whereAnd(QueryStructureImpl structure, Expression expression) {
+        Expression where = structure.where();
+        if (where == null || Expressions.isTrue(where)) {
+            return structure.withWhere(expression);
         } else {
-            structure.where = Expressions.operate(structure.where, Operator.AND, expression);
+            return structure.withWhere(Expressions.operate(where, Operator.AND, expression));
         }
     }
 
@@ -108,15 +171,15 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
     }
 
     QueryConditionBuilder<T, U> addOrderBy(List<? extends Order<T>> orders) {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.orderBy = structure.orderBy == null
-                ? orders
-                : Lists.concat(structure.orderBy, orders);
-        return update(structure);
+        List<? extends Order<?>> orderBy = queryStructure.orderBy();
+        return update(queryStructure.withOrderBy(orderBy == null ? orders : Lists.concat(orderBy, orders)));
     }
 
     @Override
     public long count() {
+        if (isEmptyResult(optimizedStructure())) {
+            return 0;
+        }
         QueryStructure structure = buildCountData();
         structure = structurePostProcessor.preCountQuery(this, structure);
         return queryExecutor.<Number>getList(structure).get(0).longValue();
@@ -124,22 +187,21 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @NotNull
     QueryStructures.QueryStructureImpl buildCountData() {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.lockType = LockModeType.NONE;
-        structure.orderBy = Lists.of();
-        if (queryStructure.select().distinct()) {
+        QueryStructureImpl base = optimizedStructure();
+        QueryStructureImpl structure = base
+                .withLockType(LockModeType.NONE)
+                .withOrderBy(Lists.of())
+                .withFetch(Lists.of());
+        if (base.select().distinct()) {
             return new QueryStructureImpl(COUNT_ANY, new FromSubQuery(structure));
-        } else if (requiredCountSubQuery(queryStructure)) {
-            structure.select = COUNT_ANY;
+        } else if (requiredCountSubQuery(base)) {
+            structure = structure.withSelect(COUNT_ANY);
             return new QueryStructureImpl(COUNT_ANY, new FromSubQuery(structure));
-        } else if (queryStructure.groupBy() != null && !queryStructure.groupBy().isEmpty()) {
-            structure.select = SELECT_ANY;
-            structure.fetch = Lists.of();
+        } else if (base.groupBy() != null && !base.groupBy().isEmpty()) {
+            structure = structure.withSelect(SELECT_ANY);
             return new QueryStructureImpl(COUNT_ANY, new FromSubQuery(structure));
         } else {
-            structure.select = COUNT_ANY;
-            structure.fetch = Lists.of();
-            return structure;
+            return structure.withSelect(COUNT_ANY);
         }
     }
 
@@ -190,6 +252,9 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @Override
     public List<U> getList(int offset, int maxResult, LockModeType lockModeType) {
+        if (isEmptyResult(optimizedStructure())) {
+            return new ArrayList<>();
+        }
         QueryStructure structure = buildListData(offset, maxResult, lockModeType);
         structure = structurePostProcessor.preListQuery(this, structure);
         return queryList(structure);
@@ -201,15 +266,14 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @NotNull
     QueryStructures.QueryStructureImpl buildListData(int offset, int maxResult, LockModeType lockModeType) {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.offset = offset;
-        structure.limit = maxResult;
-        structure.lockType = lockModeType;
-        return structure;
+        return optimizedStructure().withRange(offset, maxResult, lockModeType);
     }
 
     @Override
     public boolean exist(int offset) {
+        if (isEmptyResult(optimizedStructure())) {
+            return false;
+        }
         QueryStructure structure = buildExistData(offset);
         structure = structurePostProcessor.preExistQuery(this, structure);
         return !queryList(structure).isEmpty();
@@ -217,13 +281,225 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @NotNull
     QueryStructures.QueryStructureImpl buildExistData(int offset) {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.select = SELECT_ANY;
-        structure.offset = offset;
-        structure.limit = 1;
-        structure.fetch = Lists.of();
-        structure.orderBy = Lists.of();
-        return structure;
+        QueryStructureImpl base = optimizedStructure();
+        return base
+                .withSelect(SELECT_ANY)
+                .withRange(offset, 1, base.lockType())
+                .withFetch(Lists.of())
+                .withOrderBy(Lists.of());
+    }
+
+    @Override
+    public Slice<U> slice(int offset, int limit) {
+        return slice(offset, limit,
+                (list, total) -> Slices.of(list, total, offset, limit),
+                () -> AbstractCollector.super.slice(offset, limit));
+    }
+
+    @Override
+    public <R> R slice(Sliceable<U, R> sliceable) {
+        return slice(sliceable.offset(), sliceable.limit(),
+                sliceable::collect,
+                () -> AbstractCollector.super.slice(sliceable));
+    }
+
+    private <R> R slice(int offset, int limit, BiFunction<List<U>, Long, R> collect, Supplier<R> fallback) {
+        if (!(queryExecutor instanceof AbstractQueryExecutor)
+            || !((AbstractQueryExecutor) queryExecutor).supportsSlice()) {
+            return fallback.get();
+        }
+        QueryStructureImpl base = optimizedStructure();
+        if (isEmptyResult(base) || !isSliceable(base) || requiredCountSubQuery(base)) {
+            return fallback.get();
+        }
+        QueryStructure structure = buildListData(offset, limit, LockModeType.NONE);
+        structure = structurePostProcessor.preListQuery(this, structure);
+        // the post-processor may have made the query distinct or grouped
+        Slice<U> slice = isSliceable(structure)
+                ? ((AbstractQueryExecutor) queryExecutor).getSlice(structure)
+                : null;
+        if (slice != null) {
+            long total = slice.data().isEmpty() && offset > 0 ? count() : slice.total();
+            return collect.apply(slice.data(), total);
+        }
+        // reuse the post-processed list query, preListQuery runs once per slice
+        long count = count();
+        List<U> list = count <= offset ? Lists.of() : queryList(structure);
+        return collect.apply(list, count);
+    }
+
+    private static boolean isSliceable(QueryStructure structure) {
+        List<? extends Expression> groupBy = structure.groupBy();
+        return !structure.select().distinct() && (groupBy == null || groupBy.isEmpty());
+    }
+
+    @Override
+    public Stream<U> stream() {
+        if (isEmptyResult(optimizedStructure())) {
+            return Stream.empty();
+        }
+        QueryStructure structure = buildListData(-1, -1, LockModeType.NONE);
+        structure = structurePostProcessor.preListQuery(this, structure);
+        if (queryExecutor instanceof AbstractQueryExecutor) {
+            return ((AbstractQueryExecutor) queryExecutor).getStream(structure);
+        }
+        return this.<U>queryList(structure).stream();
+    }
+
+    @Override
+    public ColumnarResult getColumns(int offset, int maxResult) {
+        QueryStructureImpl base = optimizedStructure();
+        List<? extends Class<?>> javaTypes = ColumnarResults.javaTypes(base.select());
+        if (isEmptyResult(base)) {
+            return ColumnarResults.of(Lists.of(), javaTypes);
+        }
+        QueryStructure structure = buildListData(offset, maxResult, LockModeType.NONE);
+        structure = structurePostProcessor.preListQuery(this, structure);
+        if (queryExecutor instanceof AbstractQueryExecutor) {
+            ColumnarResult result = ((AbstractQueryExecutor) queryExecutor).getColumns(structure);
+            if (result != null) {
+                return result;
+            }
+        }
+        List<Object[]> rows = this.queryList(structure).stream()
+                .map(row -> row instanceof Tuple ? ((Tuple) row).toArray() : new Object[]{row})
+                .collect(Collectors.toList());
+        return ColumnarResults.of(rows, javaTypes);
+    }
+
+    @Override
+    public Page<U> getPage(String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("page size must be positive");
+        }
+        QueryStructureImpl base = optimizedStructure();
+        List<? extends Order<?>> orders = base.orderBy();
+        if (orders == null || orders.isEmpty()) {
+            throw new IllegalStateException("keyset pagination requires order by");
+        }
+        if (isEmptyResult(base)) {
+            return new PageImpl<>(new ArrayList<>(), null);
+        }
+        if (cursor != null) {
+            Object[] key = KeysetCursor.decode(cursor);
+            if (key.length != orders.size()) {
+                throw new IllegalArgumentException("cursor does not match order by");
+            }
+            Expression seek = seekPredicate(orders, key);
+            List<? extends Expression> groupBy = base.groupBy();
+            base = groupBy != null && !groupBy.isEmpty()
+                    ? havingAnd(base, seek)
+                    : whereAnd(base, seek);
+        }
+        QueryStructure structure = base.withRange(0, size + 1, LockModeType.NONE);
+        structure = structurePostProcessor.preListQuery(this, structure);
+        List<U> list = queryList(structure);
+        if (list.size() <= size) {
+            return new PageImpl<>(list, null);
+        }
+        List<U> data = new ArrayList<>(list.subList(0, size));
+        Object[] key = new Object[orders.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = getKeyValue(base, orders.get(i).expression(), data.get(size - 1));
+        }
+        return new PageImpl<>(data, KeysetCursor.encode(key));
+    }
+
+    static QueryStructureImpl havingAnd(QueryStructureImpl structure, Expression expression) {
+        Expression having = structure.having();
+        if (having == null || Expressions.isTrue(having)) {
+            return structure.withHaving(expression);
+        } else {
+            return structure.withHaving(Expressions.operate(having, Operator.AND, expression));
+        }
+    }
+
+    /*
+     * rows after the key (k1, k2, ...) in order by (e1, e2, ...):
+     * e1 > k1 or (e1 = k1 and e2 > k2) or ..., with < for desc and nulls sorted low as mysql does
+     */
+    static Expression seekPredicate(List<? extends Order<?>> orders, Object[] key) {
+        List<Expression> branches = new ArrayList<>(orders.size());
+        List<Expression> equals = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order<?> order = orders.get(i);
+            Expression expression = order.expression();
+            Expression after = after(expression, order.order() == Order.SortOrder.DESC, key[i]);
+            if (after != null) {
+                List<Expression> branch = new ArrayList<>(equals);
+                branch.add(after);
+                branches.add(junction(branch, Operator.AND));
+            }
+            equals.add(key[i] == null
+                    ? Expressions.operate(expression, Operator.IS_NULL)
+                    : Expressions.operate(expression, Operator.EQ, Expressions.of(key[i])));
+        }
+        return branches.isEmpty() ? Expressions.FALSE : junction(branches, Operator.OR);
+    }
+
+    private static Expression after(Expression expression, boolean desc, Object value) {
+        if (value == null) {
+            return desc ? null : Expressions.operate(expression, Operator.IS_NOT_NULL);
+        }
+        Expression after = Expressions.operate(expression, desc ? Operator.LT : Operator.GT, Expressions.of(value));
+        return desc
+                ? Expressions.operate(after, Operator.OR, Expressions.operate(expression, Operator.IS_NULL))
+                : after;
+    }
+
+    private static Expression junction(List<Expression> expressions, Operator operator) {
+        return expressions.size() == 1
+                ? expressions.get(0)
+                : Expressions.operate(expressions.get(0), operator, expressions.subList(1, expressions.size()));
+    }
+
+    private static Object getKeyValue(QueryStructureImpl structure, Expression expression, Object row) {
+        Selection select = structure.select();
+        if (select instanceof MultiSelected) {
+            int index = ((MultiSelected) select).expressions().indexOf(expression);
+            if (index >= 0) {
+                return ((Tuple) row).get(index);
+            }
+        } else if (select instanceof SingleSelected) {
+            if (expression.equals(((SingleSelected) select).expression())) {
+                return row;
+            }
+        } else if (expression instanceof Column) {
+            Column column = (Column) expression;
+            Object value = row;
+            for (int i = 0; i < column.size(); i++) {
+                if (value == null) {
+                    if (isFetched(structure, column, i)) {
+                        return null;
+                    }
+                    break;
+                }
+                value = ReflectUtil.getPropertyValue(value, column.get(i));
+                if (i == column.size() - 1) {
+                    return value;
+                }
+            }
+        }
+        throw new IllegalStateException("order by " + expression + " is not in the selection and can not be used as a page key");
+    }
+
+    private static boolean isFetched(QueryStructureImpl structure, Column column, int size) {
+        List<? extends Column> fetch = structure.fetch();
+        if (fetch == null) {
+            return false;
+        }
+        for (Column fetched : fetch) {
+            if (fetched.size() >= size) {
+                boolean matches = true;
+                for (int i = 0; i < size && matches; i++) {
+                    matches = fetched.get(i).equals(column.get(i));
+                }
+                if (matches) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     @Override
@@ -257,11 +533,10 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @Override
     public Having<T, U> groupBy(List<? extends ExpressionHolder<T, ?>> expressions) {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.groupBy = expressions.stream()
+        List<Expression> groupBy = expressions.stream()
                 .map(ExpressionHolder::expression)
                 .collect(Collectors.toList());
-        return update(structure);
+        return update(queryStructure.withGroupBy(groupBy));
     }
 
     @Override
@@ -271,9 +546,7 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @Override
     public Having<T, U> groupBy(Path<T, ?> path) {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.groupBy = Lists.of(Expressions.of(path));
-        return update(structure);
+        return update(queryStructure.withGroupBy(Lists.of(Expressions.of(path))));
     }
 
     @Override
@@ -283,9 +556,7 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @Override
     public OrderBy<T, U> having(ExpressionHolder<T, Boolean> predicate) {
-        QueryStructureImpl structure = queryStructure.copy();
-        structure.having = predicate.expression();
-        return update(structure);
+        return update(queryStructure.withHaving(predicate.expression()));
     }
 
     @Override
@@ -305,9 +576,7 @@ public class QueryConditionBuilder<T, U> implements Where0<T, U>, Having<T, U>,
 
     @NotNull
     private Where0<T, U> whereAnd(TypedExpression<?, ?> expression) {
-        QueryStructureImpl structure = queryStructure.copy();
-        whereAnd(structure, expression.expression());
-        return update(structure);
+        return update(whereAnd(queryStructure, expression.expression()));
     }
 
     @Override
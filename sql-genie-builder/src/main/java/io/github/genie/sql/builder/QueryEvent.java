@@ -0,0 +1,50 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.QueryStructure;
+import lombok.experimental.Accessors;
+
+import java.util.regex.Pattern;
+
+/**
+ * one execution as seen by a {@link QueryListener}, phases an executor can not tell apart are reported as 0
+ */
+@lombok.Data
+@Accessors(fluent = true)
+public final class QueryEvent {
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    /**
+     * the rendered statement, {@code null} if the executor does not render sql itself
+     */
+    private final String sql;
+    /**
+     * the query, {@code null} for updates
+     */
+    private final QueryStructure structure;
+    private final long buildNanos;
+    private final long connectionNanos;
+    private final long executeNanos;
+    private final long mappingNanos;
+    /**
+     * rows mapped by a query or affected by an update, -1 if unknown
+     */
+    private final int rows;
+    private final Throwable failure;
+
+    public long totalNanos() {
+        return buildNanos + connectionNanos + executeNanos + mappingNanos;
+    }
+
+    /**
+     * the statement with placeholder lists collapsed, so in-lists of any size share one shape
+     */
+    public String fingerprint() {
+        return sql == null ? null : PLACEHOLDER_LIST.matcher(sql).replaceAll("?");
+    }
+
+    public boolean failed() {
+        return failure != null;
+    }
+
+}
@@ -6,15 +6,23 @@ import io.github.genie.sql.api.QueryExecutor;
 public class QueryImpl implements Query {
     private final QueryExecutor executor;
     private final QueryStructurePostProcessor structurePostProcessor;
+    private final PredicateOptimizer predicateOptimizer;
 
     public QueryImpl(QueryExecutor executor, QueryStructurePostProcessor structurePostProcessor) {
+        this(executor, structurePostProcessor, PredicateOptimizer.DEFAULT);
+    }
+
+    public QueryImpl(QueryExecutor executor,
+                     QueryStructurePostProcessor structurePostProcessor,
+                     PredicateOptimizer predicateOptimizer) {
         this.executor = executor;
         this.structurePostProcessor = structurePostProcessor;
+        this.predicateOptimizer = predicateOptimizer;
     }
 
     @Override
     public <T> Select<T> from(Class<T> type) {
-        return new QueryBuilder<>(executor, type, structurePostProcessor);
+        return new QueryBuilder<>(executor, type, structurePostProcessor, predicateOptimizer);
     }
 
     @Override
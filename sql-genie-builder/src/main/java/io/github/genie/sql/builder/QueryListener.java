@@ -0,0 +1,11 @@
+package io.github.genie.sql.builder;
+
+/**
+ * notified after each statement an executor ran, on the executing thread
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+    void onExecuted(QueryEvent event);
+
+}
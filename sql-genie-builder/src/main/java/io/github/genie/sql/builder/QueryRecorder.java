@@ -0,0 +1,141 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.QueryStructure;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+
+/**
+ * measures the phases of one execution for a {@link QueryListener}. each phase lasts from the previous mark
+ * to its own one. without a listener {@link #start} hands out {@link #NONE}, which neither reads the clock nor
+ * allocates.
+ */
+@Slf4j
+public final class QueryRecorder {
+
+    public static final QueryRecorder NONE = new QueryRecorder(null, null);
+
+    private final QueryListener listener;
+    private final QueryStructure structure;
+    private long mark;
+    private String sql;
+    private long buildNanos;
+    private long connectionNanos;
+    private long executeNanos;
+    private long mappingNanos;
+    private int rows = -1;
+
+    private QueryRecorder(QueryListener listener, QueryStructure structure) {
+        this.listener = listener;
+        this.structure = structure;
+        this.mark = listener == null ? 0 : System.nanoTime();
+    }
+
+    public static QueryRecorder start(QueryListener listener, QueryStructure structure) {
+        return listener == null ? NONE : new QueryRecorder(listener, structure);
+    }
+
+    public boolean isEnabled() {
+        return listener != null;
+    }
+
+    public void built(String sql) {
+        if (listener != null) {
+            this.sql = sql;
+            buildNanos += lap();
+        }
+    }
+
+    public void connected() {
+        if (listener != null) {
+            connectionNanos += lap();
+        }
+    }
+
+    public void executed() {
+        if (listener != null) {
+            executeNanos += lap();
+        }
+    }
+
+    public void mapped(int rows) {
+        if (listener != null) {
+            mappingNanos += lap();
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * ends the mapping of rows {@link #counting counted} while consumed
+     */
+    public void mapped() {
+        if (listener != null) {
+            mappingNanos += lap();
+        }
+    }
+
+    /**
+     * adds affected rows, negative driver counts such as {@code SUCCESS_NO_INFO} are skipped
+     */
+    public void addRows(int rows) {
+        if (listener != null && rows >= 0) {
+            this.rows = Math.max(this.rows, 0) + rows;
+        }
+    }
+
+    public void addRows(int[] rows) {
+        if (listener != null) {
+            for (int row : rows) {
+                addRows(row);
+            }
+        }
+    }
+
+    /**
+     * counts the rows as they are consumed, mapping then lasts until {@link #mapped()}
+     */
+    public <T> Iterator<T> counting(Iterator<T> iterator) {
+        if (listener == null) {
+            return iterator;
+        }
+        rows = 0;
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                T next = iterator.next();
+                rows++;
+                return next;
+            }
+        };
+    }
+
+    public void finish() {
+        finish(null);
+    }
+
+    public void finish(Throwable failure) {
+        if (listener == null) {
+            return;
+        }
+        QueryEvent event = new QueryEvent(sql, structure,
+                buildNanos, connectionNanos, executeNanos, mappingNanos, rows, failure);
+        try {
+            listener.onExecuted(event);
+        } catch (RuntimeException e) {
+            log.warn("query listener failed", e);
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long lap = now - mark;
+        mark = now;
+        return lap;
+    }
+
+}
@@ -2,6 +2,7 @@ package io.github.genie.sql.builder;
 
 import io.github.genie.sql.api.Column;
 import io.github.genie.sql.api.Constant;
+import io.github.genie.sql.api.DeleteStructure;
 import io.github.genie.sql.api.Expression;
 import io.github.genie.sql.api.From;
 import io.github.genie.sql.api.From.Entity;
@@ -11,6 +12,7 @@ import io.github.genie.sql.api.LockModeType;
 import io.github.genie.sql.api.Operation;
 import io.github.genie.sql.api.Operator;
 import io.github.genie.sql.api.Order;
+import io.github.genie.sql.api.Page;
 import io.github.genie.sql.api.QueryStructure;
 import io.github.genie.sql.api.Selection;
 import io.github.genie.sql.api.Selection.EntitySelected;
@@ -18,7 +20,11 @@ import io.github.genie.sql.api.Selection.MultiSelected;
 import io.github.genie.sql.api.Selection.ProjectionSelected;
 import io.github.genie.sql.api.Selection.SingleSelected;
 import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.api.UpdateStructure;
+import io.github.genie.sql.api.UpdateStructure.Assignment;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.EqualsAndHashCode.CacheStrategy;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.jetbrains.annotations.NotNull;
@@ -27,51 +33,98 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @SuppressWarnings({"PatternVariableCanBeUsed"})
 final class QueryStructures {
 
-    @EqualsAndHashCode
-    static class QueryStructureImpl implements QueryStructure, Cloneable {
+    static final class QueryStructureImpl implements QueryStructure {
 
-        Selection select;
+        private final Selection select;
 
-        From from;
+        private final From from;
 
-        Expression where = Expressions.TRUE;
+        private final Expression where;
 
-        List<? extends Expression> groupBy = Lists.of();
+        private final List<? extends Expression> groupBy;
 
-        List<? extends Order<?>> orderBy = Lists.of();
+        private final List<? extends Order<?>> orderBy;
 
-        Expression having = Expressions.TRUE;
+        private final Expression having;
 
-        List<? extends Column> fetch = Lists.of();
+        private final List<? extends Column> fetch;
 
-        Integer offset;
+        private final Integer offset;
 
-        Integer limit;
+        private final Integer limit;
 
-        LockModeType lockType = LockModeType.NONE;
+        private final LockModeType lockType;
+
+        private transient int hash;
 
         public QueryStructureImpl(Selection select, From from) {
+            this(select, from, Expressions.TRUE, Lists.of(), Lists.of(), Expressions.TRUE,
+                    Lists.of(), null, null, LockModeType.NONE);
+        }
+
+        public QueryStructureImpl(Class<?> from) {
+            this(new EntitySelectedImpl(from, false), new FromEntity(from));
+        }
+
+        private QueryStructureImpl(Selection select,
+                                   From from,
+                                   Expression where,
+                                   List<? extends Expression> groupBy,
+                                   List<? extends Order<?>> orderBy,
+                                   Expression having,
+                                   List<? extends Column> fetch,
+                                   Integer offset,
+                                   Integer limit,
+                                   LockModeType lockType) {
             this.select = select;
             this.from = from;
+            this.where = where;
+            this.groupBy = immutable(groupBy);
+            this.orderBy = immutable(orderBy);
+            this.having = having;
+            this.fetch = immutable(fetch);
+            this.offset = offset;
+            this.limit = limit;
+            this.lockType = lockType;
         }
 
-        public QueryStructureImpl(Class<?> from) {
-            this.from = new FromEntity(from);
-            this.select = new EntitySelectedImpl(from, false);
+        QueryStructureImpl withSelect(Selection select) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
         }
 
-        protected QueryStructureImpl copy() {
-            try {
-                return (QueryStructureImpl) super.clone();
-            } catch (CloneNotSupportedException e) {
-                throw new RuntimeException(e);
-            }
+        QueryStructureImpl withWhere(Expression where) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+        }
+
+        QueryStructureImpl withGroupBy(List<? extends Expression> groupBy) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+        }
+
+        QueryStructureImpl withOrderBy(List<? extends Order<?>> orderBy) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+        }
+
+        QueryStructureImpl withHaving(Expression having) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+        }
+
+        QueryStructureImpl withFetch(List<? extends Column> fetch) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+        }
+
+        QueryStructureImpl withLockType(LockModeType lockType) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+        }
+
+        QueryStructureImpl withRange(Integer offset, Integer limit, LockModeType lockType) {
+            return new QueryStructureImpl(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
         }
 
         @Override
@@ -143,6 +196,38 @@ final class QueryStructures {
             return objects == null || objects.isEmpty();
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            QueryStructureImpl that = (QueryStructureImpl) o;
+            return hashCode() == that.hashCode()
+                   && Objects.equals(select, that.select)
+                   && Objects.equals(from, that.from)
+                   && Objects.equals(where, that.where)
+                   && Objects.equals(groupBy, that.groupBy)
+                   && Objects.equals(orderBy, that.orderBy)
+                   && Objects.equals(having, that.having)
+                   && Objects.equals(fetch, that.fetch)
+                   && Objects.equals(offset, that.offset)
+                   && Objects.equals(limit, that.limit)
+                   && lockType == that.lockType;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = hash;
+            if (h == 0) {
+                h = Objects.hash(select, from, where, groupBy, orderBy, having, fetch, offset, limit, lockType);
+                hash = h;
+            }
+            return h;
+        }
+
     }
 
     @lombok.Data
@@ -153,12 +238,14 @@ final class QueryStructures {
 
     @lombok.Data
     @Accessors(fluent = true)
+    @EqualsAndHashCode(cacheStrategy = CacheStrategy.LAZY)
     static final class FromSubQuery implements SubQuery {
         private final QueryStructure queryStructure;
     }
 
     @lombok.Data
     @Accessors(fluent = true)
+    @EqualsAndHashCode(cacheStrategy = CacheStrategy.LAZY)
     static final class OrderImpl<T> implements Order<T> {
         private final Expression expression;
         private final SortOrder order;
@@ -195,6 +282,7 @@ final class QueryStructures {
 
     @lombok.Data
     @Accessors(fluent = true)
+    @EqualsAndHashCode(cacheStrategy = CacheStrategy.LAZY)
     static final class MultiSelectedImpl implements MultiSelected {
         private final List<? extends Expression> expressions;
         private final boolean distinct;
@@ -208,6 +296,7 @@ final class QueryStructures {
 
     @lombok.Data
     @Accessors(fluent = true)
+    @EqualsAndHashCode(cacheStrategy = CacheStrategy.LAZY)
     static final class SingleSelectedImpl implements SingleSelected {
         private final Class<?> resultType;
         private final Expression expression;
@@ -229,9 +318,76 @@ final class QueryStructures {
     }
 
     @lombok.Data
+    @Accessors(fluent = true)
+    static final class PageImpl<T> implements Page<T> {
+        private final List<T> data;
+        private final String next;
+    }
+
+    @lombok.Data
+    @Accessors(fluent = true)
+    static final class UpdateStructureImpl implements UpdateStructure {
+        private final Class<?> entityType;
+        private final List<? extends Assignment> assignments;
+        private final Expression where;
+
+        UpdateStructureImpl(Class<?> entityType, List<? extends Assignment> assignments, Expression where) {
+            this.entityType = entityType;
+            this.assignments = immutable(assignments);
+            this.where = where;
+        }
+    }
+
+    @lombok.Data
+    @Accessors(fluent = true)
+    static final class AssignmentImpl implements Assignment {
+        private final Column column;
+        private final Expression value;
+
+        @Override
+        public String toString() {
+            return column + " = " + value;
+        }
+    }
+
+    @lombok.Data
+    @Accessors(fluent = true)
+    static final class DeleteStructureImpl implements DeleteStructure {
+        private final Class<?> entityType;
+        private final Expression where;
+    }
+
     @Accessors(fluent = true)
     static final class ConstantImpl implements Constant {
+        @Getter
         private final Object value;
+        private transient int hash;
+
+        ConstantImpl(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ConstantImpl that = (ConstantImpl) o;
+            return hashCode() == that.hashCode() && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = hash;
+            if (h == 0) {
+                h = 31 + Objects.hashCode(value);
+                hash = h;
+            }
+            return h;
+        }
 
         @Override
         public String toString() {
@@ -239,12 +395,45 @@ final class QueryStructures {
         }
     }
 
-    @lombok.Data
+    @Getter
     @Accessors(fluent = true)
     static final class OperationImpl implements Operation {
         private final Expression operand;
         private final Operator operator;
         private final List<? extends Expression> args;
+        @Getter(AccessLevel.NONE)
+        private transient int hash;
+
+        OperationImpl(Expression operand, Operator operator, List<? extends Expression> args) {
+            this.operand = operand;
+            this.operator = operator;
+            this.args = args == null ? Lists.of() : immutable(args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            OperationImpl that = (OperationImpl) o;
+            return hashCode() == that.hashCode()
+                   && operator == that.operator
+                   && Objects.equals(operand, that.operand)
+                   && args.equals(that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = hash;
+            if (h == 0) {
+                h = (31 * Objects.hashCode(operand) + operator.hashCode()) * 31 + args.hashCode();
+                hash = h;
+            }
+            return h;
+        }
 
         @Override
         public String toString() {
@@ -253,13 +442,17 @@ final class QueryStructures {
 
     }
 
-    @lombok.Data
     @Accessors(fluent = true)
     static final class ColumnImpl implements Column {
         private final String[] paths;
+        private transient int hash;
         @Getter(lazy = true)
         private final String identity = String.join(".", paths);
 
+        ColumnImpl(String[] paths) {
+            this.paths = paths;
+        }
+
         @Override
         public String toString() {
             return identity();
@@ -307,15 +500,25 @@ final class QueryStructures {
             if (o == null || getClass() != o.getClass()) {
                 return false;
             }
-            return Arrays.equals(paths, ((ColumnImpl) o).paths);
+            ColumnImpl that = (ColumnImpl) o;
+            return hashCode() == that.hashCode() && Arrays.equals(paths, that.paths);
         }
 
         @Override
         public int hashCode() {
-            return Arrays.hashCode(paths);
+            int h = hash;
+            if (h == 0) {
+                h = Arrays.hashCode(paths);
+                hash = h;
+            }
+            return h;
         }
     }
 
+    static <E> List<E> immutable(List<? extends E> list) {
+        return list == null ? null : List.copyOf(list);
+    }
+
     public static String toString(Operation o) {
         Expression l = o.operand();
         List<? extends Expression> r;
@@ -0,0 +1,14 @@
+package io.github.genie.sql.builder;
+
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.builder.QueryStructures.SliceImpl;
+
+import java.util.List;
+
+public class Slices {
+
+    public static <T> Slice<T> of(List<T> data, long total, int offset, int limit) {
+        return new SliceImpl<>(data, total, offset, limit);
+    }
+
+}
@@ -49,6 +49,16 @@ public class UpdaterImpl<T> implements Updater<T> {
         return update.updateNonNullColumn(entity, entityType);
     }
 
+    @Override
+    public List<T> upsert(List<T> entities) {
+        return update.upsert(entities, entityType);
+    }
+
+    @Override
+    public T upsert(T entity) {
+        return update.upsert(entity, entityType);
+    }
+
     @Override
     public String toString() {
         return "UpdaterImpl{" +
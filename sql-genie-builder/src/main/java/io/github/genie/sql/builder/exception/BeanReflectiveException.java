@@ -6,4 +6,8 @@ public class BeanReflectiveException extends RuntimeException {
         super(cause);
     }
 
+    public BeanReflectiveException(String message) {
+        super(message);
+    }
+
 }
@@ -2,6 +2,7 @@ package io.github.genie.sql.builder.meta;
 
 import io.github.genie.sql.builder.PathReference;
 import io.github.genie.sql.builder.exception.BeanReflectiveException;
+import io.github.genie.sql.builder.meta.EntityDescriptor.AttributeDescriptor;
 import io.github.genie.sql.builder.meta.Metamodels.AnyToOneAttributeImpl;
 import io.github.genie.sql.builder.meta.Metamodels.AnyToOneProjectionAttributeImpl;
 import io.github.genie.sql.builder.meta.Metamodels.AttributeImpl;
@@ -9,6 +10,7 @@ import io.github.genie.sql.builder.meta.Metamodels.BasicAttributeImpl;
 import io.github.genie.sql.builder.meta.Metamodels.ProjectionAttributeImpl;
 import io.github.genie.sql.builder.meta.Metamodels.RootEntity;
 import io.github.genie.sql.builder.meta.Metamodels.RootProjection;
+import io.github.genie.sql.builder.reflect.AttributeAccessor;
 import io.github.genie.sql.builder.reflect.ReflectUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -169,6 +171,10 @@ public abstract class AbstractMetamodel implements Metamodel {
     }
 
     protected RootEntity createEntityType(Class<?> entityType, RootEntity result, Type owner) {
+        EntityDescriptor descriptor = getEntityDescriptor(entityType);
+        if (descriptor != null) {
+            return createEntityType(descriptor, result, owner);
+        }
         result.javaType(entityType);
         Map<String, Attribute> map = new HashMap<>();
         result.attributes(Collections.unmodifiableMap(map));
@@ -219,6 +225,48 @@ public abstract class AbstractMetamodel implements Metamodel {
         return result;
     }
 
+    /**
+     * the mapping generated at compile time, used instead of the hooks above. null by default, only metamodels whose
+     * mapping rules are the ones mirrored by the sql-genie-processor should return {@link EntityDescriptor#find}
+     */
+    protected EntityDescriptor getEntityDescriptor(Class<?> entityType) {
+        return null;
+    }
+
+    protected RootEntity createEntityType(EntityDescriptor descriptor, RootEntity result, Type owner) {
+        Class<?> entityType = descriptor.javaType();
+        result.javaType(entityType);
+        Map<String, Attribute> map = new HashMap<>();
+        result.attributes(Collections.unmodifiableMap(map));
+        result.tableName(descriptor.tableName());
+        for (AttributeDescriptor it : descriptor.attributes()) {
+            Field field = it.getter() == null || it.setter() == null
+                    ? ReflectUtil.getDeclaredField(entityType, it.name())
+                    : null;
+            AttributeAccessor accessor = AttributeAccessor.of(it.getter(), it.setter(), field);
+            Attribute attr = new AttributeImpl(it.javaType(), owner, it.name(), field, accessor);
+            Attribute attribute;
+            if (it.anyToOne()) {
+                AnyToOneAttributeImpl ato = new AnyToOneAttributeImpl(attr);
+                ato.joinName(it.joinName());
+                ato.referencedColumnName(it.referencedColumnName());
+                ato.referencedSupplier(() -> createEntityType(attr.javaType(), new RootEntity(), ato));
+                attribute = ato;
+            } else {
+                attribute = new BasicAttributeImpl(attr, it.columnName(), it.version());
+                if (it.version()) {
+                    result.version(attribute);
+                }
+            }
+            if (it.id() || result.id() == null && "id".equals(it.name())) {
+                result.id(attribute);
+            }
+            map.put(attribute.name(), attribute);
+        }
+        setAnyToOneAttributeColumnName(map);
+        return result;
+    }
+
     protected void setAnyToOneAttributeColumnName(Map<String, Attribute> map) {
         for (Entry<String, Attribute> entry : map.entrySet()) {
             Attribute value = entry.getValue();
@@ -0,0 +1,146 @@
+package io.github.genie.sql.builder.meta;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * mapping of an entity resolved at compile time, written by the sql-genie-processor into a class named after the
+ * entity with the {@link #SUFFIX}, e.g. {@code User_Genie}. the class registers its descriptor when initialized
+ */
+@Data
+@Accessors(fluent = true)
+public final class EntityDescriptor {
+
+    /**
+     * appended to the binary name of the entity to name the generated class, distinct from the {@code User_} classes
+     * of the jpa static metamodel generators
+     */
+    public static final String SUFFIX = "_Genie";
+
+    private static final Map<Class<?>, EntityDescriptor> REGISTERED = new ConcurrentHashMap<>();
+    private static final Set<Class<?>> MISSING = ConcurrentHashMap.newKeySet();
+
+    private final Class<?> javaType;
+    private final String tableName;
+    private final List<AttributeDescriptor> attributes;
+
+    public static <T> Builder<T> builder(Class<T> javaType, String tableName) {
+        return new Builder<>(javaType, tableName);
+    }
+
+    /**
+     * @return null if no descriptor was generated for the type
+     */
+    public static EntityDescriptor find(Class<?> javaType) {
+        EntityDescriptor descriptor = REGISTERED.get(javaType);
+        if (descriptor == null && !MISSING.contains(javaType)) {
+            try {
+                Class.forName(javaType.getName() + SUFFIX, true, javaType.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                // not generated
+            }
+            descriptor = REGISTERED.get(javaType);
+            if (descriptor == null) {
+                MISSING.add(javaType);
+            }
+        }
+        return descriptor;
+    }
+
+    @Data
+    @Accessors(fluent = true)
+    public static final class AttributeDescriptor {
+        private final String name;
+        private final Class<?> javaType;
+        private final String columnName;
+        private final boolean id;
+        private final boolean version;
+        private final boolean anyToOne;
+        private final String joinName;
+        private final String referencedColumnName;
+        /**
+         * null when the property has no accessible getter, it is then read from the field
+         */
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+    }
+
+    public static final class Builder<T> {
+        private final Class<T> javaType;
+        private final String tableName;
+        private final List<AttributeDescriptor> attributes = new ArrayList<>();
+
+        private Builder(Class<T> javaType, String tableName) {
+            this.javaType = javaType;
+            this.tableName = tableName;
+        }
+
+        public Builder<T> id(String name,
+                             Class<?> type,
+                             String columnName,
+                             Function<? super T, ?> getter,
+                             BiConsumer<? super T, Object> setter) {
+            return add(name, type, columnName, true, false, false, null, null, getter, setter);
+        }
+
+        public Builder<T> version(String name,
+                                  Class<?> type,
+                                  String columnName,
+                                  Function<? super T, ?> getter,
+                                  BiConsumer<? super T, Object> setter) {
+            return add(name, type, columnName, false, true, false, null, null, getter, setter);
+        }
+
+        public Builder<T> basic(String name,
+                                Class<?> type,
+                                String columnName,
+                                Function<? super T, ?> getter,
+                                BiConsumer<? super T, Object> setter) {
+            return add(name, type, columnName, false, false, false, null, null, getter, setter);
+        }
+
+        public Builder<T> anyToOne(String name,
+                                   Class<?> type,
+                                   String joinName,
+                                   String referencedColumnName,
+                                   Function<? super T, ?> getter,
+                                   BiConsumer<? super T, Object> setter) {
+            return add(name, type, null, false, false, true, joinName, referencedColumnName, getter, setter);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder<T> add(String name,
+                               Class<?> type,
+                               String columnName,
+                               boolean id,
+                               boolean version,
+                               boolean anyToOne,
+                               String joinName,
+                               String referencedColumnName,
+                               Function<? super T, ?> getter,
+                               BiConsumer<? super T, Object> setter) {
+            attributes.add(new AttributeDescriptor(name, type, columnName, id, version, anyToOne,
+                    joinName, referencedColumnName,
+                    (Function<Object, Object>) getter, (BiConsumer<Object, Object>) setter));
+            return this;
+        }
+
+        public EntityDescriptor register() {
+            EntityDescriptor descriptor = new EntityDescriptor(javaType, tableName,
+                    Collections.unmodifiableList(new ArrayList<>(attributes)));
+            REGISTERED.put(javaType, descriptor);
+            MISSING.remove(javaType);
+            return descriptor;
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package io.github.genie.sql.builder.meta;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * marks a projection interface, sql-genie-processor writes a class implementing it with one field per getter,
+ * rows are then built without a {@link java.lang.reflect.Proxy}
+ */
+@Target(TYPE)
+@Retention(CLASS)
+public @interface GenerateImplementation {
+
+    /**
+     * appended to the binary name of the interface to name the generated class
+     */
+    String SUFFIX = "_Projection";
+
+}
@@ -0,0 +1,22 @@
+package io.github.genie.sql.builder.meta;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/**
+ * marks a bean or record projection, sql-genie-processor writes a {@link io.github.genie.sql.builder.reflect.PropertyMapper}
+ * that builds it from a row with direct constructor and setter calls
+ */
+@Target(TYPE)
+@Retention(CLASS)
+public @interface GenerateMapper {
+
+    /**
+     * appended to the binary name of the projection to name the generated class
+     */
+    String SUFFIX = "_Mapper";
+
+}
@@ -1,6 +1,8 @@
 package io.github.genie.sql.builder.meta;
 
 import io.github.genie.sql.api.Column;
+import io.github.genie.sql.builder.reflect.AttributeAccessor;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -31,14 +33,50 @@ public class Metamodels {
         private final List<? extends Attribute> referencedAttributes = Attribute.super.referencedAttributes();
         @Getter(lazy = true)
         private final Column column = Attribute.super.column();
+        @Getter(AccessLevel.NONE)
+        private AttributeAccessor accessor;
 
         public AttributeImpl(Class<?> javaType, Type declaringType, String name, Method getter, Method setter, Field field) {
+            this(javaType, declaringType, name, getter, setter, field, null);
+        }
+
+        public AttributeImpl(Class<?> javaType, Type declaringType, String name, Field field, AttributeAccessor accessor) {
+            this(javaType, declaringType, name, null, null, field, accessor);
+        }
+
+        private AttributeImpl(Class<?> javaType,
+                              Type declaringType,
+                              String name,
+                              Method getter,
+                              Method setter,
+                              Field field,
+                              AttributeAccessor accessor) {
             this.javaType = javaType;
             this.declaringType = declaringType;
             this.name = name;
             this.getter = getter;
             this.setter = setter;
             this.field = field;
+            this.accessor = accessor;
+        }
+
+        private AttributeAccessor accessor() {
+            // accessors are immutable, a racing thread at most builds another one
+            AttributeAccessor accessor = this.accessor;
+            if (accessor == null) {
+                this.accessor = accessor = AttributeAccessor.of(getter, setter, field);
+            }
+            return accessor;
+        }
+
+        @Override
+        public Object get(Object entity) {
+            return accessor().get(entity);
+        }
+
+        @Override
+        public void set(Object entity, Object value) {
+            accessor().set(entity, value);
         }
 
     }
@@ -0,0 +1,237 @@
+package io.github.genie.sql.builder.reflect;
+
+import io.github.genie.sql.builder.exception.BeanReflectiveException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * reads and writes one property through a getter/setter compiled by {@link LambdaMetafactory}, or a
+ * {@link VarHandle} when the property has no public accessor method. where the lambda can not be spun, e.g. a
+ * package not opened to this module, a cached {@link MethodHandle} is used, plain reflection only as the last resort.
+ */
+@Slf4j
+public final class AttributeAccessor {
+
+    /**
+     * how a getter or setter reaches the property
+     */
+    public enum Kind {
+        GENERATED,
+        LAMBDA,
+        METHOD_HANDLE,
+        VAR_HANDLE,
+        REFLECTION
+    }
+
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+    private final Kind getterKind;
+    private final Kind setterKind;
+
+    private AttributeAccessor(Access<Function<Object, Object>> getter, Access<BiConsumer<Object, Object>> setter) {
+        this.getter = getter.function;
+        this.setter = setter.function;
+        this.getterKind = getter.kind;
+        this.setterKind = setter.kind;
+    }
+
+    public static AttributeAccessor of(Method getter, Method setter, Field field) {
+        return new AttributeAccessor(getter(getter, field), setter(setter, field));
+    }
+
+    /**
+     * accessors compiled ahead of time, a missing one falls back to the field
+     */
+    public static AttributeAccessor of(Function<Object, Object> getter, BiConsumer<Object, Object> setter, Field field) {
+        return new AttributeAccessor(getter != null ? new Access<>(getter, Kind.GENERATED) : getter(null, field),
+                setter != null ? new Access<>(setter, Kind.GENERATED) : setter(null, field));
+    }
+
+    public Object get(Object entity) {
+        return getter.apply(entity);
+    }
+
+    public void set(Object entity, Object value) {
+        setter.accept(entity, value);
+    }
+
+    public Kind getterKind() {
+        return getterKind;
+    }
+
+    public Kind setterKind() {
+        return setterKind;
+    }
+
+    private static Access<Function<Object, Object>> getter(Method getter, Field field) {
+        if (isPublic(getter)) {
+            try {
+                return new Access<>(newGetter(getter), Kind.LAMBDA);
+            } catch (Throwable e) {
+                log.info("no lambda for {}, invoking a method handle: {}", getter, e.toString());
+            }
+            try {
+                MethodHandle handle = unreflect(getter).asType(MethodType.methodType(Object.class, Object.class));
+                return new Access<>(entity -> invokeGetter(handle, entity), Kind.METHOD_HANDLE);
+            } catch (IllegalAccessException e) {
+                log.warn("no method handle for {}, invoking reflectively: {}", getter, e.toString());
+            }
+        } else if (field != null) {
+            try {
+                VarHandle handle = lookup(field.getDeclaringClass()).unreflectVarHandle(field);
+                return new Access<>(entity -> handle.get(entity), Kind.VAR_HANDLE);
+            } catch (IllegalAccessException e) {
+                log.warn("no var handle for {}, accessing reflectively: {}", field, e.toString());
+            }
+        }
+        return new Access<>(entity -> reflectiveGet(getter, field, entity), Kind.REFLECTION);
+    }
+
+    private static Access<BiConsumer<Object, Object>> setter(Method setter, Field field) {
+        if (isPublic(setter)) {
+            try {
+                return new Access<>(newSetter(setter), Kind.LAMBDA);
+            } catch (Throwable e) {
+                log.info("no lambda for {}, invoking a method handle: {}", setter, e.toString());
+            }
+            try {
+                // fluent setters return the bean, the result is dropped
+                MethodHandle handle = unreflect(setter)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                return new Access<>((entity, value) -> invokeSetter(handle, entity, value), Kind.METHOD_HANDLE);
+            } catch (IllegalAccessException e) {
+                log.warn("no method handle for {}, invoking reflectively: {}", setter, e.toString());
+            }
+        } else if (field != null && !Modifier.isFinal(field.getModifiers())) {
+            try {
+                VarHandle handle = lookup(field.getDeclaringClass()).unreflectVarHandle(field);
+                return new Access<>((entity, value) -> handle.set(entity, value), Kind.VAR_HANDLE);
+            } catch (IllegalAccessException e) {
+                log.warn("no var handle for {}, accessing reflectively: {}", field, e.toString());
+            }
+        }
+        return new Access<>((entity, value) -> reflectiveSet(setter, field, entity, value), Kind.REFLECTION);
+    }
+
+    /**
+     * the public lookup reaches public methods of exported packages that are not opened for a private lookup
+     */
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        try {
+            return lookup(method.getDeclaringClass()).unreflect(method);
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup().unreflect(method);
+        }
+    }
+
+    private static Object invokeGetter(MethodHandle handle, Object entity) {
+        try {
+            return handle.invokeExact(entity);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeanReflectiveException(e);
+        }
+    }
+
+    private static void invokeSetter(MethodHandle handle, Object entity, Object value) {
+        try {
+            handle.invokeExact(entity, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeanReflectiveException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> newGetter(Method method) throws Throwable {
+        Class<?> type = method.getDeclaringClass();
+        Lookup lookup = lookup(type);
+        MethodHandle handle = lookup.unreflect(method);
+        CallSite site = LambdaMetafactory.metafactory(lookup,
+                "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                MethodType.methodType(wrap(method.getReturnType()), type));
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> newSetter(Method method) throws Throwable {
+        Class<?> type = method.getDeclaringClass();
+        Lookup lookup = lookup(type);
+        MethodHandle handle = lookup.unreflect(method);
+        // fluent setters return the bean, the result is dropped
+        CallSite site = LambdaMetafactory.metafactory(lookup,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, type, wrap(method.getParameterTypes()[0])));
+        return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    private static boolean isPublic(Method method) {
+        return method != null
+               && Modifier.isPublic(method.getModifiers())
+               && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    private static Object reflectiveGet(Method getter, Field field, Object entity) {
+        try {
+            if (getter != null && ReflectUtil.isAccessible(getter, entity)) {
+                return getter.invoke(entity);
+            } else {
+                return ReflectUtil.getFieldValue(field, entity);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new BeanReflectiveException(e);
+        }
+    }
+
+    private static void reflectiveSet(Method setter, Field field, Object entity, Object value) {
+        try {
+            if (setter != null && ReflectUtil.isAccessible(setter, entity)) {
+                setter.invoke(entity, value);
+            } else {
+                ReflectUtil.setFieldValue(field, entity, value);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new BeanReflectiveException(e);
+        }
+    }
+
+    private static final class Access<F> {
+        private final F function;
+        private final Kind kind;
+
+        private Access(F function, Kind kind) {
+            this.function = function;
+            this.kind = kind;
+        }
+    }
+
+}
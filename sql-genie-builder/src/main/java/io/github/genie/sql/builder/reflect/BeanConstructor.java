@@ -2,25 +2,39 @@ package io.github.genie.sql.builder.reflect;
 
 import io.github.genie.sql.builder.meta.Type;
 
+import java.util.function.Supplier;
+
 public class BeanConstructor extends ObjectConstructor {
+    private final Supplier<Object> factory;
+
     public BeanConstructor(Type type) {
         super(type);
+        this.factory = ReflectUtil.newInstanceFactory(type.javaType());
+    }
+
+    @Override
+    public void setProperties(Property[] properties) {
+        this.properties = properties;
+        bindMapper();
     }
 
     @Override
     public Object newInstance(Object[] arguments) {
+        if (mapper != null) {
+            return root || hasNonnullColumn(arguments) ? mapper.newInstance(arguments, columns) : null;
+        }
         Object result = null;
         for (Property property : properties) {
             Object value = property.newInstance(arguments);
             if (value != null) {
                 if (result == null) {
-                    result = ReflectUtil.newInstance(type.javaType());
+                    result = factory.get();
                 }
                 property.attribute().set(result, value);
             }
         }
         if (root && result == null) {
-            result = ReflectUtil.newInstance(type.javaType());
+            result = factory.get();
         }
         return result;
     }
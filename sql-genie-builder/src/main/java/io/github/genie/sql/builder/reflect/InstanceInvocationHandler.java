@@ -1,6 +1,5 @@
 package io.github.genie.sql.builder.reflect;
 
-import io.github.genie.sql.builder.meta.Attribute;
 import lombok.Data;
 import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
@@ -9,16 +8,23 @@ import org.jetbrains.annotations.NotNull;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 
+/**
+ * values are kept in an array laid out by {@code indexes}, which is built once per projection and shared by
+ * all of its rows
+ */
 @Data
 @Accessors(fluent = true)
 public final class InstanceInvocationHandler implements InvocationHandler {
     private static final Method EQUALS = getEqualsMethod();
     private final Property[] properties;
     private final Class<?> resultType;
-    private final Map<Method, Object> data;
+    private final Map<Method, Integer> indexes;
+    private final Object[] values;
 
     @SneakyThrows
     @NotNull
@@ -28,8 +34,9 @@ public final class InstanceInvocationHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (data.containsKey(method)) {
-            return data.get(method);
+        Integer index = indexes.get(method);
+        if (index != null) {
+            return values[index];
         }
         if (EQUALS.equals(method)) {
             return equals(proxy, args[0]);
@@ -56,19 +63,45 @@ public final class InstanceInvocationHandler implements InvocationHandler {
             return false;
         }
         InstanceInvocationHandler handler = (InstanceInvocationHandler) invocationHandler;
-        return resultType.equals(handler.resultType) && data.equals(handler.data);
+        return resultType.equals(handler.resultType) && valuesEquals(handler);
     }
 
+    private boolean valuesEquals(InstanceInvocationHandler other) {
+        if (indexes == other.indexes) {
+            return Arrays.equals(values, other.values);
+        }
+        if (indexes.size() != other.indexes.size()) {
+            return false;
+        }
+        for (Entry<Method, Integer> entry : indexes.entrySet()) {
+            Integer index = other.indexes.get(entry.getKey());
+            if (index == null || !Objects.equals(values[entry.getValue()], other.values[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
 
     @Override
     public int hashCode() {
-        int result = data.hashCode();
+        // same as the hash code of a getter -> value map
+        int result = 0;
+        for (Entry<Method, Integer> entry : indexes.entrySet()) {
+            result += entry.getKey().hashCode() ^ Objects.hashCode(values[entry.getValue()]);
+        }
         result = 31 * result + resultType.hashCode();
         return result;
     }
 
     @Override
     public String toString() {
-        return "Proxy(" + resultType + ")";
+        StringBuilder builder = new StringBuilder(resultType.getSimpleName()).append('{');
+        for (int i = 0; i < properties.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(properties[i].attribute().name()).append('=').append(values[i]);
+        }
+        return builder.append('}').toString();
     }
 }
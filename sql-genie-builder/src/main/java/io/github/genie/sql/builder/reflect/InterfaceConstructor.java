@@ -1,29 +1,106 @@
 package io.github.genie.sql.builder.reflect;
 
+import io.github.genie.sql.builder.meta.GenerateImplementation;
 import io.github.genie.sql.builder.meta.Type;
+import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * builds rows through the class generated for a {@link GenerateImplementation} interface, through a
+ * {@link java.lang.reflect.Proxy} otherwise
+ */
+@Slf4j
 public class InterfaceConstructor extends ObjectConstructor {
+    private Map<Method, Integer> indexes;
+    private Function<Object[], Object> implementation;
+    /**
+     * constructor argument of each property, the generated constructor takes the getters ordered by name
+     */
+    private int[] parameters;
+    private int parameterCount;
+
     public InterfaceConstructor(Type type) {
         super(type);
     }
 
+    public void setProperties(Property[] properties) {
+        Map<Method, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < properties.length; i++) {
+            indexes.put(properties[i].attribute().getter(), i);
+        }
+        this.properties = properties;
+        this.indexes = indexes;
+        bindImplementation();
+    }
+
     @Override
     public Object newInstance(Object[] arguments) {
-        Map<Method, Object> map = new HashMap<>();
+        Object[] values = new Object[implementation != null ? parameterCount : properties.length];
         boolean hasNonnullProperty = false;
-        for (Property property : properties) {
-            Object extract = property.newInstance(arguments);
+        for (int i = 0; i < properties.length; i++) {
+            Object extract = properties[i].newInstance(arguments);
             hasNonnullProperty = hasNonnullProperty || extract != null;
-            map.put(property.attribute().getter(), extract);
+            values[implementation != null ? parameters[i] : i] = extract;
         }
         if (root || hasNonnullProperty) {
-            return ReflectUtil.newProxyInstance(properties, type.javaType(), map);
+            return implementation != null
+                    ? implementation.apply(values)
+                    : ReflectUtil.newProxyInstance(properties, type.javaType(), indexes, values);
         } else {
             return null;
         }
     }
+
+    private void bindImplementation() {
+        Class<?> javaType = type.javaType();
+        Class<?> generated;
+        try {
+            generated = Class.forName(javaType.getName() + GenerateImplementation.SUFFIX, true,
+                    javaType.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return;
+        }
+        String[] getters = Arrays.stream(javaType.getMethods())
+                .filter(it -> Modifier.isAbstract(it.getModifiers()) && !isObjectMethod(it))
+                .map(Method::getName)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+        Constructor<?>[] constructors = generated.getConstructors();
+        if (!javaType.isAssignableFrom(generated)
+            || constructors.length != 1
+            || constructors[0].getParameterCount() != getters.length) {
+            log.warn("{} does not match {}, rows are proxied", generated.getName(), javaType.getName());
+            return;
+        }
+        int[] parameters = new int[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            int parameter = Arrays.binarySearch(getters, properties[i].attribute().getter().getName());
+            if (parameter < 0) {
+                log.warn("{} is not implemented by {}, rows are proxied",
+                        properties[i].attribute().getter(), generated.getName());
+                return;
+            }
+            parameters[i] = parameter;
+        }
+        this.parameters = parameters;
+        this.parameterCount = getters.length;
+        this.implementation = ReflectUtil.newInstanceFactory(constructors[0]);
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
 }
@@ -1,14 +1,27 @@
 package io.github.genie.sql.builder.reflect;
 
 import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.GenerateMapper;
 import io.github.genie.sql.builder.meta.Type;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
+
+@Slf4j
 public abstract class ObjectConstructor implements Property, InstanceConstructor {
     @Setter
     protected Property[] properties;
     protected final Type type;
     protected boolean root;
+    /**
+     * the class generated for a {@link GenerateMapper} type, null unless it sets every property straight from the row
+     */
+    protected PropertyMapper mapper;
+    /**
+     * row index of each property of the mapper, negative if not selected
+     */
+    protected int[] columns;
 
     public ObjectConstructor(Type type) {
         this.type = type;
@@ -19,4 +32,51 @@ public abstract class ObjectConstructor implements Property, InstanceConstructor
         return (Attribute) type;
     }
 
+    /**
+     * binds the generated mapper if every property is a selected column, nested objects are built by the tree
+     */
+    protected void bindMapper() {
+        Class<?> javaType = type.javaType();
+        Class<?> generated;
+        try {
+            generated = Class.forName(javaType.getName() + GenerateMapper.SUFFIX, true, javaType.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return;
+        }
+        if (!PropertyMapper.class.isAssignableFrom(generated)) {
+            log.warn("{} is not a {}, rows are mapped reflectively", generated.getName(), PropertyMapper.class.getName());
+            return;
+        }
+        PropertyMapper mapper = (PropertyMapper) ReflectUtil.newInstance(generated);
+        String[] names = mapper.properties();
+        int[] columns = new int[names.length];
+        Arrays.fill(columns, -1);
+        for (Property property : properties) {
+            if (!(property instanceof PropertyImpl)) {
+                return;
+            }
+            int i = Arrays.asList(names).indexOf(property.attribute().name());
+            if (i < 0) {
+                log.warn("{} is not set by {}, rows are mapped reflectively",
+                        property.attribute().name(), generated.getName());
+                return;
+            }
+            columns[i] = ((PropertyImpl) property).index();
+        }
+        this.mapper = mapper;
+        this.columns = columns;
+    }
+
+    /**
+     * @return true if a column of the bound mapper is not null
+     */
+    protected boolean hasNonnullColumn(Object[] arguments) {
+        for (int column : columns) {
+            if (column >= 0 && arguments[column] != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -20,6 +20,10 @@ public class PropertyImpl implements Property {
         return arguments[index];
     }
 
+    int index() {
+        return index;
+    }
+
     void setIndex(int index) {
         this.index = index;
     }
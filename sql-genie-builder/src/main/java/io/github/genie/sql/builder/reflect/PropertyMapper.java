@@ -0,0 +1,21 @@
+package io.github.genie.sql.builder.reflect;
+
+import io.github.genie.sql.builder.meta.GenerateMapper;
+
+/**
+ * implemented by the class sql-genie-processor writes for a {@link GenerateMapper} type
+ */
+public interface PropertyMapper {
+
+    /**
+     * @return names of the properties it sets, in the order of the columns passed to {@link #newInstance}
+     */
+    String[] properties();
+
+    /**
+     * @param row     the selected values
+     * @param columns index in the row of each of {@link #properties()}, negative if the property is not selected
+     */
+    Object newInstance(Object[] row, int[] columns);
+
+}
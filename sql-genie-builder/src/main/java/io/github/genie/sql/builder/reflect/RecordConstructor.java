@@ -3,13 +3,14 @@ package io.github.genie.sql.builder.reflect;
 import io.github.genie.sql.builder.exception.BeanReflectiveException;
 import io.github.genie.sql.builder.meta.Type;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.RecordComponent;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 public class RecordConstructor extends ObjectConstructor {
     public Class<?>[] parameterTypes;
+    private Function<Object[], Object> factory;
 
     public RecordConstructor(Type type) {
         super(type);
@@ -30,27 +31,29 @@ public class RecordConstructor extends ObjectConstructor {
             parameterTypes[i] = component.getType();
         }
         this.properties = argProperties;
+        try {
+            this.factory = ReflectUtil.newInstanceFactory(resultType.getDeclaredConstructor(parameterTypes));
+        } catch (NoSuchMethodException e) {
+            throw new BeanReflectiveException(e);
+        }
+        bindMapper();
     }
 
     @Override
     public Object newInstance(Object[] arguments) {
-        try {
-            Class<?> resultType = type.javaType();
-            RecordComponent[] components = resultType.getRecordComponents();
-            Object[] args = new Object[components.length];
-            boolean hasNonnullProperty = false;
-            for (int i = 0; i < properties.length; i++) {
-                Object extract = properties[i].newInstance(arguments);
-                hasNonnullProperty = hasNonnullProperty || extract != null;
-                args[i] = extract;
-            }
-            if (!root && !hasNonnullProperty) {
-                return null;
-            }
-            Constructor<?> constructor = resultType.getDeclaredConstructor(parameterTypes);
-            return constructor.newInstance(args);
-        } catch (ReflectiveOperationException e) {
-            throw new BeanReflectiveException(e);
+        if (mapper != null) {
+            return root || hasNonnullColumn(arguments) ? mapper.newInstance(arguments, columns) : null;
+        }
+        Object[] args = new Object[properties.length];
+        boolean hasNonnullProperty = false;
+        for (int i = 0; i < properties.length; i++) {
+            Object extract = properties[i].newInstance(arguments);
+            hasNonnullProperty = hasNonnullProperty || extract != null;
+            args[i] = extract;
+        }
+        if (!root && !hasNonnullProperty) {
+            return null;
         }
+        return factory.apply(args);
     }
 }
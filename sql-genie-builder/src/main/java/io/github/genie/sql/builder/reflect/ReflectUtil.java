@@ -5,13 +5,21 @@ import io.github.genie.sql.builder.meta.Attribute;
 import io.github.genie.sql.builder.meta.ObjectType;
 import io.github.genie.sql.builder.meta.Type;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -22,8 +30,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 public class ReflectUtil {
 
     static final Map<Collection<? extends Attribute>, ObjectConstructor> CONSTRUCTORS = new ConcurrentHashMap<>();
@@ -135,10 +146,135 @@ public class ReflectUtil {
         }
     }
 
+    /**
+     * a factory bound once to the public no-arg constructor, instead of looking it up per instance.
+     * a cached method handle stands in where no lambda can be spun, e.g. a package not opened to this module
+     */
+    @SuppressWarnings("unchecked")
+    public static Supplier<Object> newInstanceFactory(Class<?> resultType) {
+        Constructor<?> constructor;
+        try {
+            constructor = resultType.getConstructor();
+        } catch (NoSuchMethodException e) {
+            return () -> newInstance(resultType);
+        }
+        try {
+            Lookup lookup = MethodHandles.privateLookupIn(resultType, MethodHandles.lookup());
+            CallSite site = LambdaMetafactory.metafactory(lookup,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    lookup.unreflectConstructor(constructor),
+                    MethodType.methodType(resultType));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.info("no lambda for {}, invoking a method handle: {}", constructor, e.toString());
+        }
+        MethodHandle constructorHandle = unreflectConstructor(constructor);
+        if (constructorHandle == null) {
+            return () -> newInstance(resultType);
+        }
+        MethodHandle handle = constructorHandle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return handle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeanReflectiveException(e);
+            }
+        };
+    }
+
+    /**
+     * spreads the argument array into the given constructor through a method handle
+     */
+    public static Function<Object[], Object> newInstanceFactory(Constructor<?> constructor) {
+        MethodHandle constructorHandle = unreflectConstructor(constructor);
+        if (constructorHandle == null) {
+            return arguments -> {
+                try {
+                    return constructor.newInstance(arguments);
+                } catch (ReflectiveOperationException ex) {
+                    throw new BeanReflectiveException(ex);
+                }
+            };
+        }
+        MethodHandle handle = constructorHandle
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return arguments -> {
+            try {
+                return handle.invokeExact(arguments);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeanReflectiveException(e);
+            }
+        };
+    }
+
+    /**
+     * the public lookup reaches public constructors of exported packages that are not opened for a private lookup
+     *
+     * @return null if neither lookup can access the constructor
+     */
+    private static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            return MethodHandles.privateLookupIn(constructor.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            log.debug("no private lookup for {}, using the public lookup: {}", constructor, e.toString());
+        }
+        try {
+            return MethodHandles.publicLookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            log.warn("no method handle for {}, invoking reflectively: {}", constructor, e.toString());
+            return null;
+        }
+    }
+
     public static Object invokeDefaultMethod(Object proxy, Method method, Object[] args) throws Throwable {
         return InvocationHandler.invokeDefault(proxy, method, args);
     }
 
+    public static Object getPropertyValue(@NotNull Object bean, String name) {
+        Class<?> type = Proxy.isProxyClass(bean.getClass())
+                ? bean.getClass().getInterfaces()[0]
+                : bean.getClass();
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            for (String methodName : new String[]{"get" + suffix, "is" + suffix, name}) {
+                Method getter = getPublicGetter(type, methodName);
+                if (getter != null) {
+                    if (!isAccessible(getter, bean)) {
+                        getter.setAccessible(true);
+                    }
+                    return getter.invoke(bean);
+                }
+            }
+            Field field = getDeclaredField(type, name);
+            if (field != null) {
+                return getFieldValue(field, bean);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new BeanReflectiveException(e);
+        }
+        throw new BeanReflectiveException("property " + name + " not found in " + type.getName());
+    }
+
+    @Nullable
+    private static Method getPublicGetter(Class<?> type, String name) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)
+                && method.getParameterCount() == 0
+                && method.getDeclaringClass() != Object.class) {
+                return method;
+            }
+        }
+        return null;
+    }
+
     public static Object getFieldValue(Field field, Object instance) throws IllegalAccessException {
         checkAccessible(field, instance);
         return field.get(instance);
@@ -160,10 +296,14 @@ public class ReflectUtil {
     }
 
     @NotNull
-    public static Object newProxyInstance(Property[] fields, @NotNull Class<?> resultType, Map<Method, Object> map) {
+    public static Object newProxyInstance(Property[] fields,
+                                          @NotNull Class<?> resultType,
+                                          Map<Method, Integer> indexes,
+                                          Object[] values) {
         ClassLoader classLoader = resultType.getClassLoader();
         Class<?>[] interfaces = {resultType};
-        return Proxy.newProxyInstance(classLoader, interfaces, new InstanceInvocationHandler(fields, resultType, map));
+        InstanceInvocationHandler handler = new InstanceInvocationHandler(fields, resultType, indexes, values);
+        return Proxy.newProxyInstance(classLoader, interfaces, handler);
     }
 
 }
@@ -6,6 +6,22 @@ import java.sql.SQLException;
 public interface ConnectionProvider {
     <T> T execute(ConnectionCallback<T> action) throws SQLException;
 
+    /**
+     * whether {@link #getConnection()} lends a connection that stays open until {@link #releaseConnection},
+     * streamed queries read their rows into a list first if not
+     */
+    default boolean canLendConnection() {
+        return false;
+    }
+
+    default Connection getConnection() throws SQLException {
+        throw new UnsupportedOperationException();
+    }
+
+    default void releaseConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
     interface ConnectionCallback<T> {
         T doInConnection(Connection connection) throws SQLException;
     }
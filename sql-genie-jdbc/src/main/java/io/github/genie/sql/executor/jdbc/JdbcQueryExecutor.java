@@ -1,8 +1,14 @@
 package io.github.genie.sql.executor.jdbc;
 
+import io.github.genie.sql.api.ColumnarResult;
 import io.github.genie.sql.api.LockModeType;
 import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.api.tuple.Tuple;
 import io.github.genie.sql.builder.AbstractQueryExecutor;
+import io.github.genie.sql.builder.ColumnarResults;
+import io.github.genie.sql.builder.QueryListener;
+import io.github.genie.sql.builder.QueryRecorder;
 import io.github.genie.sql.builder.exception.SqlExecuteException;
 import io.github.genie.sql.builder.exception.TransactionRequiredException;
 import io.github.genie.sql.builder.meta.Attribute;
@@ -11,14 +17,33 @@ import io.github.genie.sql.builder.meta.Metamodel;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 public class JdbcQueryExecutor implements AbstractQueryExecutor {
 
+    /**
+     * streams with {@link #MYSQL_STREAMING_FETCH_SIZE} on mysql connector/j and with the driver default otherwise
+     */
+    public static final int DEFAULT_FETCH_SIZE = 0;
+    /*
+     * mysql connector/j streams rows one by one only with this fetch size,
+     * other drivers (or useCursorFetch=true) take a positive row count
+     */
+    public static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final String MYSQL_DRIVER_NAME = "MySQL Connector/J";
+
     @NotNull
     private final Metamodel metamodel;
     @NotNull
@@ -27,21 +52,194 @@ public class JdbcQueryExecutor implements AbstractQueryExecutor {
     private final ConnectionProvider connectionProvider;
     @NotNull
     private final ResultCollector collector;
+    private final int fetchSize;
+    private final QueryListener listener;
+    private volatile boolean materializeWarned;
 
     public JdbcQueryExecutor(@NotNull Metamodel metamodel, @NotNull QuerySqlBuilder sqlBuilder, @NotNull ConnectionProvider connectionProvider, @NotNull ResultCollector collector) {
+        this(metamodel, sqlBuilder, connectionProvider, collector, DEFAULT_FETCH_SIZE);
+    }
+
+    public JdbcQueryExecutor(@NotNull Metamodel metamodel,
+                             @NotNull QuerySqlBuilder sqlBuilder,
+                             @NotNull ConnectionProvider connectionProvider,
+                             @NotNull ResultCollector collector,
+                             int fetchSize) {
+        this(metamodel, sqlBuilder, connectionProvider, collector, fetchSize, null);
+    }
+
+    public JdbcQueryExecutor(@NotNull Metamodel metamodel,
+                             @NotNull QuerySqlBuilder sqlBuilder,
+                             @NotNull ConnectionProvider connectionProvider,
+                             @NotNull ResultCollector collector,
+                             int fetchSize,
+                             QueryListener listener) {
         this.metamodel = metamodel;
         this.sqlBuilder = sqlBuilder;
         this.connectionProvider = connectionProvider;
         this.collector = collector;
+        this.fetchSize = fetchSize;
+        this.listener = listener;
     }
 
     @Override
     @NotNull
     public <R> List<R> getList(@NotNull QueryStructure queryStructure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, queryStructure);
+        PreparedSql sql = sqlBuilder.build(queryStructure, metamodel);
+        recorder.built(sql.sql());
+        return execute(recorder, queryStructure, sql, (resultSet, entity) -> {
+            List<R> list = collector.resolve(resultSet, entity, sql.selected(), queryStructure);
+            recorder.mapped(list.size());
+            return list;
+        });
+    }
+
+    @Override
+    public boolean supportsSlice() {
+        return sqlBuilder.supportsWithTotal() && collector.supportsWithTotal();
+    }
+
+    @Override
+    public <R> Slice<R> getSlice(QueryStructure queryStructure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, queryStructure);
+        PreparedSql sql = sqlBuilder.buildWithTotal(queryStructure, metamodel);
+        if (sql == null) {
+            return null;
+        }
+        recorder.built(sql.sql());
+        return execute(recorder, queryStructure, sql, (resultSet, entity) -> {
+            Slice<R> slice = collector.resolveWithTotal(resultSet, entity, sql.selected(), queryStructure);
+            recorder.mapped(slice == null ? 0 : slice.data().size());
+            return slice;
+        });
+    }
+
+    @Override
+    public ColumnarResult getColumns(QueryStructure queryStructure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, queryStructure);
+        PreparedSql sql = sqlBuilder.build(queryStructure, metamodel);
+        recorder.built(sql.sql());
+        return execute(recorder, queryStructure, sql, (resultSet, entity) -> {
+            ColumnarResult result = collector.resolveColumns(resultSet, entity, sql.selected(), queryStructure);
+            recorder.mapped(result.size());
+            return result;
+        });
+    }
+
+    @Override
+    public <R> Stream<R> getStream(QueryStructure queryStructure) {
+        if (!connectionProvider.canLendConnection()) {
+            if (!materializeWarned) {
+                materializeWarned = true;
+                log.warn(connectionProvider.getClass().getName()
+                         + " can not lend a connection, streamed results are read into a list first");
+            }
+            return AbstractQueryExecutor.super.getStream(queryStructure);
+        }
+        QueryRecorder recorder = QueryRecorder.start(listener, queryStructure);
         PreparedSql sql = sqlBuilder.build(queryStructure, metamodel);
+        recorder.built(sql.sql());
+        printSql(sql);
+        Connection connection;
+        try {
+            connection = connectionProvider.getConnection();
+        } catch (SQLException e) {
+            SqlExecuteException exception = new SqlExecuteException(e);
+            recorder.finish(exception);
+            throw exception;
+        }
+        recorder.connected();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            LockModeType locked = queryStructure.lockType();
+            if (locked != null && locked != LockModeType.NONE && connection.getAutoCommit()) {
+                throw new TransactionRequiredException();
+            }
+            // noinspection SqlSourceToSinkFlow
+            statement = connection.prepareStatement(sql.sql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            int size = getFetchSize(connection);
+            if (size != DEFAULT_FETCH_SIZE) {
+                statement.setFetchSize(size);
+            }
+            JdbcUtil.setParam(statement, sql.args());
+            resultSet = statement.executeQuery();
+            recorder.executed();
+            EntityType entity = metamodel.getEntity(queryStructure.from().type());
+            Iterator<R> iterator = collector.iterate(resultSet, entity, sql.selected(), queryStructure);
+            // mapping is lazy, it lasts as long as the stream is consumed
+            iterator = recorder.counting(iterator);
+            Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+            ResultSet rs = resultSet;
+            PreparedStatement st = statement;
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(() -> {
+                        recorder.mapped();
+                        recorder.finish();
+                        close(rs, st, connection);
+                    });
+        } catch (SQLException | RuntimeException e) {
+            recorder.finish(e);
+            try {
+                close(resultSet, statement, connection);
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new SqlExecuteException(e);
+        }
+    }
+
+    private int getFetchSize(Connection connection) throws SQLException {
+        if (fetchSize != DEFAULT_FETCH_SIZE) {
+            return fetchSize;
+        }
+        String driverName = connection.getMetaData().getDriverName();
+        return driverName != null && driverName.startsWith(MYSQL_DRIVER_NAME)
+                ? MYSQL_STREAMING_FETCH_SIZE
+                : DEFAULT_FETCH_SIZE;
+    }
+
+    private void close(ResultSet resultSet, Statement statement, Connection connection) {
+        SQLException exception = null;
+        for (AutoCloseable closeable : new AutoCloseable[]{resultSet, statement}) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    exception = addSuppressed(exception, e);
+                }
+            }
+        }
+        try {
+            connectionProvider.releaseConnection(connection);
+        } catch (SQLException e) {
+            exception = addSuppressed(exception, e);
+        }
+        if (exception != null) {
+            throw new SqlExecuteException(exception);
+        }
+    }
+
+    private static SQLException addSuppressed(SQLException exception, Exception e) {
+        if (exception == null) {
+            return e instanceof SQLException ? (SQLException) e : new SQLException(e);
+        }
+        exception.addSuppressed(e);
+        return exception;
+    }
+
+    private <R> R execute(QueryRecorder recorder,
+                          QueryStructure queryStructure,
+                          PreparedSql sql,
+                          ResultResolver<R> resolver) {
         printSql(sql);
         try {
-            return connectionProvider.execute(connection -> {
+            R result = connectionProvider.execute(connection -> {
+                recorder.connected();
                 LockModeType locked = queryStructure.lockType();
                 if (locked != null && locked != LockModeType.NONE && connection.getAutoCommit()) {
                     throw new TransactionRequiredException();
@@ -50,13 +248,21 @@ public class JdbcQueryExecutor implements AbstractQueryExecutor {
                 try (PreparedStatement statement = connection.prepareStatement(sql.sql())) {
                     JdbcUtil.setParam(statement, sql.args());
                     try (ResultSet resultSet = statement.executeQuery()) {
+                        recorder.executed();
                         EntityType entity = metamodel.getEntity(queryStructure.from().type());
-                        return collector.resolve(resultSet, entity, sql.selected(), queryStructure);
+                        return resolver.resolve(resultSet, entity);
                     }
                 }
             });
+            recorder.finish();
+            return result;
         } catch (SQLException e) {
-            throw new SqlExecuteException(e);
+            SqlExecuteException exception = new SqlExecuteException(e);
+            recorder.finish(exception);
+            throw exception;
+        } catch (RuntimeException e) {
+            recorder.finish(e);
+            throw e;
         }
     }
 
@@ -67,9 +273,24 @@ public class JdbcQueryExecutor implements AbstractQueryExecutor {
         }
     }
 
+    private interface ResultResolver<R> {
+        R resolve(ResultSet resultSet, EntityType entity) throws SQLException;
+    }
+
     public interface QuerySqlBuilder {
         PreparedSql build(QueryStructure structure, Metamodel metamodel);
 
+        default boolean supportsWithTotal() {
+            return false;
+        }
+
+        /**
+         * @return null if the total can not be selected along with this structure
+         */
+        default PreparedSql buildWithTotal(QueryStructure structure, Metamodel metamodel) {
+            return null;
+        }
+
     }
 
     public interface PreparedSql {
@@ -88,6 +309,43 @@ public class JdbcQueryExecutor implements AbstractQueryExecutor {
                 EntityType entityType,
                 List<? extends Attribute> selected,
                 QueryStructure structure) throws SQLException;
+
+        /**
+         * whether {@link #resolveWithTotal} reads the total column, slices are queried with a count if not
+         */
+        default boolean supportsWithTotal() {
+            return false;
+        }
+
+        /**
+         * @return null if the collector can not read the total column, the slice is then queried with a count
+         */
+        default <T> Slice<T> resolveWithTotal(
+                ResultSet resultSet,
+                EntityType entityType,
+                List<? extends Attribute> selected,
+                QueryStructure structure) throws SQLException {
+            return null;
+        }
+
+        default <T> Iterator<T> iterate(
+                ResultSet resultSet,
+                EntityType entityType,
+                List<? extends Attribute> selected,
+                QueryStructure structure) throws SQLException {
+            return this.<T>resolve(resultSet, entityType, selected, structure).iterator();
+        }
+
+        default ColumnarResult resolveColumns(
+                ResultSet resultSet,
+                EntityType entityType,
+                List<? extends Attribute> selected,
+                QueryStructure structure) throws SQLException {
+            List<Object[]> rows = resolve(resultSet, entityType, selected, structure).stream()
+                    .map(row -> row instanceof Tuple ? ((Tuple) row).toArray() : new Object[]{row})
+                    .collect(Collectors.toList());
+            return ColumnarResults.of(rows, ColumnarResults.javaTypes(structure.select()));
+        }
     }
 }
 
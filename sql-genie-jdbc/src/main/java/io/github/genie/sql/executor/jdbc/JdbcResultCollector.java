@@ -1,28 +1,38 @@
 package io.github.genie.sql.executor.jdbc;
 
 import io.github.genie.sql.api.Column;
+import io.github.genie.sql.api.ColumnarResult;
+import io.github.genie.sql.api.Expression;
 import io.github.genie.sql.api.QueryStructure;
 import io.github.genie.sql.api.Selection;
 import io.github.genie.sql.api.Selection.EntitySelected;
 import io.github.genie.sql.api.Selection.MultiSelected;
 import io.github.genie.sql.api.Selection.ProjectionSelected;
 import io.github.genie.sql.api.Selection.SingleSelected;
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.builder.ColumnarResults;
+import io.github.genie.sql.builder.Slices;
 import io.github.genie.sql.builder.Tuples;
 import io.github.genie.sql.builder.TypeCastUtil;
+import io.github.genie.sql.builder.exception.SqlExecuteException;
 import io.github.genie.sql.builder.meta.Attribute;
 import io.github.genie.sql.builder.meta.EntityType;
 import io.github.genie.sql.builder.meta.Type;
 import io.github.genie.sql.builder.reflect.InstanceConstructor;
 import io.github.genie.sql.builder.reflect.ReflectUtil;
 import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.ResultCollector;
+import io.github.genie.sql.executor.jdbc.JdbcUtil.ResultSetGetter;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
+import java.math.BigDecimal;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
 
 public class JdbcResultCollector implements ResultCollector {
     @Override
@@ -30,51 +40,203 @@ public class JdbcResultCollector implements ResultCollector {
                                EntityType entityType,
                                List<? extends Attribute> selected,
                                QueryStructure structure) throws SQLException {
-        int type = resultSet.getType();
-        List<T> result;
-        if (type != ResultSet.TYPE_FORWARD_ONLY) {
+        int columnsCount = resultSet.getMetaData().getColumnCount();
+        RowMapper mapper = getRowMapper(entityType, selected, structure, columnsCount);
+        List<T> result = newResultList(resultSet);
+        while (resultSet.next()) {
+            result.add(TypeCastUtil.unsafeCast(mapper.map(resultSet)));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supportsWithTotal() {
+        return true;
+    }
+
+    @Override
+    public <T> Slice<T> resolveWithTotal(ResultSet resultSet,
+                                         EntityType entityType,
+                                         List<? extends Attribute> selected,
+                                         QueryStructure structure) throws SQLException {
+        int columnsCount = resultSet.getMetaData().getColumnCount() - 1;
+        RowMapper mapper = getRowMapper(entityType, selected, structure, columnsCount);
+        List<T> result = newResultList(resultSet);
+        long total = 0;
+        while (resultSet.next()) {
+            if (result.isEmpty()) {
+                total = resultSet.getLong(columnsCount + 1);
+            }
+            result.add(TypeCastUtil.unsafeCast(mapper.map(resultSet)));
+        }
+        return Slices.of(result, total, unwrap(structure.offset()), unwrap(structure.limit()));
+    }
+
+    @Override
+    public <T> Iterator<T> iterate(ResultSet resultSet,
+                                   EntityType entityType,
+                                   List<? extends Attribute> selected,
+                                   QueryStructure structure) throws SQLException {
+        int columnsCount = resultSet.getMetaData().getColumnCount();
+        RowMapper mapper = getRowMapper(entityType, selected, structure, columnsCount);
+        return new Iterator<>() {
+            private Boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == null) {
+                    try {
+                        hasNext = resultSet.next();
+                    } catch (SQLException e) {
+                        throw new SqlExecuteException(e);
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                try {
+                    return TypeCastUtil.unsafeCast(mapper.map(resultSet));
+                } catch (SQLException e) {
+                    throw new SqlExecuteException(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ColumnarResult resolveColumns(ResultSet resultSet,
+                                         EntityType entityType,
+                                         List<? extends Attribute> selected,
+                                         QueryStructure structure) throws SQLException {
+        List<Class<?>> types;
+        Selection select = structure.select();
+        if (select instanceof MultiSelected multiSelected) {
+            types = multiSelected.expressions().stream()
+                    .<Class<?>>map(expression -> getColumnType(entityType, expression))
+                    .toList();
+        } else if (select instanceof SingleSelected) {
+            types = List.of(select.resultType());
+        } else {
+            throw new IllegalStateException("columnar result requires selected expressions");
+        }
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        if (types.size() != metaData.getColumnCount()) {
+            throw new IllegalStateException();
+        }
+        types = new ArrayList<>(types);
+        for (int i = 0; i < types.size(); i++) {
+            if (types.get(i) == Object.class) {
+                // aggregates and other computed expressions carry no attribute type
+                types.set(i, getColumnType(metaData, i + 1));
+            }
+        }
+        ColumnarResults.Builder builder = ColumnarResults.builder(types, getRowCount(resultSet));
+        ColumnReader[] readers = new ColumnReader[types.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = getColumnReader(builder, i, types.get(i));
+        }
+        while (resultSet.next()) {
+            int row = builder.addRow();
+            for (ColumnReader reader : readers) {
+                reader.read(resultSet, row);
+            }
+        }
+        return builder.build();
+    }
+
+    private static ColumnReader getColumnReader(ColumnarResults.Builder builder, int column, Class<?> javaType) {
+        int index = column + 1;
+        return switch (builder.columnType(column)) {
+            case INT -> (resultSet, row) -> {
+                int value = resultSet.getInt(index);
+                if (resultSet.wasNull()) {
+                    builder.setNull(column, row);
+                } else {
+                    builder.setInt(column, row, value);
+                }
+            };
+            case LONG -> (resultSet, row) -> {
+                long value = resultSet.getLong(index);
+                if (resultSet.wasNull()) {
+                    builder.setNull(column, row);
+                } else {
+                    builder.setLong(column, row, value);
+                }
+            };
+            case DOUBLE -> (resultSet, row) -> {
+                double value = resultSet.getDouble(index);
+                if (resultSet.wasNull()) {
+                    builder.setNull(column, row);
+                } else {
+                    builder.setDouble(column, row, value);
+                }
+            };
+            case BOOLEAN -> (resultSet, row) -> {
+                boolean value = resultSet.getBoolean(index);
+                if (resultSet.wasNull()) {
+                    builder.setNull(column, row);
+                } else {
+                    builder.setBoolean(column, row, value);
+                }
+            };
+            case STRING -> (resultSet, row) -> builder.setObject(column, row, resultSet.getString(index));
+            case OBJECT -> {
+                ResultSetGetter<?> getter = JdbcUtil.getGetter(javaType);
+                yield (resultSet, row) -> builder.setObject(column, row, getter.getValue(resultSet, index));
+            }
+        };
+    }
+
+    private static int unwrap(Integer value) {
+        return value == null ? -1 : value;
+    }
+
+    @NotNull
+    private static <T> List<T> newResultList(ResultSet resultSet) throws SQLException {
+        int size = getRowCount(resultSet);
+        return size < 0 ? new ArrayList<>() : new ArrayList<>(size);
+    }
+
+    private static int getRowCount(ResultSet resultSet) throws SQLException {
+        if (resultSet.getType() != ResultSet.TYPE_FORWARD_ONLY) {
             resultSet.last();
             int size = resultSet.getRow();
-            result = new ArrayList<>(size);
             resultSet.beforeFirst();
+            return size;
         } else {
-            result = new ArrayList<>();
+            return -1;
         }
-        Selection select = structure.select();
-        int columnsCount = resultSet.getMetaData().getColumnCount();
+    }
 
+    @NotNull
+    private RowMapper getRowMapper(EntityType entityType,
+                                   List<? extends Attribute> selected,
+                                   QueryStructure structure,
+                                   int columnsCount) {
+        Selection select = structure.select();
         if (select instanceof MultiSelected multiSelected) {
             if (multiSelected.expressions().size() != columnsCount) {
                 throw new IllegalStateException();
             }
-            List<Class<?>> types = multiSelected.expressions().stream()
-                    .map(expression -> {
-                        if (expression instanceof Column) {
-                            Type t = entityType;
-                            //noinspection PatternVariableCanBeUsed
-                            Column column = (Column) expression;
-                            for (String s : column) {
-                                t = ((EntityType) t).getAttribute(s);
-                            }
-                            return t.javaType();
-                        }
-                        return Object.class;
-                    })
-                    .collect(Collectors.toList());
-            while (resultSet.next()) {
-                Object[] row = getObjects(resultSet, columnsCount, types);
-                result.add(TypeCastUtil.unsafeCast(Tuples.of(row)));
-            }
+            ResultSetGetter<?>[] getters = multiSelected.expressions().stream()
+                    .map(expression -> getColumnType(entityType, expression))
+                    .map(JdbcUtil::getGetter)
+                    .toArray(ResultSetGetter<?>[]::new);
+            return resultSet -> Tuples.of(getObjects(resultSet, getters));
         } else if (select instanceof SingleSelected) {
             if (1 != columnsCount) {
                 throw new IllegalStateException();
             }
             //noinspection PatternVariableCanBeUsed
             SingleSelected sc = (SingleSelected) select;
-            while (resultSet.next()) {
-                T row = getSingleObj(resultSet, sc);
-                result.add(row);
-            }
+            ResultSetGetter<?> getter = JdbcUtil.getGetter(sc.resultType());
+            return resultSet -> getter.getValue(resultSet, 1);
         } else {
             if (selected.size() != columnsCount) {
                 throw new IllegalStateException();
@@ -88,32 +250,65 @@ public class JdbcResultCollector implements ResultCollector {
                 throw new IllegalStateException();
             }
             InstanceConstructor extractor = ReflectUtil.getRowInstanceConstructor(selected, resultType);
+            ResultSetGetter<?>[] getters = selected.stream()
+                    .map(Attribute::javaType)
+                    .map(JdbcUtil::getGetter)
+                    .toArray(ResultSetGetter<?>[]::new);
             Object[] data = new Object[columnsCount];
-            while (resultSet.next()) {
-                int i = 0;
-                for (Attribute attribute : selected) {
-                    data[i++] = JdbcUtil.getValue(resultSet, i, attribute.javaType());
+            return resultSet -> {
+                for (int i = 0; i < getters.length; i++) {
+                    data[i] = getters[i].getValue(resultSet, i + 1);
                 }
-                T row = TypeCastUtil.unsafeCast(extractor.newInstance(data));
-                result.add(row);
+                return extractor.newInstance(data);
+            };
+        }
+    }
+
+    private static Class<?> getColumnType(EntityType entityType, Expression expression) {
+        if (expression instanceof Column) {
+            Type t = entityType;
+            //noinspection PatternVariableCanBeUsed
+            Column column = (Column) expression;
+            for (String s : column) {
+                t = ((EntityType) t).getAttribute(s);
             }
+            return t.javaType();
         }
-        return result;
+        return Object.class;
     }
 
-    @Nullable
-    private <R> R getSingleObj(@NotNull ResultSet resultSet, SingleSelected selectClause) throws SQLException {
-        Object r = JdbcUtil.getValue(resultSet, 1, selectClause.resultType());
-        return TypeCastUtil.unsafeCast(r);
+    private static Class<?> getColumnType(ResultSetMetaData metaData, int column) throws SQLException {
+        return switch (metaData.getColumnType(column)) {
+            case Types.BIT, Types.BOOLEAN -> Boolean.class;
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> Integer.class;
+            case Types.BIGINT -> Long.class;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> Double.class;
+            // e.g. sum of an integer column on mysql, fractional decimals stay BigDecimal
+            case Types.DECIMAL, Types.NUMERIC -> metaData.getScale(column) == 0 && metaData.getPrecision(column) <= 18
+                    ? Long.class
+                    : BigDecimal.class;
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR ->
+                    String.class;
+            default -> Object.class;
+        };
     }
 
-    private Object[] getObjects(@NotNull ResultSet resultSet, int columnsCount, List<Class<?>> types) throws SQLException {
-        int column = 0;
-        Object[] row = new Object[columnsCount];
-        for (Class<?> expression : types) {
-            row[column++] = JdbcUtil.getValue(resultSet, column, expression);
+    private static Object[] getObjects(@NotNull ResultSet resultSet, ResultSetGetter<?>[] getters) throws SQLException {
+        Object[] row = new Object[getters.length];
+        for (int i = 0; i < getters.length; i++) {
+            row[i] = getters[i].getValue(resultSet, i + 1);
         }
         return row;
     }
 
+    @FunctionalInterface
+    private interface RowMapper {
+        Object map(ResultSet resultSet) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        void read(ResultSet resultSet, int row) throws SQLException;
+    }
+
 }
@@ -1,8 +1,16 @@
 package io.github.genie.sql.executor.jdbc;
 
-import io.github.genie.sql.api.Lists;
+import io.github.genie.sql.api.BulkDelete;
+import io.github.genie.sql.api.BulkUpdate;
+import io.github.genie.sql.api.DeleteStructure;
 import io.github.genie.sql.api.Update;
+import io.github.genie.sql.api.UpdateStructure;
 import io.github.genie.sql.api.Updater;
+import io.github.genie.sql.builder.BulkDeleteImpl;
+import io.github.genie.sql.builder.BulkUpdateExecutor;
+import io.github.genie.sql.builder.BulkUpdateImpl;
+import io.github.genie.sql.builder.QueryListener;
+import io.github.genie.sql.builder.QueryRecorder;
 import io.github.genie.sql.builder.UpdaterImpl;
 import io.github.genie.sql.builder.exception.OptimisticLockException;
 import io.github.genie.sql.builder.exception.SqlExecuteException;
@@ -12,7 +20,9 @@ import io.github.genie.sql.builder.meta.BasicAttribute;
 import io.github.genie.sql.builder.meta.EntityType;
 import io.github.genie.sql.builder.meta.Metamodel;
 import io.github.genie.sql.executor.jdbc.ConnectionProvider.ConnectionCallback;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateSqlBuilder.PreparedBulkSql;
 import io.github.genie.sql.executor.jdbc.JdbcUpdateSqlBuilder.PreparedSql;
+import io.github.genie.sql.executor.jdbc.JdbcUtil.ParameterSetter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
@@ -22,52 +32,85 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @SuppressWarnings("PatternVariableCanBeUsed")
 @Slf4j
-public class JdbcUpdate implements Update {
+public class JdbcUpdate implements Update, BulkUpdateExecutor {
 
     private final JdbcUpdateSqlBuilder sqlBuilder;
     private final ConnectionProvider connectionProvider;
     private final Metamodel metamodel;
+    private final JdbcUpdateOptions options;
+    private final QueryListener listener;
 
     public JdbcUpdate(JdbcUpdateSqlBuilder sqlBuilder,
                       ConnectionProvider connectionProvider,
                       Metamodel metamodel) {
+        this(sqlBuilder, connectionProvider, metamodel, new JdbcUpdateOptions());
+    }
+
+    public JdbcUpdate(JdbcUpdateSqlBuilder sqlBuilder,
+                      ConnectionProvider connectionProvider,
+                      Metamodel metamodel,
+                      JdbcUpdateOptions options) {
+        this(sqlBuilder, connectionProvider, metamodel, options, null);
+    }
+
+    public JdbcUpdate(JdbcUpdateSqlBuilder sqlBuilder,
+                      ConnectionProvider connectionProvider,
+                      Metamodel metamodel,
+                      JdbcUpdateOptions options,
+                      QueryListener listener) {
+        if (options.insertRowsPerStatement() > 1 && !sqlBuilder.supportsMultiRowInsert()) {
+            throw new IllegalArgumentException(sqlBuilder.getClass().getName() + " does not support multi-row insert, "
+                                               + "insertRowsPerStatement must be 1");
+        }
         this.sqlBuilder = sqlBuilder;
         this.connectionProvider = connectionProvider;
         this.metamodel = metamodel;
+        this.options = options;
+        this.listener = listener;
     }
 
     @Override
     public <T> List<T> insert(List<T> entities, Class<T> entityType) {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
         EntityType entity = metamodel.getEntity(entityType);
         PreparedSql sql = sqlBuilder.buildInsert(entity);
-        return execute(connection -> doInsert(entities, entity, connection, sql));
+        recorder.built(sql.sql());
+        if (options.insertRowsPerStatement() > 1 && entities.size() > 1) {
+            return execute(recorder, connection -> doMultiRowInsert(recorder, entities, entity, connection, sql));
+        }
+        return execute(recorder, connection -> doInsert(recorder, entities, entity, connection, sql));
     }
 
     @Override
     public <T> List<T> update(List<T> entities, Class<T> entityType) {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
         PreparedSql preparedSql = sqlBuilder.buildUpdate(metamodel.getEntity(entityType));
-        execute(connection -> {
+        recorder.built(preparedSql.sql());
+        execute(recorder, connection -> {
             String sql = preparedSql.sql();
             log.debug(sql);
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                setArgs(entities, preparedSql.columns(), statement);
-                int[] updateRowCounts = statement.executeBatch();
                 List<BasicAttribute> bindAttributes = preparedSql.versionColumns();
                 boolean hasVersion = isNotEmpty(bindAttributes);
-                for (int rowCount : updateRowCounts) {
-                    if (rowCount != 1) {
-                        if (hasVersion) {
-                            throw new OptimisticLockException("id not found or concurrent modified");
-                        } else {
-                            throw new IllegalStateException("id not found");
+                executeBatch(recorder, entities, preparedSql.columns(), statement, (batch, updateRowCounts) -> {
+                    for (int rowCount : updateRowCounts) {
+                        if (rowCount != 1) {
+                            if (hasVersion) {
+                                throw new OptimisticLockException("id not found or concurrent modified");
+                            } else {
+                                throw new IllegalStateException("id not found");
+                            }
                         }
                     }
-                }
+                });
                 if (hasVersion) {
                     for (T entity : entities) {
                         setNewVersion(entity, preparedSql.versionColumns());
@@ -81,27 +124,84 @@ public class JdbcUpdate implements Update {
 
     @Override
     public <T> void delete(Iterable<T> entities, Class<T> entityType) {
-        PreparedSql preparedSql = sqlBuilder.buildDelete(metamodel.getEntity(entityType));
-        execute(connection -> {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
+        EntityType entity = metamodel.getEntity(entityType);
+        if (options.deleteChunkSize() > 1 && entity.version() == null && sqlBuilder.supportsDeleteByIds()) {
+            execute(recorder, connection -> doDeleteByIds(recorder, entities, entity, connection));
+            return;
+        }
+        PreparedSql preparedSql = sqlBuilder.buildDelete(entity);
+        recorder.built(preparedSql.sql());
+        execute(recorder, connection -> {
             String sql = preparedSql.sql();
             log.debug(sql);
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                setArgs(entities, preparedSql.columns(), statement);
-                int[] result = statement.executeBatch();
-                if (log.isDebugEnabled()) {
-                    log.debug("executeBatch result: " + Arrays.toString(result));
-                }
+                executeBatch(recorder, entities, preparedSql.columns(), statement, (batch, result) -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("executeBatch result: " + Arrays.toString(result));
+                    }
+                });
                 return null;
             }
         });
     }
 
+    private <T> Void doDeleteByIds(QueryRecorder recorder,
+                                   Iterable<T> entities,
+                                   EntityType entityType,
+                                   Connection connection)
+            throws SQLException {
+        int chunkSize = Math.min(options.deleteChunkSize(), JdbcUpdateOptions.MAX_PLACEHOLDERS);
+        Attribute id = entityType.id();
+        ParameterSetter setter = JdbcUtil.getSetter(id.javaType());
+        Map<Integer, PreparedSql> statements = new HashMap<>();
+        List<Object> ids = new ArrayList<>(Math.min(chunkSize, 1024));
+        Iterator<T> iterator = entities.iterator();
+        boolean first = true;
+        while (iterator.hasNext()) {
+            ids.clear();
+            while (iterator.hasNext() && ids.size() < chunkSize) {
+                ids.add(id.get(iterator.next()));
+            }
+            int size = bucketSize(ids.size(), chunkSize);
+            PreparedSql preparedSql = statements.computeIfAbsent(size, k -> sqlBuilder.buildDelete(entityType, k));
+            if (first) {
+                // later shapes are built while executing, the event keeps the first one
+                recorder.built(preparedSql.sql());
+                first = false;
+            }
+            String sql = preparedSql.sql();
+            log.debug(sql);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < size; i++) {
+                    // pad with the last id, the statement text stays one of a few cacheable shapes
+                    setter.setValue(statement, i + 1, ids.get(Math.min(i, ids.size() - 1)));
+                }
+                int rows = statement.executeUpdate();
+                recorder.addRows(rows);
+                if (log.isDebugEnabled()) {
+                    log.debug("deleted rows: " + rows);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int bucketSize(int size, int chunkSize) {
+        int bucket = Integer.highestOneBit(size);
+        if (bucket < size) {
+            bucket <<= 1;
+        }
+        return Math.min(bucket, chunkSize);
+    }
+
     private static boolean isNotEmpty(List<?> list) {
         return list != null && !list.isEmpty();
     }
 
     @Override
     public <T> T updateNonNullColumn(T entity, Class<T> entityType) {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
         EntityType meta = metamodel.getEntity(entityType);
 
         List<BasicAttribute> nonNullColumn;
@@ -111,17 +211,19 @@ public class JdbcUpdate implements Update {
             return entity;
         }
         PreparedSql preparedSql = sqlBuilder.buildUpdate(meta, nonNullColumn);
+        recorder.built(preparedSql.sql());
         Attribute version = meta.version();
         Object versionValue = version.get(entity);
         if (versionValue == null) {
             throw new IllegalArgumentException("version field must not be null");
         }
-        return execute(connection -> {
+        return execute(recorder, connection -> {
             String sql = preparedSql.sql();
             log.debug(sql);
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                setArgs(Lists.of(entity), preparedSql.columns(), statement);
+                setArgs(entity, JdbcUtil.getSetters(preparedSql.columns()), preparedSql.columns(), statement);
                 int i = statement.executeUpdate();
+                recorder.addRows(i);
                 List<BasicAttribute> versions = preparedSql.versionColumns();
                 boolean hasVersion = isNotEmpty(versions);
                 if (i == 0) {
@@ -141,11 +243,133 @@ public class JdbcUpdate implements Update {
         });
     }
 
+    /**
+     * ids are expected to be assigned, generated keys are not read back. the stored versions are locked and compared
+     * before the upsert runs, row counts differ between found and affected rows and may be
+     * {@link Statement#SUCCESS_NO_INFO} in rewritten batches, so they can not tell a conflict from an insert
+     */
+    @Override
+    public <T> List<T> upsert(List<T> entities, Class<T> entityType) {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
+        EntityType meta = metamodel.getEntity(entityType);
+        PreparedSql preparedSql = sqlBuilder.buildUpsert(meta);
+        recorder.built(preparedSql.sql());
+        List<BasicAttribute> versions = preparedSql.versionColumns();
+        boolean hasVersion = isNotEmpty(versions);
+        List<T> updated = new ArrayList<>();
+        execute(recorder, connection -> {
+            if (hasVersion) {
+                updated.addAll(lockVersions(entities, meta, connection));
+            }
+            String sql = preparedSql.sql();
+            log.debug(sql);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                executeBatch(recorder, entities, preparedSql.columns(), statement, (batch, result) -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("executeBatch result: " + Arrays.toString(result));
+                    }
+                });
+                return null;
+            }
+        });
+        // versions move only once every batch went through, like update
+        for (T entity : updated) {
+            setNewVersion(entity, versions);
+        }
+        return entities;
+    }
+
+    /**
+     * locks the stored rows of the entities, fails if a stored version differs from the entity's
+     *
+     * @return the entities whose row already exists
+     */
+    private <T> List<T> lockVersions(List<T> entities, EntityType entityType, Connection connection)
+            throws SQLException {
+        int chunkSize = Math.min(Math.max(options.batchSize(), 1), JdbcUpdateOptions.MAX_PLACEHOLDERS);
+        Attribute id = entityType.id();
+        Attribute version = entityType.version();
+        ParameterSetter setter = JdbcUtil.getSetter(id.javaType());
+        Map<Integer, PreparedSql> statements = new HashMap<>();
+        Map<Object, T> chunk = new HashMap<>();
+        List<T> existing = new ArrayList<>();
+        Iterator<T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            chunk.clear();
+            while (iterator.hasNext() && chunk.size() < chunkSize) {
+                T entity = iterator.next();
+                chunk.put(id.get(entity), entity);
+            }
+            List<Object> ids = new ArrayList<>(chunk.keySet());
+            int size = bucketSize(ids.size(), chunkSize);
+            String sql = statements.computeIfAbsent(size, k -> sqlBuilder.buildLockVersions(entityType, k)).sql();
+            log.debug(sql);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < size; i++) {
+                    setter.setValue(statement, i + 1, ids.get(Math.min(i, ids.size() - 1)));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        T entity = chunk.get(JdbcUtil.getValue(resultSet, 1, id.javaType()));
+                        if (entity == null) {
+                            continue;
+                        }
+                        Object stored = JdbcUtil.getValue(resultSet, 2, version.javaType());
+                        if (!Objects.equals(stored, version.get(entity))) {
+                            throw new OptimisticLockException("concurrent modified");
+                        }
+                        existing.add(entity);
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
     @Override
     public <T> Updater<T> getUpdater(Class<T> type) {
         return new UpdaterImpl<>(this, type);
     }
 
+    @Override
+    public <T> BulkUpdate<T> update(Class<T> entityType) {
+        return new BulkUpdateImpl<>(this, entityType);
+    }
+
+    @Override
+    public <T> BulkDelete<T> delete(Class<T> entityType) {
+        return new BulkDeleteImpl<>(this, entityType);
+    }
+
+    @Override
+    public int executeUpdate(UpdateStructure structure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
+        return executeBulk(recorder, sqlBuilder.buildUpdate(structure, metamodel));
+    }
+
+    @Override
+    public int executeDelete(DeleteStructure structure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, null);
+        return executeBulk(recorder, sqlBuilder.buildDelete(structure, metamodel));
+    }
+
+    private int executeBulk(QueryRecorder recorder, PreparedBulkSql preparedSql) {
+        recorder.built(preparedSql.sql());
+        return execute(recorder, connection -> {
+            String sql = preparedSql.sql();
+            log.debug(sql);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                JdbcUtil.setParam(statement, preparedSql.args());
+                int rows = statement.executeUpdate();
+                recorder.addRows(rows);
+                if (log.isDebugEnabled()) {
+                    log.debug("affected rows: " + rows);
+                }
+                return rows;
+            }
+        });
+    }
+
     private static void setNewVersion(Object entity, List<BasicAttribute> versions) {
         for (BasicAttribute column : versions) {
             Object version = column.get(entity);
@@ -174,7 +398,8 @@ public class JdbcUpdate implements Update {
         return columns;
     }
 
-    private <T> List<T> doInsert(List<T> entities,
+    private <T> List<T> doInsert(QueryRecorder recorder,
+                                 List<T> entities,
                                  EntityType entityType,
                                  Connection connection,
                                  PreparedSql preparedSql)
@@ -183,48 +408,155 @@ public class JdbcUpdate implements Update {
         log.debug(sql);
         try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             List<BasicAttribute> columns = preparedSql.columns();
-            setArgs(entities, columns, statement);
-            statement.executeBatch();
-            try (ResultSet keys = statement.getGeneratedKeys()) {
-                Iterator<T> iterator = entities.iterator();
-                while (keys.next()) {
-                    T entity = iterator.next();
-                    Attribute idField = entityType.id();
-                    Object key = JdbcUtil.getValue(keys, 1, idField.javaType());
-                    idField.set(entity, key);
+            executeBatch(recorder, entities, columns, statement,
+                    (batch, rowCounts) -> setGeneratedKeys(statement, batch, entityType));
+        }
+        return entities;
+    }
+
+    private <T> List<T> doMultiRowInsert(QueryRecorder recorder,
+                                         List<T> entities,
+                                         EntityType entityType,
+                                         Connection connection,
+                                         PreparedSql singleRow)
+            throws SQLException {
+        List<BasicAttribute> columns = singleRow.columns();
+        ParameterSetter[] setters = JdbcUtil.getSetters(columns);
+        int maxRows = Math.min(options.insertRowsPerStatement(),
+                JdbcUpdateOptions.MAX_PLACEHOLDERS / Math.max(columns.size(), 1));
+        Map<Integer, PreparedSql> statements = new HashMap<>();
+        statements.put(1, singleRow);
+        List<Object[]> rows = new ArrayList<>(Math.min(maxRows, entities.size()));
+        int offset = 0;
+        while (offset < entities.size()) {
+            rows.clear();
+            long size = singleRow.sql().length();
+            for (int i = offset; i < entities.size() && rows.size() < maxRows; i++) {
+                Object[] row = new Object[columns.size()];
+                long rowSize = 2;
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = columns.get(j).get(entities.get(i));
+                    rowSize += estimateSize(row[j]) + 1;
+                }
+                if (!rows.isEmpty() && size + rowSize > options.maxPacketSize()) {
+                    break;
+                }
+                size += rowSize;
+                rows.add(row);
+            }
+            PreparedSql preparedSql = statements
+                    .computeIfAbsent(rows.size(), count -> sqlBuilder.buildInsert(entityType, count));
+            String sql = preparedSql.sql();
+            log.debug(sql);
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int index = 0;
+                for (Object[] row : rows) {
+                    for (int j = 0; j < row.length; j++) {
+                        setters[j].setValue(statement, ++index, row[j]);
+                    }
                 }
+                recorder.addRows(statement.executeUpdate());
+                setGeneratedKeys(statement, entities.subList(offset, offset + rows.size()), entityType);
             }
+            offset += rows.size();
         }
         return entities;
     }
 
-    private static <T> void setArgs(Iterable<T> entities,
-                                    List<BasicAttribute> columns,
-                                    PreparedStatement statement)
+    private static <T> void setGeneratedKeys(PreparedStatement statement, List<T> entities, EntityType entityType)
             throws SQLException {
-        for (T entity : entities) {
-            int i = 0;
-            for (BasicAttribute column : columns) {
-                Object v = column.get(entity);
-                if (v instanceof Enum<?>) {
-                    v = ((Enum<?>) v).ordinal();
-                }
-                statement.setObject(++i, v);
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            Iterator<T> iterator = entities.iterator();
+            Attribute idField = entityType.id();
+            while (keys.next() && iterator.hasNext()) {
+                Object key = JdbcUtil.getValue(keys, 1, idField.javaType());
+                idField.set(iterator.next(), key);
             }
+        }
+    }
+
+    private static int estimateSize(Object value) {
+        if (value instanceof CharSequence) {
+            // utf8mb4 and escaping, on the safe side
+            return ((CharSequence) value).length() * 4 + 2;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length * 2 + 3;
+        } else if (value == null) {
+            return 4;
+        }
+        return 32;
+    }
+
+    /**
+     * binds the entities lazily and flushes the batch every {@link JdbcUpdateOptions#batchSize()} rows
+     */
+    private <T> void executeBatch(QueryRecorder recorder,
+                                  Iterable<T> entities,
+                                  List<BasicAttribute> columns,
+                                  PreparedStatement statement,
+                                  BatchCallback<T> callback)
+            throws SQLException {
+        ParameterSetter[] setters = JdbcUtil.getSetters(columns);
+        int batchSize = Math.max(options.batchSize(), 1);
+        List<T> batch = new ArrayList<>(Math.min(batchSize, 1024));
+        for (T entity : entities) {
+            setArgs(entity, setters, columns, statement);
             statement.addBatch();
+            batch.add(entity);
+            if (batch.size() == batchSize) {
+                flush(recorder, statement, batch, callback);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(recorder, statement, batch, callback);
+        }
+    }
+
+    private static <T> void flush(QueryRecorder recorder,
+                                  PreparedStatement statement,
+                                  List<T> batch,
+                                  BatchCallback<T> callback)
+            throws SQLException {
+        int[] rowCounts = statement.executeBatch();
+        recorder.addRows(rowCounts);
+        callback.flushed(batch, rowCounts);
+    }
+
+    private static void setArgs(Object entity,
+                                ParameterSetter[] setters,
+                                List<BasicAttribute> columns,
+                                PreparedStatement statement)
+            throws SQLException {
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].setValue(statement, i + 1, columns.get(i).get(entity));
         }
     }
 
-    private <T> T execute(ConnectionCallback<T> action) {
+    @FunctionalInterface
+    private interface BatchCallback<T> {
+        void flushed(List<T> batch, int[] rowCounts) throws SQLException;
+    }
+
+    private <T> T execute(QueryRecorder recorder, ConnectionCallback<T> action) {
         try {
-            return connectionProvider.execute(connection -> {
+            T result = connectionProvider.execute(connection -> {
+                recorder.connected();
                 if (connection.getAutoCommit()) {
                     throw new TransactionRequiredException();
                 }
                 return action.doInConnection(connection);
             });
+            recorder.executed();
+            recorder.finish();
+            return result;
         } catch (SQLException e) {
-            throw new SqlExecuteException(e);
+            SqlExecuteException exception = new SqlExecuteException(e);
+            recorder.finish(exception);
+            throw exception;
+        } catch (RuntimeException e) {
+            recorder.finish(e);
+            throw e;
         }
     }
 
@@ -0,0 +1,38 @@
+package io.github.genie.sql.executor.jdbc;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(fluent = true, chain = true)
+public class JdbcUpdateOptions {
+
+    /**
+     * mysql caps a prepared statement at 65535 placeholders
+     */
+    public static final int MAX_PLACEHOLDERS = 65535;
+
+    /**
+     * rows rendered into one multi-row {@code insert ... values (...),(...)},
+     * 1 keeps one row per statement and relies on jdbc batching. above 1 requires
+     * {@link JdbcUpdateSqlBuilder#supportsMultiRowInsert()}
+     */
+    private int insertRowsPerStatement = 1;
+
+    /**
+     * upper bound in bytes of one multi-row insert, keep it below the server's max_allowed_packet
+     */
+    private int maxPacketSize = 4 * 1024 * 1024;
+
+    /**
+     * rows bound into one jdbc batch before it is executed
+     */
+    private int batchSize = 1000;
+
+    /**
+     * ids per {@code delete ... where id in (...)} for entities without a version column,
+     * 1 deletes row by row in jdbc batches, as do sql builders without {@link JdbcUpdateSqlBuilder#supportsDeleteByIds()}
+     */
+    private int deleteChunkSize = 1000;
+
+}
@@ -1,8 +1,11 @@
 package io.github.genie.sql.executor.jdbc;
 
+import io.github.genie.sql.api.DeleteStructure;
+import io.github.genie.sql.api.UpdateStructure;
 import io.github.genie.sql.builder.meta.Attribute;
 import io.github.genie.sql.builder.meta.BasicAttribute;
 import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.builder.meta.Metamodel;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -12,6 +15,24 @@ public interface JdbcUpdateSqlBuilder {
 
     PreparedSql buildInsert(@NotNull EntityType entityType);
 
+    /**
+     * whether {@link #buildInsert(EntityType, int)} renders more than one row,
+     * {@link JdbcUpdateOptions#insertRowsPerStatement()} above 1 is rejected if not
+     */
+    default boolean supportsMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * insert of {@code rows} rows in one statement, {@link PreparedSql#columns()} holds the columns of one row
+     */
+    default PreparedSql buildInsert(@NotNull EntityType entityType, int rows) {
+        if (rows == 1) {
+            return buildInsert(entityType);
+        }
+        throw new UnsupportedOperationException("multi-row insert");
+    }
+
     default PreparedSql buildUpdate(@NotNull EntityType entityType) {
         Attribute id = entityType.id();
         List<BasicAttribute> basicAttributes = entityType.attributes().stream()
@@ -25,6 +46,59 @@ public interface JdbcUpdateSqlBuilder {
 
     PreparedSql buildDelete(EntityType entity);
 
+    /**
+     * whether {@link #buildDelete(EntityType, int)} renders more than one id, deletes go row by row if not
+     */
+    default boolean supportsDeleteByIds() {
+        return false;
+    }
+
+    /**
+     * {@code delete ... where id in (?,...)} with {@code size} placeholders, {@link PreparedSql#columns()} holds the id
+     */
+    default PreparedSql buildDelete(EntityType entity, int size) {
+        if (size == 1) {
+            return buildDelete(entity);
+        }
+        throw new UnsupportedOperationException("delete by id list");
+    }
+
+    /**
+     * insert that updates the existing row on an id conflict, {@link PreparedSql#versionColumns()} holds the
+     * versions, which are only bumped when the bound version matches the stored one
+     */
+    default PreparedSql buildUpsert(@NotNull EntityType entityType) {
+        throw new UnsupportedOperationException("upsert");
+    }
+
+    /**
+     * {@code select id, version ... where id in (?,...) for update} with {@code size} placeholders,
+     * {@link PreparedSql#columns()} holds the id and {@link PreparedSql#versionColumns()} the version
+     */
+    default PreparedSql buildLockVersions(@NotNull EntityType entityType, int size) {
+        throw new UnsupportedOperationException("lock versions");
+    }
+
+    /**
+     * {@code update ... set ... where ...} rendered from the criteria, the arguments are bound in order
+     */
+    default PreparedBulkSql buildUpdate(@NotNull UpdateStructure structure, @NotNull Metamodel metamodel) {
+        throw new UnsupportedOperationException("bulk update");
+    }
+
+    /**
+     * {@code delete ... where ...} rendered from the criteria, the arguments are bound in order
+     */
+    default PreparedBulkSql buildDelete(@NotNull DeleteStructure structure, @NotNull Metamodel metamodel) {
+        throw new UnsupportedOperationException("bulk delete");
+    }
+
+    interface PreparedBulkSql {
+        String sql();
+
+        List<?> args();
+    }
+
     interface PreparedSql {
         String sql();
 
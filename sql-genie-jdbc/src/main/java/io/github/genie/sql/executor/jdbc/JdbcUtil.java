@@ -1,11 +1,8 @@
 package io.github.genie.sql.executor.jdbc;
 
 import io.github.genie.sql.builder.TypeCastUtil;
-import lombok.Lombok;
+import io.github.genie.sql.builder.meta.Attribute;
 
-import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -14,6 +11,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -26,34 +24,70 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class JdbcUtil {
 
-    private static final Map<Class<?>, Object> SINGLE_ENUM_MAP = new ConcurrentHashMap<>();
     private static final Map<Class<?>, ResultSetGetter<?>> GETTER_MAPS = new HashMap<>();
+    private static final Map<Class<?>, ResultSetGetter<?>> ENUM_GETTERS = new ConcurrentHashMap<>();
+    private static final ResultSetGetter<Object> GET_OBJECT = ResultSet::getObject;
+    private static final Map<Class<?>, ParameterSetter> SETTER_MAPS = new HashMap<>();
+    private static final ParameterSetter SET_OBJECT = PreparedStatement::setObject;
+    private static final ParameterSetter SET_ENUM = nullable(Types.INTEGER,
+            (statement, index, value) -> statement.setInt(index, ((Enum<?>) value).ordinal()));
 
     static {
 
-        put(Byte.class, ResultSet::getByte);
-        put(byte.class, ResultSet::getByte);
-        put(Short.class, ResultSet::getShort);
-        put(short.class, ResultSet::getShort);
-        put(Integer.class, ResultSet::getInt);
-        put(int.class, ResultSet::getInt);
-        put(Float.class, ResultSet::getFloat);
-        put(float.class, ResultSet::getFloat);
-        put(Long.class, ResultSet::getLong);
-        put(long.class, ResultSet::getLong);
-        put(Double.class, ResultSet::getDouble);
+        ResultSetGetter<Byte> getByte = (resultSet, index) -> {
+            byte value = resultSet.getByte(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        };
+        put(Byte.class, getByte);
+        put(byte.class, getByte);
+        ResultSetGetter<Short> getShort = (resultSet, index) -> {
+            short value = resultSet.getShort(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        };
+        put(Short.class, getShort);
+        put(short.class, getShort);
+        ResultSetGetter<Integer> getInt = (resultSet, index) -> {
+            int value = resultSet.getInt(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        };
+        put(Integer.class, getInt);
+        put(int.class, getInt);
+        ResultSetGetter<Float> getFloat = (resultSet, index) -> {
+            float value = resultSet.getFloat(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        };
+        put(Float.class, getFloat);
+        put(float.class, getFloat);
+        ResultSetGetter<Long> getLong = (resultSet, index) -> {
+            long value = resultSet.getLong(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        };
+        put(Long.class, getLong);
+        put(long.class, getLong);
+        ResultSetGetter<Double> getDouble = (resultSet, index) -> {
+            double value = resultSet.getDouble(index);
+            return value == 0 && resultSet.wasNull() ? null : value;
+        };
+        put(Double.class, getDouble);
+        put(double.class, getDouble);
         ResultSetGetter<Character> getChar = (resultSet, index) -> {
             String string = resultSet.getString(index);
-            if (string == null || string.length() != 1) {
+            if (string == null) {
+                return null;
+            }
+            if (string.length() != 1) {
                 throw new IllegalStateException(string + " is not a character");
             }
             return string.charAt(0);
         };
         put(char.class, getChar);
         put(Character.class, getChar);
-        put(double.class, ResultSet::getDouble);
-        put(Boolean.class, ResultSet::getBoolean);
-        put(boolean.class, ResultSet::getBoolean);
+        ResultSetGetter<Boolean> getBoolean = (resultSet, index) -> {
+            boolean value = resultSet.getBoolean(index);
+            return !value && resultSet.wasNull() ? null : value;
+        };
+        put(Boolean.class, getBoolean);
+        put(boolean.class, getBoolean);
         put(BigDecimal.class, ResultSet::getBigDecimal);
         put(Date.class, ResultSet::getTimestamp);
         put(String.class, ResultSet::getString);
@@ -68,58 +102,154 @@ public abstract class JdbcUtil {
         put(Timestamp.class, ResultSet::getTimestamp);
         put(Instant.class, (resultSet, columnIndex) -> {
             Timestamp timestamp = resultSet.getTimestamp(columnIndex);
-            return timestamp.toInstant();
+            return timestamp == null ? null : timestamp.toInstant();
         });
-        put(LocalDate.class, (resultSet, columnIndex) -> resultSet.getDate(columnIndex).toLocalDate());
-        put(LocalDateTime.class, (resultSet, columnIndex) -> resultSet.getTimestamp(columnIndex).toLocalDateTime());
-        put(LocalTime.class, (resultSet, columnIndex) -> resultSet.getTime(columnIndex).toLocalTime());
+        put(LocalDate.class, (resultSet, columnIndex) -> {
+            java.sql.Date date = resultSet.getDate(columnIndex);
+            return date == null ? null : date.toLocalDate();
+        });
+        put(LocalDateTime.class, (resultSet, columnIndex) -> {
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            return timestamp == null ? null : timestamp.toLocalDateTime();
+        });
+        put(LocalTime.class, (resultSet, columnIndex) -> {
+            Time time = resultSet.getTime(columnIndex);
+            return time == null ? null : time.toLocalTime();
+        });
+
+        setter(Types.TINYINT, (statement, index, value) -> statement.setByte(index, (Byte) value),
+                Byte.class, byte.class);
+        setter(Types.SMALLINT, (statement, index, value) -> statement.setShort(index, (Short) value),
+                Short.class, short.class);
+        setter(Types.INTEGER, (statement, index, value) -> statement.setInt(index, (Integer) value),
+                Integer.class, int.class);
+        setter(Types.BIGINT, (statement, index, value) -> statement.setLong(index, (Long) value),
+                Long.class, long.class);
+        setter(Types.REAL, (statement, index, value) -> statement.setFloat(index, (Float) value),
+                Float.class, float.class);
+        setter(Types.DOUBLE, (statement, index, value) -> statement.setDouble(index, (Double) value),
+                Double.class, double.class);
+        setter(Types.BOOLEAN, (statement, index, value) -> statement.setBoolean(index, (Boolean) value),
+                Boolean.class, boolean.class);
+        setter(Types.CHAR, (statement, index, value) -> statement.setString(index, value.toString()),
+                Character.class, char.class);
+        setter(Types.VARCHAR, (statement, index, value) -> statement.setString(index, (String) value),
+                String.class);
+        setter(Types.DECIMAL, (statement, index, value) -> statement.setBigDecimal(index, (BigDecimal) value),
+                BigDecimal.class);
+        setter(Types.VARBINARY, (statement, index, value) -> statement.setBytes(index, (byte[]) value),
+                byte[].class);
+        setter(Types.TIMESTAMP, (statement, index, value) -> statement.setTimestamp(index, (Timestamp) value),
+                Timestamp.class);
+        setter(Types.TIMESTAMP, (statement, index, value) -> {
+            if (value instanceof Timestamp) {
+                statement.setTimestamp(index, (Timestamp) value);
+            } else {
+                statement.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+            }
+        }, Date.class);
+        setter(Types.TIMESTAMP, (statement, index, value) -> statement.setTimestamp(index, Timestamp.from((Instant) value)),
+                Instant.class);
+        setter(Types.DATE, (statement, index, value) -> statement.setDate(index, (java.sql.Date) value),
+                java.sql.Date.class);
+        setter(Types.TIME, (statement, index, value) -> statement.setTime(index, (Time) value),
+                Time.class);
+        // java.time values go through the jdbc 4.2 typed setObject, which keeps the driver's zone handling
+        setter(Types.DATE, (statement, index, value) -> statement.setObject(index, value, Types.DATE),
+                LocalDate.class);
+        setter(Types.TIMESTAMP, (statement, index, value) -> statement.setObject(index, value, Types.TIMESTAMP),
+                LocalDateTime.class);
+        setter(Types.TIME, (statement, index, value) -> statement.setObject(index, value, Types.TIME),
+                LocalTime.class);
 
     }
 
     public static <X> X getValue(ResultSet resultSet, int column, Class<X> targetType) throws SQLException {
-        Object result = resultSet.getObject(column);
-        if (result == null) {
-            return null;
-        }
-        if (targetType != result.getClass()) {
-            ResultSetGetter<?> getter = GETTER_MAPS.get(targetType);
-            if (getter == null) {
-                if (Enum.class.isAssignableFrom(targetType)) {
-                    result = getEnum(targetType, resultSet.getInt(column));
-                }
+        return getGetter(targetType).getValue(resultSet, column);
+    }
+
+    /**
+     * resolves the typed reader of a column once, so rows are read without a
+     * getObject round trip and a per cell type lookup
+     */
+    static <X> ResultSetGetter<X> getGetter(Class<X> targetType) {
+        ResultSetGetter<?> getter = GETTER_MAPS.get(targetType);
+        if (getter == null) {
+            if (targetType.isEnum()) {
+                getter = ENUM_GETTERS.computeIfAbsent(targetType, JdbcUtil::newEnumGetter);
             } else {
-                result = getter.getValue(resultSet, column);
+                getter = GET_OBJECT;
             }
         }
-        return TypeCastUtil.unsafeCast(result);
+        return TypeCastUtil.unsafeCast(getter);
     }
 
     public static void setParam(PreparedStatement pst, List<?> args) throws SQLException {
         int i = 0;
         for (Object arg : args) {
-            if (arg instanceof Enum) {
-                arg = ((Enum<?>) arg).ordinal();
+            ++i;
+            if (arg == null) {
+                pst.setObject(i, null);
+            } else {
+                getSetter(arg.getClass()).setValue(pst, i, arg);
             }
-            pst.setObject(++i, arg);
         }
     }
 
-    private static Object getEnum(Class<?> cls, int index) {
-        Object array = SINGLE_ENUM_MAP.computeIfAbsent(cls, k -> {
-            try {
-                Method method = cls.getMethod("values");
-                return method.invoke(null);
-            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                throw Lombok.sneakyThrow(e);
+    /**
+     * resolves the typed binder of a parameter once, values are bound without
+     * an enum check and without the driver inferring the sql type
+     */
+    static ParameterSetter getSetter(Class<?> type) {
+        ParameterSetter setter = SETTER_MAPS.get(type);
+        if (setter != null) {
+            return setter;
+        }
+        return Enum.class.isAssignableFrom(type) ? SET_ENUM : SET_OBJECT;
+    }
+
+    static ParameterSetter[] getSetters(List<? extends Attribute> attributes) {
+        ParameterSetter[] setters = new ParameterSetter[attributes.size()];
+        for (int i = 0; i < setters.length; i++) {
+            setters[i] = getSetter(attributes.get(i).javaType());
+        }
+        return setters;
+    }
+
+    private static void setter(int sqlType, ParameterSetter setter, Class<?>... types) {
+        ParameterSetter nullable = nullable(sqlType, setter);
+        for (Class<?> type : types) {
+            SETTER_MAPS.put(type, nullable);
+        }
+    }
+
+    private static ParameterSetter nullable(int sqlType, ParameterSetter setter) {
+        return (statement, index, value) -> {
+            if (value == null) {
+                statement.setNull(index, sqlType);
+            } else {
+                setter.setValue(statement, index, value);
             }
-        });
-        return Array.get(array, index);
+        };
+    }
+
+    private static ResultSetGetter<?> newEnumGetter(Class<?> type) {
+        Object[] values = type.getEnumConstants();
+        return (resultSet, index) -> {
+            int ordinal = resultSet.getInt(index);
+            return ordinal == 0 && resultSet.wasNull() ? null : values[ordinal];
+        };
     }
 
     private static <T> void put(Class<T> type, ResultSetGetter<T> getter) {
         GETTER_MAPS.put(type, getter);
     }
 
+    @FunctionalInterface
+    interface ParameterSetter {
+        void setValue(PreparedStatement statement, int index, Object value) throws SQLException;
+    }
+
     @FunctionalInterface
     interface ResultSetGetter<T> {
         T getValue(ResultSet resultSet, int index) throws SQLException;
@@ -30,15 +30,21 @@ import io.github.genie.sql.builder.meta.Type;
 import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.PreparedSql;
 import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.QuerySqlBuilder;
 import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
 
     public static final String NONE_DELIMITER = "";
@@ -55,10 +61,69 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
     public static final String DESC = "desc";
     public static final String ASC = "asc";
     public static final String ON = " on ";
+    public static final String COUNT_OVER = "count(*) over()";
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final Map<QueryShape, PreparedSql> cache;
+    private final boolean windowFunctions;
+
+    public MySqlQuerySqlBuilder() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public MySqlQuerySqlBuilder(int cacheSize) {
+        this(cacheSize, false);
+    }
+
+    public MySqlQuerySqlBuilder(int cacheSize, boolean windowFunctions) {
+        this.cache = cacheSize > 0 ? newCache(cacheSize) : null;
+        this.windowFunctions = windowFunctions;
+    }
 
     @Override
     public PreparedSql build(QueryStructure structure, Metamodel metamodel) {
-        return new Builder(structure, metamodel).build();
+        return build(structure, metamodel, false);
+    }
+
+    @Override
+    public boolean supportsWithTotal() {
+        return windowFunctions;
+    }
+
+    @Override
+    public PreparedSql buildWithTotal(QueryStructure structure, Metamodel metamodel) {
+        List<? extends Expression> groupBy = structure.groupBy();
+        if (!windowFunctions || structure.select().distinct() || groupBy != null && !groupBy.isEmpty()) {
+            return null;
+        }
+        return build(structure, metamodel, true);
+    }
+
+    private PreparedSql build(QueryStructure structure, Metamodel metamodel, boolean withTotal) {
+        if (cache == null) {
+            return new Builder(structure, metamodel, withTotal).build();
+        }
+        QueryShape shape = new QueryShape(structure, metamodel, withTotal);
+        PreparedSql template = cache.get(shape);
+        if (template != null) {
+            return new PreparedSqlImpl(template.sql(), shape.args, template.selected());
+        }
+        PreparedSql sql = new Builder(structure, metamodel, withTotal).build();
+        if (shape.args.equals(sql.args())) {
+            cache.put(shape, sql);
+        } else {
+            log.debug("query shape arguments do not match the generated sql, skip caching: {}", sql.sql());
+        }
+        return sql;
+    }
+
+    private static Map<QueryShape, PreparedSql> newCache(int cacheSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<QueryShape, PreparedSql> eldest) {
+                return size() > cacheSize;
+            }
+        });
     }
 
     @SuppressWarnings("PatternVariableCanBeUsed")
@@ -67,6 +132,7 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
         protected final StringBuilder sql;
         protected final List<Object> args;
         protected final Map<Column, Integer> joins = new LinkedHashMap<>();
+        protected final Set<Column> fetched = new HashSet<>();
         protected final QueryStructure queryStructure;
 
         protected final EntityType entity;
@@ -77,14 +143,17 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
         protected final String fromAlias;
         protected final int subIndex;
         protected final AtomicInteger selectIndex;
+        protected final boolean withTotal;
 
         public Builder(StringBuilder sql,
                        List<Object> args,
                        QueryStructure queryStructure,
                        Metamodel mappers,
                        AtomicInteger selectIndex,
-                       int subIndex) {
+                       int subIndex,
+                       boolean withTotal) {
             this.sql = sql;
+            this.withTotal = withTotal;
             this.args = args;
             this.queryStructure = queryStructure;
             this.mappers = mappers;
@@ -103,12 +172,16 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
         }
 
         public Builder(QueryStructure queryStructure, Metamodel mappers) {
-            this(new StringBuilder(), new ArrayList<>(), queryStructure, mappers, new AtomicInteger(), 0);
+            this(queryStructure, mappers, false);
+        }
+
+        public Builder(QueryStructure queryStructure, Metamodel mappers, boolean withTotal) {
+            this(new StringBuilder(), new ArrayList<>(), queryStructure, mappers, new AtomicInteger(), 0, withTotal);
         }
 
         protected PreparedSql build() {
             doBuilder();
-            return new PreparedSqlImpl(sql.toString(), args, selectedAttributes);
+            return new PreparedSqlImpl(sql.toString(), args, Collections.unmodifiableList(selectedAttributes));
         }
 
         private void doBuilder() {
@@ -185,6 +258,9 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
                 appendSelectAlias();
                 join = DELIMITER;
             }
+            if (withTotal) {
+                sql.append(DELIMITER).append(COUNT_OVER);
+            }
         }
 
         private void appendSelectAlias() {
@@ -205,6 +281,7 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
                     if (!(attribute instanceof AnyToOneAttribute)) {
                         continue;
                     }
+                    fetched.add(fetch);
                     AnyToOneAttribute am = (AnyToOneAttribute) attribute;
                     for (Attribute attr : am.attributes()) {
                         if (!(attr instanceof BasicAttribute)) {
@@ -242,7 +319,7 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
 
         private void appendSubQuery(QueryStructure queryStructure) {
             sql.append('(');
-            new Builder(sql, args, queryStructure, mappers, selectIndex, subIndex + 1).doBuilder();
+            new Builder(sql, args, queryStructure, mappers, selectIndex, subIndex + 1, false).doBuilder();
             sql.append(") ");
         }
 
@@ -461,6 +538,10 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
         }
 
         protected void appendPaths(Column column) {
+            Column joinColumn = joinColumnReference(column);
+            if (joinColumn != null) {
+                column = joinColumn;
+            }
             appendBlank();
             StringBuilder sb = sql;
             int iMax = column.size() - 1;
@@ -500,6 +581,33 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
             }
         }
 
+        /*
+         * a.b.id is the value of the join column of a.b, so the left join of b can be left out unless b is fetched.
+         */
+        protected Column joinColumnReference(Column column) {
+            if (entity == null || column.size() < 2) {
+                return null;
+            }
+            Column parent = column.parent();
+            if (fetched.contains(parent)) {
+                return null;
+            }
+            Attribute attribute = getAttribute(parent);
+            if (!(attribute instanceof AnyToOneAttribute)) {
+                return null;
+            }
+            AnyToOneAttribute join = (AnyToOneAttribute) attribute;
+            Attribute target = join.getAttribute(column.get(column.size() - 1));
+            if (!(target instanceof BasicAttribute)) {
+                return null;
+            }
+            String referenced = join.referencedColumnName();
+            if (referenced.isEmpty()) {
+                referenced = ((BasicAttribute) mappers.getEntity(join.javaType()).id()).columnName();
+            }
+            return referenced.equals(((BasicAttribute) target).columnName()) ? parent : null;
+        }
+
         protected void insertJoin(int sqlIndex) {
             StringBuilder sql = new StringBuilder();
 
@@ -615,6 +723,150 @@ public class MySqlQuerySqlBuilder implements QuerySqlBuilder {
         }
     }
 
+    /*
+     * Visits a structure in the same order as Builder emits placeholders: every non-boolean
+     * constant becomes a slot whose value is collected into args, everything else is part of the key.
+     */
+    @SuppressWarnings("PatternVariableCanBeUsed")
+    static final class QueryShape {
+
+        private enum Mark {
+            PARAM, ENTITY, PROJECTION, MULTI, SINGLE, SUB_QUERY, OFFSET, NO_LIMIT, TOTAL
+        }
+
+        private final Metamodel metamodel;
+        private final List<Object> tokens = new ArrayList<>();
+        private final List<Object> args = new ArrayList<>();
+        private final int hash;
+
+        QueryShape(QueryStructure structure, Metamodel metamodel, boolean withTotal) {
+            this.metamodel = metamodel;
+            if (withTotal) {
+                tokens.add(Mark.TOTAL);
+            }
+            appendStructure(structure);
+            this.hash = 31 * System.identityHashCode(metamodel) + tokens.hashCode();
+        }
+
+        private void appendStructure(QueryStructure structure) {
+            appendSelection(structure.select());
+            appendList(structure.fetch());
+            From from = structure.from();
+            if (from instanceof SubQuery) {
+                tokens.add(Mark.SUB_QUERY);
+                appendStructure(((SubQuery) from).queryStructure());
+            } else {
+                tokens.add(from.type());
+            }
+            appendExpression(structure.where());
+            appendList(structure.groupBy());
+            List<? extends Order<?>> orderBy = structure.orderBy();
+            if (orderBy != null) {
+                tokens.add(orderBy.size());
+                for (Order<?> order : orderBy) {
+                    appendExpression(order.expression());
+                    tokens.add(order.order());
+                }
+            }
+            appendExpression(structure.having());
+            appendOffsetAndLimit(structure);
+            tokens.add(structure.lockType());
+        }
+
+        private void appendSelection(Selection select) {
+            tokens.add(select.resultType());
+            tokens.add(select.distinct());
+            if (select instanceof SingleSelected) {
+                tokens.add(Mark.SINGLE);
+                appendExpression(((SingleSelected) select).expression());
+            } else if (select instanceof MultiSelected) {
+                tokens.add(Mark.MULTI);
+                appendList(((MultiSelected) select).expressions());
+            } else if (select instanceof EntitySelected) {
+                tokens.add(Mark.ENTITY);
+            } else if (select instanceof ProjectionSelected) {
+                tokens.add(Mark.PROJECTION);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private void appendList(List<? extends Expression> expressions) {
+            if (expressions == null) {
+                tokens.add(null);
+                return;
+            }
+            tokens.add(expressions.size());
+            for (Expression expression : expressions) {
+                appendExpression(expression);
+            }
+        }
+
+        private void appendExpression(Expression expression) {
+            if (expression instanceof Constant) {
+                Object value = ((Constant) expression).value();
+                if (value instanceof Boolean) {
+                    tokens.add(value);
+                } else {
+                    tokens.add(Mark.PARAM);
+                    args.add(value);
+                }
+            } else if (expression instanceof Column) {
+                tokens.add(expression);
+            } else if (expression instanceof Operation) {
+                Operation operation = (Operation) expression;
+                List<? extends Expression> operationArgs = operation.args();
+                tokens.add(operation.operator());
+                tokens.add(operationArgs.size());
+                if (operation.operator() == Operator.IN && operationArgs.isEmpty()) {
+                    return;
+                }
+                appendExpression(operation.operand());
+                for (Expression arg : operationArgs) {
+                    appendExpression(arg);
+                }
+            } else {
+                tokens.add(expression);
+            }
+        }
+
+        private void appendOffsetAndLimit(QueryStructure structure) {
+            int offset = Builder.unwrap(structure.offset());
+            int limit = Builder.unwrap(structure.limit());
+            if (offset > 0) {
+                tokens.add(Mark.OFFSET);
+                args.add(offset);
+                args.add(limit < 0 ? Long.MAX_VALUE : limit);
+            } else if (limit >= 0) {
+                if (limit <= 1) {
+                    tokens.add(limit);
+                } else {
+                    tokens.add(Mark.PARAM);
+                    args.add(limit);
+                }
+            } else {
+                tokens.add(Mark.NO_LIMIT);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryShape)) {
+                return false;
+            }
+            QueryShape that = (QueryShape) o;
+            return hash == that.hash && metamodel == that.metamodel && tokens.equals(that.tokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     @lombok.Data
     @Accessors(fluent = true)
     public static final class PreparedSqlImpl implements PreparedSql {
@@ -1,8 +1,22 @@
 package io.github.genie.sql.executor.jdbc;
 
+import io.github.genie.sql.api.Column;
+import io.github.genie.sql.api.DeleteStructure;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.From;
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.Operator;
+import io.github.genie.sql.api.Order;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Selection;
+import io.github.genie.sql.api.UpdateStructure;
+import io.github.genie.sql.api.UpdateStructure.Assignment;
+import io.github.genie.sql.builder.Expressions;
 import io.github.genie.sql.builder.meta.Attribute;
 import io.github.genie.sql.builder.meta.BasicAttribute;
 import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.builder.meta.Metamodel;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder.Builder;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
@@ -15,6 +29,19 @@ public class MysqlUpdateSqlBuilder implements JdbcUpdateSqlBuilder {
 
     @Override
     public PreparedSql buildInsert(@NotNull EntityType entityType) {
+        return buildInsert(entityType, 1);
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public PreparedSql buildInsert(@NotNull EntityType entityType, int rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("rows must be positive");
+        }
         String tableName = entityType.tableName();
         List<BasicAttribute> columns = new ArrayList<>();
         StringBuilder sql = new StringBuilder("insert into `")
@@ -30,14 +57,20 @@ public class MysqlUpdateSqlBuilder implements JdbcUpdateSqlBuilder {
             delimiter = ",";
         }
 
-        sql.append(") values (");
-        delimiter = "";
+        sql.append(") values ");
         int size = columns.size();
-        for (int i = 0; i < size; i++) {
-            sql.append(delimiter).append("?");
-            delimiter = ",";
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(",");
+            }
+            sql.append("(");
+            delimiter = "";
+            for (int i = 0; i < size; i++) {
+                sql.append(delimiter).append("?");
+                delimiter = ",";
+            }
+            sql.append(")");
         }
-        sql.append(")");
         return new PreparedSqlImpl(sql.toString(), columns, null);
     }
 
@@ -82,6 +115,218 @@ public class MysqlUpdateSqlBuilder implements JdbcUpdateSqlBuilder {
         );
     }
 
+    @Override
+    public boolean supportsDeleteByIds() {
+        return true;
+    }
+
+    @Override
+    public PreparedSql buildDelete(EntityType entity, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        if (size == 1) {
+            return buildDelete(entity);
+        }
+        BasicAttribute id = (BasicAttribute) entity.id();
+        StringBuilder sql = new StringBuilder("delete from `").append(entity.tableName())
+                .append("` where `").append(id.columnName()).append("` in (?");
+        for (int i = 1; i < size; i++) {
+            sql.append(",?");
+        }
+        sql.append(")");
+        return new PreparedSqlImpl(
+                sql.toString(),
+                Collections.singletonList(id),
+                Collections.emptyList()
+        );
+    }
+
+    @Override
+    public PreparedSql buildUpsert(@NotNull EntityType entityType) {
+        PreparedSql insert = buildInsert(entityType, 1);
+        BasicAttribute id = (BasicAttribute) entityType.id();
+        BasicAttribute version = (BasicAttribute) entityType.version();
+        StringBuilder sql = new StringBuilder(insert.sql()).append(" on duplicate key update ");
+        String delimiter = "";
+        for (BasicAttribute column : insert.columns()) {
+            if (column == id || column == version) {
+                continue;
+            }
+            String name = column.columnName();
+            sql.append(delimiter).append("`").append(name).append("`=");
+            if (version == null) {
+                sql.append("values(`").append(name).append("`)");
+            } else {
+                appendIfVersionMatches(sql, version, "values(`" + name + "`)", "`" + name + "`");
+            }
+            delimiter = ",";
+        }
+        if (version != null) {
+            // assigned last, the conditions above still compare against the stored version
+            String name = version.columnName();
+            sql.append(delimiter).append("`").append(name).append("`=");
+            appendIfVersionMatches(sql, version, "`" + name + "`+1", "`" + name + "`");
+        } else if (delimiter.isEmpty()) {
+            sql.append("`").append(id.columnName()).append("`=`").append(id.columnName()).append("`");
+        }
+        List<BasicAttribute> versions = version == null
+                ? Collections.emptyList()
+                : Collections.singletonList(version);
+        return new PreparedSqlImpl(sql.toString(), insert.columns(), versions);
+    }
+
+    @Override
+    public PreparedSql buildLockVersions(@NotNull EntityType entityType, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        BasicAttribute id = (BasicAttribute) entityType.id();
+        BasicAttribute version = (BasicAttribute) entityType.version();
+        StringBuilder sql = new StringBuilder("select `").append(id.columnName()).append("`,`")
+                .append(version.columnName()).append("` from `").append(entityType.tableName())
+                .append("` where `").append(id.columnName()).append("` in (?");
+        for (int i = 1; i < size; i++) {
+            sql.append(",?");
+        }
+        sql.append(") for update");
+        return new PreparedSqlImpl(
+                sql.toString(),
+                Collections.singletonList(id),
+                Collections.singletonList(version)
+        );
+    }
+
+    private static void appendIfVersionMatches(StringBuilder sql, BasicAttribute version, String then, String otherwise) {
+        String name = version.columnName();
+        sql.append("if(`").append(name).append("`=values(`").append(name).append("`),")
+                .append(then).append(",").append(otherwise).append(")");
+    }
+
+    @Override
+    public PreparedBulkSql buildUpdate(@NotNull UpdateStructure structure, @NotNull Metamodel metamodel) {
+        EntityType entity = metamodel.getEntity(structure.entityType());
+        Builder builder = new Builder(new CriteriaStructure(structure.entityType(), structure.where()), metamodel);
+        StringBuilder sql = builder.sql;
+        sql.append("update `").append(entity.tableName()).append("` ");
+        builder.appendFromAlias();
+        int joinIndex = sql.length();
+        sql.append(" set ");
+        String delimiter = "";
+        Attribute version = entity.version();
+        for (Assignment assignment : structure.assignments()) {
+            sql.append(delimiter);
+            builder.appendPaths(assignment.column());
+            sql.append("=");
+            builder.appendExpression(assignment.value());
+            delimiter = ",";
+            if (version != null && version.column().equals(assignment.column())) {
+                version = null;
+            }
+        }
+        if (version != null) {
+            // the rows change under any loaded copy, so their optimistic lock must fail
+            Column column = version.column();
+            sql.append(delimiter);
+            builder.appendPaths(column);
+            sql.append("=");
+            builder.appendExpression(Expressions.operate(column, Operator.ADD, Expressions.of(1)));
+        }
+        builder.appendWhere();
+        builder.insertJoin(joinIndex);
+        return new PreparedBulkSqlImpl(sql.toString(), builder.args);
+    }
+
+    @Override
+    public PreparedBulkSql buildDelete(@NotNull DeleteStructure structure, @NotNull Metamodel metamodel) {
+        EntityType entity = metamodel.getEntity(structure.entityType());
+        Builder builder = new Builder(new CriteriaStructure(structure.entityType(), structure.where()), metamodel);
+        StringBuilder sql = builder.sql;
+        sql.append("delete ");
+        builder.appendFromAlias();
+        sql.append(" from `").append(entity.tableName()).append("` ");
+        builder.appendFromAlias();
+        int joinIndex = sql.length();
+        builder.appendWhere();
+        builder.insertJoin(joinIndex);
+        return new PreparedBulkSqlImpl(sql.toString(), builder.args);
+    }
+
+    /**
+     * the part of a query the where clause renders against: the entity table and the predicate
+     */
+    @AllArgsConstructor
+    private static class CriteriaStructure implements QueryStructure {
+        private final Class<?> entityType;
+        private final Expression where;
+
+        @Override
+        public Selection select() {
+            return null;
+        }
+
+        @Override
+        public From from() {
+            return (From.Entity) () -> entityType;
+        }
+
+        @Override
+        public Expression where() {
+            return where;
+        }
+
+        @Override
+        public List<? extends Expression> groupBy() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<? extends Order<?>> orderBy() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Expression having() {
+            return null;
+        }
+
+        @Override
+        public Integer offset() {
+            return null;
+        }
+
+        @Override
+        public Integer limit() {
+            return null;
+        }
+
+        @Override
+        public LockModeType lockType() {
+            return LockModeType.NONE;
+        }
+
+        @Override
+        public List<? extends Column> fetch() {
+            return Collections.emptyList();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class PreparedBulkSqlImpl implements PreparedBulkSql {
+        private String sql;
+        private List<?> args;
+
+        @Override
+        public String sql() {
+            return this.sql;
+        }
+
+        @Override
+        public List<?> args() {
+            return this.args;
+        }
+    }
+
     @AllArgsConstructor
     private static class PreparedSqlImpl implements PreparedSql {
         private String sql;
@@ -0,0 +1,339 @@
+package io.github.genie.sql.executor.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * caches prepared statements per physical connection. statements are prepared on the connection unwrapped from the
+ * pool's proxy, so the pool does not close them when the connection is returned. pools whose connections can not be
+ * unwrapped close them anyway and every checkout is a miss
+ */
+@Slf4j
+public class StatementCachingConnectionProvider implements ConnectionProvider {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /*
+     * statement settings that would leak into the next user of the same sql, statements changed by one of them are
+     * closed instead of returned to the cache
+     */
+    private static final Set<String> SETTINGS = Set.of("setMaxRows", "setLargeMaxRows", "setFetchSize",
+            "setFetchDirection", "setQueryTimeout", "setMaxFieldSize", "setEscapeProcessing", "setPoolable",
+            "setCursorName", "closeOnCompletion");
+
+    private final ConnectionProvider connectionProvider;
+    private final int cacheSize;
+    /*
+     * keyed by physical connection. cached statements reference their connection, so entries are never
+     * weakly reachable and are evicted once the connection is closed
+     */
+    private final Map<Connection, StatementCache> caches = new IdentityHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public StatementCachingConnectionProvider(ConnectionProvider connectionProvider) {
+        this(connectionProvider, DEFAULT_CACHE_SIZE);
+    }
+
+    public StatementCachingConnectionProvider(ConnectionProvider connectionProvider, int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cache size must be positive");
+        }
+        this.connectionProvider = connectionProvider;
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public <T> T execute(ConnectionCallback<T> action) throws SQLException {
+        return connectionProvider.execute(connection -> {
+            StatementCache cache = getCache(connection);
+            return action.doInConnection(cache.wrap(connection));
+        });
+    }
+
+    @Override
+    public boolean canLendConnection() {
+        return connectionProvider.canLendConnection();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = connectionProvider.getConnection();
+        try {
+            return getCache(connection).wrap(connection);
+        } catch (SQLException | RuntimeException e) {
+            connectionProvider.releaseConnection(connection);
+            throw e;
+        }
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) throws SQLException {
+        StatementCache cache = null;
+        if (Proxy.isProxyClass(connection.getClass())
+            && Proxy.getInvocationHandler(connection) instanceof ConnectionHandler handler) {
+            connection = handler.connection;
+            cache = handler.cache;
+        }
+        connectionProvider.releaseConnection(connection);
+        if (cache != null && isClosed(cache.physical)) {
+            evict(cache);
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (caches) {
+            int size = 0;
+            for (StatementCache cache : caches.values()) {
+                size += cache.statements.size();
+            }
+            return size;
+        }
+    }
+
+    public void clear() {
+        List<StatementCache> list;
+        synchronized (caches) {
+            list = new ArrayList<>(caches.values());
+            caches.clear();
+        }
+        for (StatementCache cache : list) {
+            cache.close();
+        }
+    }
+
+    private StatementCache getCache(Connection connection) throws SQLException {
+        Connection physical = connection.isWrapperFor(Connection.class)
+                ? connection.unwrap(Connection.class)
+                : connection;
+        StatementCache cache;
+        synchronized (caches) {
+            cache = caches.get(physical);
+            if (cache != null && physical.isClosed()) {
+                caches.remove(physical);
+                cache.close();
+                cache = null;
+            }
+            if (cache == null) {
+                // a new physical connection usually replaces one the pool has retired
+                evictClosed();
+                cache = new StatementCache(physical);
+                caches.put(physical, cache);
+            }
+        }
+        return cache;
+    }
+
+    private void evictClosed() {
+        Iterator<StatementCache> iterator = caches.values().iterator();
+        while (iterator.hasNext()) {
+            StatementCache cache = iterator.next();
+            if (isClosed(cache.physical)) {
+                iterator.remove();
+                cache.close();
+            }
+        }
+    }
+
+    private void evict(StatementCache cache) {
+        synchronized (caches) {
+            if (caches.get(cache.physical) == cache) {
+                caches.remove(cache.physical);
+            }
+        }
+        cache.close();
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            log.debug("failed to check connection state", e);
+            return true;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.debug("failed to close cached statement", e);
+        }
+    }
+
+    @lombok.Data
+    private static final class StatementKey {
+        private final String sql;
+        private final int autoGeneratedKeys;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final StatementCache cache;
+        private final Connection connection;
+
+        private ConnectionHandler(StatementCache cache, Connection connection) {
+            this.cache = cache;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("prepareStatement") && args != null && args[0] instanceof String) {
+                if (args.length == 1) {
+                    return cache.checkout((Connection) proxy, new StatementKey((String) args[0], Statement.NO_GENERATED_KEYS));
+                } else if (args.length == 2 && args[1] instanceof Integer) {
+                    return cache.checkout((Connection) proxy, new StatementKey((String) args[0], (Integer) args[1]));
+                }
+            } else if (name.equals("close") && method.getParameterCount() == 0) {
+                StatementCachingConnectionProvider.invoke(connection, method, args);
+                // a pooled connection only goes back to the pool, its statements stay usable
+                if (isClosed(cache.physical)) {
+                    evict(cache);
+                }
+                return null;
+            }
+            return StatementCachingConnectionProvider.invoke(connection, method, args);
+        }
+    }
+
+    private final class StatementCache {
+        private final Connection physical;
+        private final LinkedHashMap<StatementKey, PreparedStatement> statements =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Entry<StatementKey, PreparedStatement> eldest) {
+                        if (size() > cacheSize) {
+                            closeQuietly(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+
+        private StatementCache(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConnectionHandler(this, connection));
+        }
+
+        private PreparedStatement checkout(Connection proxy, StatementKey key) throws SQLException {
+            PreparedStatement statement;
+            synchronized (this) {
+                statement = statements.remove(key);
+            }
+            if (statement != null && !statement.isClosed()) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                statement = key.autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                        ? physical.prepareStatement(key.sql)
+                        : physical.prepareStatement(key.sql, key.autoGeneratedKeys);
+            }
+            return wrap(statement, proxy, key);
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, Connection connection, StatementKey key) {
+            boolean[] closed = {false};
+            boolean[] changed = {false};
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                switch (name) {
+                    case "close":
+                        if (!closed[0]) {
+                            closed[0] = true;
+                            if (changed[0]) {
+                                closeQuietly(statement);
+                            } else {
+                                checkin(key, statement);
+                            }
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed[0] || statement.isClosed();
+                    case "getConnection":
+                        return connection;
+                    default:
+                        if (SETTINGS.contains(name)) {
+                            changed[0] = true;
+                        }
+                        return invoke(statement, method, args);
+                }
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    handler);
+        }
+
+        private void checkin(StatementKey key, PreparedStatement statement) {
+            try {
+                if (statement.isClosed()) {
+                    return;
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                closeQuietly(statement);
+                return;
+            }
+            PreparedStatement previous;
+            synchronized (this) {
+                previous = statements.putIfAbsent(key, statement);
+            }
+            if (previous != null) {
+                closeQuietly(statement);
+            }
+        }
+
+        private void close() {
+            List<PreparedStatement> list;
+            synchronized (this) {
+                list = new ArrayList<>(statements.values());
+                statements.clear();
+            }
+            for (PreparedStatement statement : list) {
+                closeQuietly(statement);
+            }
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package io.github.genie.sql.meta;
 
 import io.github.genie.sql.builder.meta.AbstractMetamodel;
 import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.EntityDescriptor;
 import io.github.genie.sql.builder.meta.Metamodel;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -24,17 +25,32 @@ import java.util.List;
 
 @Slf4j
 public class JpaMetamodel extends AbstractMetamodel {
-    private static final JpaMetamodel JPA_METAMODEL = new JpaMetamodel();
+    private static final JpaMetamodel JPA_METAMODEL = new JpaMetamodel(true);
     private final List<Class<? extends Annotation>> JOIN_ANNOTATIONS =
             Arrays.asList(ManyToOne.class, OneToMany.class, ManyToMany.class, OneToOne.class);
+    private final boolean useGeneratedDescriptors;
 
     protected JpaMetamodel() {
+        this(false);
+    }
+
+    /**
+     * @param useGeneratedDescriptors whether the mappings written by the sql-genie-processor are used instead of
+     *                                reflection, they bypass every overridden hook of this class
+     */
+    protected JpaMetamodel(boolean useGeneratedDescriptors) {
+        this.useGeneratedDescriptors = useGeneratedDescriptors;
     }
 
     public static Metamodel of() {
         return JPA_METAMODEL;
     }
 
+    @Override
+    protected EntityDescriptor getEntityDescriptor(Class<?> entityType) {
+        return useGeneratedDescriptors ? EntityDescriptor.find(entityType) : null;
+    }
+
     @Override
     protected String getTableName(Class<?> javaType) {
         String tableName = getTableNameByAnnotation(javaType);
@@ -14,6 +14,8 @@ import io.github.genie.sql.api.Selection.ProjectionSelected;
 import io.github.genie.sql.api.Selection.SingleSelected;
 import io.github.genie.sql.builder.AbstractQueryExecutor;
 import io.github.genie.sql.builder.Expressions;
+import io.github.genie.sql.builder.QueryListener;
+import io.github.genie.sql.builder.QueryRecorder;
 import io.github.genie.sql.builder.Tuples;
 import io.github.genie.sql.builder.TypeCastUtil;
 import io.github.genie.sql.builder.meta.Attribute;
@@ -35,8 +37,13 @@ import jakarta.persistence.criteria.Root;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings("PatternVariableCanBeUsed")
 public class JpaQueryExecutor implements AbstractQueryExecutor {
@@ -44,15 +51,41 @@ public class JpaQueryExecutor implements AbstractQueryExecutor {
     private final EntityManager entityManager;
     private final Metamodel metamodel;
     private final QuerySqlBuilder querySqlBuilder;
+    private final QueryListener listener;
 
     public JpaQueryExecutor(EntityManager entityManager, Metamodel metamodel, QuerySqlBuilder querySqlBuilder) {
+        this(entityManager, metamodel, querySqlBuilder, null);
+    }
+
+    public JpaQueryExecutor(EntityManager entityManager,
+                            Metamodel metamodel,
+                            QuerySqlBuilder querySqlBuilder,
+                            QueryListener listener) {
         this.entityManager = entityManager;
         this.metamodel = metamodel;
         this.querySqlBuilder = querySqlBuilder;
+        this.listener = listener;
     }
 
+    /*
+     * the provider builds, connects, executes and maps in one call, so the event reports it all as execute
+     */
     @Override
     public <T> List<T> getList(@NotNull QueryStructure queryStructure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, queryStructure);
+        try {
+            List<T> list = doGetList(queryStructure);
+            recorder.executed();
+            recorder.mapped(list.size());
+            recorder.finish();
+            return list;
+        } catch (RuntimeException e) {
+            recorder.finish(e);
+            throw e;
+        }
+    }
+
+    private <T> List<T> doGetList(@NotNull QueryStructure queryStructure) {
         if (queryStructure.from() instanceof SubQuery) {
             return queryByNativeSql(queryStructure);
         }
@@ -89,28 +122,99 @@ public class JpaQueryExecutor implements AbstractQueryExecutor {
         }
     }
 
+    /*
+     * rows are counted as they are consumed, the event is sent when the stream is closed
+     */
+    @Override
+    public <T> Stream<T> getStream(@NotNull QueryStructure queryStructure) {
+        QueryRecorder recorder = QueryRecorder.start(listener, queryStructure);
+        try {
+            Stream<T> stream = doGetStream(queryStructure);
+            recorder.executed();
+            Iterator<T> iterator = recorder.counting(stream.iterator());
+            Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(() -> {
+                        recorder.mapped();
+                        recorder.finish();
+                        stream.close();
+                    });
+        } catch (RuntimeException e) {
+            recorder.finish(e);
+            throw e;
+        }
+    }
+
+    private <T> Stream<T> doGetStream(@NotNull QueryStructure queryStructure) {
+        if (queryStructure.from() instanceof SubQuery) {
+            return TypeCastUtil.unsafeCast(createNativeQuery(queryStructure).getResultStream());
+        }
+        Selection selected = queryStructure.select();
+        if (selected instanceof SingleSelected) {
+            SingleSelected singleSelected = (SingleSelected) selected;
+            Stream<Object[]> objects = getObjectsBuilder(queryStructure, Lists.of(singleSelected.expression()))
+                    .getResultStream();
+            return objects.map(it -> TypeCastUtil.unsafeCast(it[0]));
+        } else if (selected instanceof MultiSelected) {
+            MultiSelected multiSelected = (MultiSelected) selected;
+            Stream<Object[]> objects = getObjectsBuilder(queryStructure, multiSelected.expressions())
+                    .getResultStream();
+            return objects.map(it -> TypeCastUtil.unsafeCast(Tuples.of(it)));
+        } else if (queryStructure.select() instanceof EntitySelected) {
+            return TypeCastUtil.unsafeCast(getEntityBuilder(queryStructure).getResultStream());
+        } else if (queryStructure.select() instanceof ProjectionSelected) {
+            Class<?> resultType = queryStructure.select().resultType();
+            Projection projection = metamodel
+                    .getProjection(queryStructure.from().type(), resultType);
+            Collection<? extends ProjectionAttribute> attributes = projection.attributes();
+            List<Column> columns = attributes.stream()
+                    .map(ProjectionAttribute::entityAttribute)
+                    .map(Attribute::column)
+                    .collect(Collectors.toList());
+            InstanceConstructor extractor = ReflectUtil.getRowInstanceConstructor(attributes, resultType);
+            return getObjectsBuilder(queryStructure, columns)
+                    .getResultStream()
+                    .map(extractor::newInstance)
+                    .map(TypeCastUtil::unsafeCast);
+        } else {
+            throw new IllegalStateException();
+        }
+    }
+
     private <T> List<T> queryByNativeSql(@NotNull QueryStructure queryStructure) {
+        return TypeCastUtil.cast(createNativeQuery(queryStructure).getResultList());
+    }
+
+    private jakarta.persistence.Query createNativeQuery(@NotNull QueryStructure queryStructure) {
         PreparedSql preparedSql = querySqlBuilder.build(queryStructure, metamodel);
         jakarta.persistence.Query query = entityManager.createNativeQuery(preparedSql.sql());
         int position = 0;
         for (Object arg : preparedSql.args()) {
             query.setParameter(++position, arg);
         }
-        return TypeCastUtil.cast(query.getResultList());
+        return query;
     }
 
     private List<?> getEntityResultList(@NotNull QueryStructure structure) {
+        return getEntityBuilder(structure).getResultList();
+    }
+
+    private EntityBuilder getEntityBuilder(@NotNull QueryStructure structure) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<?> query = cb.createQuery(structure.from().type());
         Root<?> root = query.from(structure.from().type());
-        return new EntityBuilder(root, cb, query, structure).getResultList();
+        return new EntityBuilder(root, cb, query, structure);
     }
 
     private List<Object[]> getObjectsList(@NotNull QueryStructure structure, List<? extends Expression> columns) {
+        return getObjectsBuilder(structure, columns).getResultList();
+    }
+
+    private ObjectArrayBuilder getObjectsBuilder(@NotNull QueryStructure structure, List<? extends Expression> columns) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<?> query = cb.createQuery(Object[].class);
         Root<?> root = query.from(structure.from().type());
-        return new ObjectArrayBuilder(root, cb, query, structure, columns).getResultList();
+        return new ObjectArrayBuilder(root, cb, query, structure, columns);
     }
 
     class ObjectArrayBuilder extends Builder {
@@ -129,15 +233,21 @@ public class JpaQueryExecutor implements AbstractQueryExecutor {
         public List<Object[]> getResultList() {
             return super.getResultList()
                     .stream()
-                    .map(it -> {
-                        if (it instanceof Object[]) {
-                            return (Object[]) it;
-                        }
-                        return new Object[]{it};
-                    })
+                    .map(ObjectArrayBuilder::toArray)
                     .collect(Collectors.toList());
         }
 
+        public Stream<Object[]> getResultStream() {
+            return super.getResultStream().map(ObjectArrayBuilder::toArray);
+        }
+
+        private static Object[] toArray(Object it) {
+            if (it instanceof Object[]) {
+                return (Object[]) it;
+            }
+            return new Object[]{it};
+        }
+
         @Override
         protected TypedQuery<?> getTypedQuery() {
             CriteriaQuery<?> select = query.multiselect(
@@ -224,6 +334,14 @@ public class JpaQueryExecutor implements AbstractQueryExecutor {
         }
 
         protected List<?> getResultList() {
+            return buildQuery().getResultList();
+        }
+
+        protected Stream<?> getResultStream() {
+            return buildQuery().getResultStream();
+        }
+
+        private TypedQuery<?> buildQuery() {
             setDistinct(structure.select());
             setFetch(structure.fetch());
             setWhere(structure.where());
@@ -243,7 +361,7 @@ public class JpaQueryExecutor implements AbstractQueryExecutor {
             if (lockModeType != null) {
                 objectsQuery.setLockMode(lockModeType);
             }
-            return objectsQuery.getResultList();
+            return objectsQuery;
         }
 
         private void setDistinct(Selection select) {
@@ -1,16 +1,30 @@
 package io.github.genie.sql.executor.jpa;
 
+import io.github.genie.sql.api.BulkDelete;
+import io.github.genie.sql.api.BulkUpdate;
 import io.github.genie.sql.api.Column;
+import io.github.genie.sql.api.Constant;
+import io.github.genie.sql.api.DeleteStructure;
 import io.github.genie.sql.api.Expression;
 import io.github.genie.sql.api.Operator;
 import io.github.genie.sql.api.Query;
 import io.github.genie.sql.api.Update;
+import io.github.genie.sql.api.UpdateStructure;
+import io.github.genie.sql.api.UpdateStructure.Assignment;
 import io.github.genie.sql.api.Updater;
+import io.github.genie.sql.builder.BulkDeleteImpl;
+import io.github.genie.sql.builder.BulkUpdateExecutor;
+import io.github.genie.sql.builder.BulkUpdateImpl;
 import io.github.genie.sql.builder.ExpressionHolders;
 import io.github.genie.sql.builder.Expressions;
 import io.github.genie.sql.builder.UpdaterImpl;
 import io.github.genie.sql.builder.reflect.ReflectUtil;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import jakarta.persistence.metamodel.EntityType;
 import jakarta.persistence.metamodel.SingularAttribute;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +36,7 @@ import java.util.Objects;
 import java.util.Set;
 
 @Slf4j
-public class JpaUpdate implements Update {
+public class JpaUpdate implements Update, BulkUpdateExecutor {
 
     private final EntityManager entityManager;
     private final Query query;
@@ -53,13 +67,8 @@ public class JpaUpdate implements Update {
             }
         }
         if (!ids.isEmpty()) {
-            EntityType<T> entity = entityManager.getMetamodel().entity(entityType);
-            SingularAttribute<? super T, ?> id = entity.getId(entity.getIdType().getJavaType());
-            String name = id.getName();
-            Column idPath = Expressions.column(name);
-            Expression operate = Expressions.operate(idPath, Operator.IN, ids);
             List<T> dbList = query.from(entityType)
-                    .where(ExpressionHolders.of(operate))
+                    .where(ExpressionHolders.of(idIn(entityType, ids)))
                     .getList();
             if (dbList.size() != entities.size()) {
                 throw new IllegalArgumentException("some id not found");
@@ -91,16 +100,117 @@ public class JpaUpdate implements Update {
         return entityManager.merge(entity);
     }
 
+    @Override
+    public <T> List<T> upsert(List<T> entities, Class<T> entityType) {
+        Set<Object> existing = new HashSet<>();
+        List<Expression> ids = new ArrayList<>();
+        for (T entity : entities) {
+            Object id = getId(entity);
+            if (id != null) {
+                ids.add(Expressions.of(id));
+            }
+        }
+        if (!ids.isEmpty()) {
+            for (T t : query.from(entityType).where(ExpressionHolders.of(idIn(entityType, ids))).getList()) {
+                existing.add(getId(t));
+            }
+        }
+        List<T> list = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            if (existing.contains(getId(entity))) {
+                list.add(entityManager.merge(entity));
+            } else {
+                entityManager.persist(entity);
+                list.add(entity);
+            }
+        }
+        return list;
+    }
+
     @Override
     public <T> Updater<T> getUpdater(Class<T> type) {
         return new UpdaterImpl<>(this, type);
     }
 
+    @Override
+    public <T> BulkUpdate<T> update(Class<T> entityType) {
+        return new BulkUpdateImpl<>(this, entityType);
+    }
+
+    @Override
+    public <T> BulkDelete<T> delete(Class<T> entityType) {
+        return new BulkDeleteImpl<>(this, entityType);
+    }
+
+    @Override
+    public int executeUpdate(UpdateStructure structure) {
+        return doExecuteUpdate(structure.entityType(), structure);
+    }
+
+    private <T> int doExecuteUpdate(Class<T> entityType, UpdateStructure structure) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entityType);
+        Root<T> root = update.from(entityType);
+        PredicateBuilder builder = new PredicateBuilder(root, cb);
+        Set<String> assigned = new HashSet<>();
+        for (Assignment assignment : structure.assignments()) {
+            Path<Object> path = ExpressionBuilder.unsafeCast(builder.toExpression(assignment.column()));
+            Expression value = assignment.value();
+            if (value instanceof Constant) {
+                update.set(path, ((Constant) value).value());
+            } else {
+                setExpression(update, path, builder.toExpression(value));
+            }
+            if (assignment.column().size() == 1) {
+                assigned.add(assignment.column().get(0));
+            }
+        }
+        EntityType<T> entity = entityManager.getMetamodel().entity(entityType);
+        for (SingularAttribute<? super T, ?> attribute : entity.getSingularAttributes()) {
+            if (attribute.isVersion() && !assigned.contains(attribute.getName())) {
+                Path<Number> version = root.get(attribute.getName());
+                update.set(version, cb.sum(version, 1));
+            }
+        }
+        update.where(builder.toPredicate(structure.where()));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private static <Y> void setExpression(CriteriaUpdate<?> update,
+                                          Path<Y> path,
+                                          jakarta.persistence.criteria.Expression<?> value) {
+        jakarta.persistence.criteria.Expression<? extends Y> expression = ExpressionBuilder.cast(value);
+        update.set(path, expression);
+    }
+
+    @Override
+    public int executeDelete(DeleteStructure structure) {
+        return doExecuteDelete(structure.entityType(), structure);
+    }
+
+    private <T> int doExecuteDelete(Class<T> entityType, DeleteStructure structure) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(entityType);
+        Root<T> root = delete.from(entityType);
+        delete.where(new PredicateBuilder(root, cb).toPredicate(structure.where()));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private <T> Expression idIn(Class<T> entityType, List<Expression> ids) {
+        EntityType<T> entity = entityManager.getMetamodel().entity(entityType);
+        SingularAttribute<? super T, ?> id = entity.getId(entity.getIdType().getJavaType());
+        Column idPath = Expressions.column(id.getName());
+        return Expressions.operate(idPath, Operator.IN, ids);
+    }
+
     private <T> Object requireId(T entity) {
-        Object id = entityManager.getEntityManagerFactory()
+        return Objects.requireNonNull(getId(entity));
+    }
+
+    private <T> Object getId(T entity) {
+        return entityManager.getEntityManagerFactory()
                 .getPersistenceUnitUtil()
                 .getIdentifier(entity);
-        return Objects.requireNonNull(id);
     }
 
 }
@@ -0,0 +1,395 @@
+package io.github.genie.sql.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * mirrors the mapping rules of {@code JpaMetamodel} on the compile time model of one entity
+ */
+class EntityDescriptorWriter {
+
+    private static final String PERSISTENCE = "jakarta.persistence.";
+    private static final String DESCRIPTOR = "io.github.genie.sql.builder.meta.EntityDescriptor";
+    private static final String PATH = "io.github.genie.sql.api.Path";
+    private static final String ATTRIBUTE_PATH = "io.github.genie.sql.builder.AttributePath";
+    private static final String DESCRIPTOR_FIELD = "ENTITY";
+    // same as EntityDescriptor.SUFFIX
+    private static final String SUFFIX = "_Genie";
+    private static final Set<String> VERSION_TYPES = Set.of("int", "long", "java.lang.Integer", "java.lang.Long");
+
+    private final ProcessingEnvironment env;
+    private final Types types;
+    private final Elements elements;
+    private final TypeElement entity;
+    private final String packageName;
+
+    EntityDescriptorWriter(ProcessingEnvironment env, TypeElement entity) {
+        this.env = env;
+        this.types = env.getTypeUtils();
+        this.elements = env.getElementUtils();
+        this.entity = entity;
+        this.packageName = elements.getPackageOf(entity).getQualifiedName().toString();
+    }
+
+    void write() throws IOException {
+        String binaryName = elements.getBinaryName(entity).toString();
+        String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                           + SUFFIX;
+        String entityName = entity.getQualifiedName().toString();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        // no @Generated, java.compiler is not readable from every module that uses the processor
+        source.append("// generated by ").append(MetamodelProcessor.class.getName()).append("\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    public static final ").append(DESCRIPTOR).append(" ").append(DESCRIPTOR_FIELD).append(" =\n")
+                .append("            ").append(DESCRIPTOR).append(".builder(").append(entityName).append(".class, ")
+                .append(literal(getTableName())).append(")\n");
+        StringBuilder paths = new StringBuilder();
+        for (VariableElement field : getDeclaredFields().values()) {
+            String attribute = getAttribute(field, paths);
+            if (attribute != null) {
+                source.append("                    ").append(attribute).append("\n");
+            }
+        }
+        source.append("                    .register();\n\n")
+                .append(paths)
+                .append("    private ").append(className).append("() {\n")
+                .append("    }\n\n")
+                .append("}\n");
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaFileObject file = env.getFiler().createSourceFile(qualifiedName, entity);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private String getTableName() {
+        String name = getString(getAnnotation(entity, PERSISTENCE + "Table"), "name");
+        if (name.isEmpty()) {
+            name = getString(getAnnotation(entity, PERSISTENCE + "Entity"), "name");
+        }
+        return name.isEmpty()
+                ? unwrapSymbol(camelbackToUnderline(entity.getSimpleName().toString()))
+                : name;
+    }
+
+    private Map<String, VariableElement> getDeclaredFields() {
+        Map<String, VariableElement> map = new LinkedHashMap<>();
+        putFieldsIfAbsent(map, entity);
+        for (TypeElement type = getSuperclass(entity); type != null; type = getSuperclass(type)) {
+            if (getAnnotation(type, PERSISTENCE + "MappedSuperclass") != null) {
+                putFieldsIfAbsent(map, type);
+            }
+        }
+        return map;
+    }
+
+    private void putFieldsIfAbsent(Map<String, VariableElement> map, TypeElement type) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!modifiers.contains(Modifier.STATIC)
+                && !modifiers.contains(Modifier.TRANSIENT)
+                && !modifiers.contains(Modifier.FINAL)) {
+                map.putIfAbsent(field.getSimpleName().toString(), field);
+            }
+        }
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) types.asElement(superclass);
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    /**
+     * @param paths receives the path constant of the attribute
+     */
+    private String getAttribute(VariableElement field, StringBuilder paths) {
+        String name = field.getSimpleName().toString();
+        TypeMirror fieldType = types.asMemberOf((DeclaredType) entity.asType(), field);
+        ExecutableElement getter = getGetter(name, fieldType);
+        ExecutableElement setter = getSetter(name, fieldType);
+        TypeMirror type = types.erasure(getter != null
+                ? ((ExecutableType) types.asMemberOf((DeclaredType) entity.asType(), getter)).getReturnType()
+                : fieldType);
+        if (hasAnnotation(field, getter, "Transient")) {
+            return null;
+        }
+        String getterExpression = getGetterExpression(field, getter, type);
+        String setterExpression = getSetterExpression(field, setter, type);
+        String accessors = getterExpression + ", " + setterExpression + ")";
+        if (!name.equals(DESCRIPTOR_FIELD)) {
+            paths.append(getPath(name, type, getterExpression));
+        }
+        if (hasAnnotation(field, getter, "ManyToOne") || hasAnnotation(field, getter, "OneToOne")) {
+            AnnotationMirror joinColumn = getAnnotation(field, getter, "JoinColumn");
+            String joinName = joinColumn == null ? null : getString(joinColumn, "name");
+            String referenced = joinColumn == null ? null : getString(joinColumn, "referencedColumnName");
+            return ".anyToOne(" + literal(name) + ", " + classLiteral(type) + ", "
+                   + literal(joinName) + ", " + literal(referenced) + ", " + accessors;
+        } else if (hasAnnotation(field, getter, "OneToMany") || hasAnnotation(field, getter, "ManyToMany")) {
+            return null;
+        }
+        String kind = "basic";
+        if (hasAnnotation(field, getter, "Version")) {
+            if (!VERSION_TYPES.contains(type.toString())) {
+                throw new IllegalStateException("not support version type: " + type);
+            }
+            kind = "version";
+        } else if (hasAnnotation(field, getter, "Id")) {
+            kind = "id";
+        }
+        return "." + kind + "(" + literal(name) + ", " + classLiteral(type) + ", "
+               + literal(getColumnName(field, getter, name)) + ", " + accessors;
+    }
+
+    /**
+     * a constant typed like the method reference of the getter would be, so it selects the same query overloads
+     */
+    private String getPath(String name, TypeMirror type, String getterExpression) {
+        String entityName = entity.getQualifiedName().toString();
+        String boxed = boxed(type);
+        String pathType;
+        String factory;
+        if (boxed.equals("java.lang.String")) {
+            pathType = PATH + ".StringPath<" + entityName + ">";
+            factory = ".ofString(" + entityName + ".class, " + literal(name) + ", ";
+        } else if (boxed.equals("java.lang.Boolean")) {
+            pathType = PATH + ".BooleanPath<" + entityName + ">";
+            factory = ".ofBoolean(" + entityName + ".class, " + literal(name) + ", ";
+        } else {
+            String kind = isComparable(type) ? isNumber(type) ? "Number" : "Comparable" : "";
+            pathType = PATH + (kind.isEmpty() ? "" : "." + kind + "Path") + "<" + entityName + ", " + boxed + ">";
+            factory = ".of" + kind + "(" + entityName + ".class, " + literal(name) + ", " + boxed + ".class, ";
+        }
+        return "    public static final " + pathType + " " + name + " =\n"
+               + "            " + ATTRIBUTE_PATH + factory + getterExpression + ");\n\n";
+    }
+
+    private boolean isComparable(TypeMirror type) {
+        TypeMirror boxed = type.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) type).asType() : type;
+        if (boxed.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement comparable = elements.getTypeElement(Comparable.class.getName());
+        return types.isAssignable(boxed, types.getDeclaredType(comparable, boxed));
+    }
+
+    private boolean isNumber(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind() != TypeKind.BOOLEAN && type.getKind() != TypeKind.CHAR;
+        }
+        return types.isAssignable(type, elements.getTypeElement(Number.class.getName()).asType());
+    }
+
+    private String getColumnName(VariableElement field, ExecutableElement getter, String name) {
+        String columnName = getString(getAnnotation(field, getter, "Column"), "name");
+        if (columnName.isEmpty()) {
+            columnName = camelbackToUnderline(name);
+        }
+        return unwrapSymbol(columnName);
+    }
+
+    private String getGetterExpression(VariableElement field, ExecutableElement getter, TypeMirror type) {
+        String prefix = type.getKind() == TypeKind.BOOLEAN ? "is" : "get";
+        String entityName = entity.getQualifiedName().toString();
+        if (getter != null) {
+            return entityName + "::" + getter.getSimpleName();
+        } else if (isLombokAccessor(field, "lombok.Getter")) {
+            return entityName + "::" + prefix + capitalize(field.getSimpleName().toString());
+        } else if (isAccessible(field)) {
+            return "entity -> entity." + field.getSimpleName();
+        }
+        return "null";
+    }
+
+    private String getSetterExpression(VariableElement field, ExecutableElement setter, TypeMirror type) {
+        String value = "(" + boxed(type) + ") value";
+        if (setter != null) {
+            return "(entity, value) -> entity." + setter.getSimpleName() + "(" + value + ")";
+        } else if (isLombokAccessor(field, "lombok.Setter")) {
+            return "(entity, value) -> entity.set" + capitalize(field.getSimpleName().toString()) + "(" + value + ")";
+        } else if (isAccessible(field)) {
+            return "(entity, value) -> entity." + field.getSimpleName() + " = " + value;
+        }
+        return "null";
+    }
+
+    private ExecutableElement getGetter(String name, TypeMirror type) {
+        String prefix = type.getKind() == TypeKind.BOOLEAN ? "is" : "get";
+        String getterName = prefix + capitalize(name);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(entity))) {
+            if (method.getSimpleName().contentEquals(getterName)
+                && method.getParameters().isEmpty()
+                && !method.getModifiers().contains(Modifier.STATIC)
+                && isAccessible(method)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement getSetter(String name, TypeMirror type) {
+        String setterName = "set" + capitalize(name);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(entity))) {
+            if (method.getSimpleName().contentEquals(setterName)
+                && method.getParameters().size() == 1
+                && types.isSameType(types.erasure(method.getParameters().get(0).asType()), types.erasure(type))
+                && !method.getModifiers().contains(Modifier.STATIC)
+                && isAccessible(method)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private boolean isLombokAccessor(VariableElement field, String annotation) {
+        Element owner = field.getEnclosingElement();
+        String accessors = "lombok.experimental.Accessors";
+        if (getAnnotation(field, accessors) != null || getAnnotation(owner, accessors) != null) {
+            return false;
+        }
+        AnnotationMirror mirror = getAnnotation(field, annotation);
+        if (mirror == null) {
+            mirror = getAnnotation(owner, annotation);
+        }
+        if (mirror != null) {
+            String level = getEnum(mirror, "value");
+            return level.isEmpty() || level.equals("PUBLIC")
+                   || !level.equals("PRIVATE") && !level.equals("NONE") && isSamePackage(owner);
+        }
+        return getAnnotation(owner, "lombok.Data") != null
+               || annotation.equals("lombok.Getter") && getAnnotation(owner, "lombok.Value") != null;
+    }
+
+    private boolean isAccessible(Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        Element owner = member.getEnclosingElement();
+        return modifiers.contains(Modifier.PUBLIC) && owner.getModifiers().contains(Modifier.PUBLIC)
+               || isSamePackage(owner);
+    }
+
+    private boolean isSamePackage(Element element) {
+        PackageElement pkg = elements.getPackageOf(element);
+        return pkg.getQualifiedName().contentEquals(packageName);
+    }
+
+    private boolean hasAnnotation(VariableElement field, ExecutableElement getter, String simpleName) {
+        return getAnnotation(field, getter, simpleName) != null;
+    }
+
+    private AnnotationMirror getAnnotation(VariableElement field, ExecutableElement getter, String simpleName) {
+        AnnotationMirror mirror = getAnnotation(field, PERSISTENCE + simpleName);
+        if (mirror == null && getter != null) {
+            mirror = getAnnotation(getter, PERSISTENCE + simpleName);
+        }
+        return mirror;
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String name) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(name)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String getString(AnnotationMirror mirror, String key) {
+        AnnotationValue value = getValue(mirror, key);
+        return value == null ? "" : String.valueOf(value.getValue());
+    }
+
+    private static String getEnum(AnnotationMirror mirror, String key) {
+        AnnotationValue value = getValue(mirror, key);
+        return value == null ? "" : ((VariableElement) value.getValue()).getSimpleName().toString();
+    }
+
+    private static AnnotationValue getValue(AnnotationMirror mirror, String key) {
+        if (mirror == null) {
+            return null;
+        }
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = mirror.getElementValues();
+        for (Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private static String classLiteral(TypeMirror erasure) {
+        return erasure + ".class";
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String camelbackToUnderline(String simpleName) {
+        return simpleName.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    private static String unwrapSymbol(String symbol) {
+        while (symbol.startsWith("`") && symbol.endsWith("`")) {
+            symbol = symbol.substring(1, symbol.length() - 1);
+        }
+        return symbol;
+    }
+
+    private static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                default -> builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+}
@@ -0,0 +1,222 @@
+package io.github.genie.sql.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * writes a {@code PropertyMapper} for one bean or record projection. records are built with one constructor call,
+ * beans with the no-arg constructor and a setter call, or a field assignment, per selected non-null column
+ */
+class MapperWriter {
+
+    // same as GenerateMapper.SUFFIX
+    private static final String SUFFIX = "_Mapper";
+    private static final String PROPERTY_MAPPER = "io.github.genie.sql.builder.reflect.PropertyMapper";
+
+    private final ProcessingEnvironment env;
+    private final Types types;
+    private final Elements elements;
+    private final TypeElement projection;
+    private final String packageName;
+
+    MapperWriter(ProcessingEnvironment env, TypeElement projection) {
+        this.env = env;
+        this.types = env.getTypeUtils();
+        this.elements = env.getElementUtils();
+        this.projection = projection;
+        this.packageName = elements.getPackageOf(projection).getQualifiedName().toString();
+    }
+
+    void write() throws IOException {
+        ElementKind kind = projection.getKind();
+        if (kind != ElementKind.CLASS && kind != ElementKind.RECORD) {
+            throw new IllegalStateException("only classes and records can have a generated mapper");
+        }
+        Set<Modifier> modifiers = projection.getModifiers();
+        if (!projection.getTypeParameters().isEmpty()
+            || modifiers.contains(Modifier.PRIVATE)
+            || modifiers.contains(Modifier.ABSTRACT)
+            || kind == ElementKind.CLASS
+               && projection.getNestingKind().isNested()
+               && !modifiers.contains(Modifier.STATIC)) {
+            throw new IllegalStateException("generic, private, abstract or inner classes can not be mapped");
+        }
+        String binaryName = elements.getBinaryName(projection).toString();
+        String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                           + SUFFIX;
+        Map<String, String> properties = kind == ElementKind.RECORD ? getComponents() : getWriters();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        // no @Generated, java.compiler is not readable from every module that uses the processor
+        source.append("// generated by ").append(MetamodelProcessor.class.getName()).append("\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(className)
+                .append(" implements ").append(PROPERTY_MAPPER).append(" {\n\n")
+                .append("    private static final String[] PROPERTIES = {");
+        String delimiter = "";
+        for (String name : properties.keySet()) {
+            source.append(delimiter).append('"').append(name).append('"');
+            delimiter = ", ";
+        }
+        source.append("};\n\n")
+                .append("    @Override\n")
+                .append("    public String[] properties() {\n")
+                .append("        return PROPERTIES.clone();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object newInstance(Object[] row, int[] columns) {\n");
+        if (kind == ElementKind.RECORD) {
+            appendConstructorCall(source, properties);
+        } else {
+            appendWrites(source, properties);
+        }
+        source.append("    }\n\n")
+                .append("}\n");
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaFileObject file = env.getFiler().createSourceFile(qualifiedName, projection);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * @return the canonical constructor argument of each component, by name and in declaration order
+     */
+    private Map<String, String> getComponents() {
+        Map<String, String> components = new LinkedHashMap<>();
+        int column = 0;
+        for (RecordComponentElement component : projection.getRecordComponents()) {
+            TypeMirror type = types.erasure(component.asType());
+            String value = "row[columns[" + column++ + "]]";
+            components.put(component.getSimpleName().toString(), type.getKind().isPrimitive()
+                    ? "(" + type + ") (" + boxed(type) + ") " + value
+                    : "(" + type + ") " + value);
+        }
+        return components;
+    }
+
+    /**
+     * same fields as {@code AbstractMetamodel.getDeclaredFields}
+     *
+     * @return the statement setting each writable property to {@code value}, by name
+     */
+    private Map<String, String> getWriters() {
+        boolean constructible = ElementFilter.constructorsIn(projection.getEnclosedElements()).stream()
+                .anyMatch(it -> it.getParameters().isEmpty() && isAccessible(it));
+        if (!constructible) {
+            throw new IllegalStateException(projection + " has no accessible no-arg constructor");
+        }
+        List<ExecutableElement> methods = ElementFilter.methodsIn(elements.getAllMembers(projection));
+        Map<String, String> writers = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        TypeElement type = projection;
+        while (type != null && !type.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                String name = field.getSimpleName().toString();
+                if (modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.TRANSIENT)
+                    || modifiers.contains(Modifier.FINAL)
+                    || !names.add(name)) {
+                    continue;
+                }
+                TypeMirror fieldType = types.erasure(field.asType());
+                String value = "(" + boxed(fieldType) + ") value";
+                ExecutableElement setter = getSetter(methods, name, fieldType);
+                if (setter != null) {
+                    writers.put(name, "result." + setter.getSimpleName() + "(" + value + ");");
+                } else if (isAccessible(field)) {
+                    writers.put(name, "result." + name + " = " + value + ";");
+                }
+            }
+            TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+        return writers;
+    }
+
+    private ExecutableElement getSetter(List<ExecutableElement> methods, String name, TypeMirror type) {
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(setterName)
+                && method.getParameters().size() == 1
+                && !method.getModifiers().contains(Modifier.STATIC)
+                && isAccessible(method)
+                && types.isSameType(types.erasure(method.getParameters().get(0).asType()), type)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the generated class, in the package of the projection, can use the member
+     */
+    private boolean isAccessible(Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE)
+               && elements.getPackageOf(member).getQualifiedName().contentEquals(packageName);
+    }
+
+    private void appendConstructorCall(StringBuilder source, Map<String, String> components) {
+        source.append("        return new ").append(projection.getQualifiedName()).append("(");
+        String delimiter = "";
+        for (String argument : components.values()) {
+            source.append(delimiter).append("\n                ").append(argument);
+            delimiter = ",";
+        }
+        source.append(");\n");
+    }
+
+    private void appendWrites(StringBuilder source, Map<String, String> writers) {
+        source.append("        ").append(projection.getQualifiedName()).append(" result = new ")
+                .append(projection.getQualifiedName()).append("();\n")
+                .append("        Object value;\n");
+        int column = 0;
+        for (Entry<String, String> writer : writers.entrySet()) {
+            source.append("        if (columns[").append(column).append("] >= 0 && (value = row[columns[")
+                    .append(column).append("]]) != null) {\n")
+                    .append("            ").append(writer.getValue()).append("\n")
+                    .append("        }\n");
+            column++;
+        }
+        source.append("        return result;\n");
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+}
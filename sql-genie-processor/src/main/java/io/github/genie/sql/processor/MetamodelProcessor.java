@@ -0,0 +1,82 @@
+package io.github.genie.sql.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * writes an {@code EntityDescriptor} for every {@code @Entity} class, so the metamodel is loaded without
+ * introspecting the entity at runtime, an implementation of every {@code @GenerateImplementation} projection and a
+ * row mapper for every {@code @GenerateMapper} projection
+ */
+@SupportedAnnotationTypes({
+        MetamodelProcessor.ENTITY,
+        MetamodelProcessor.GENERATE_IMPLEMENTATION,
+        MetamodelProcessor.GENERATE_MAPPER
+})
+public class MetamodelProcessor extends AbstractProcessor {
+
+    static final String ENTITY = "jakarta.persistence.Entity";
+    static final String GENERATE_IMPLEMENTATION = "io.github.genie.sql.builder.meta.GenerateImplementation";
+    static final String GENERATE_MAPPER = "io.github.genie.sql.builder.meta.GenerateMapper";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            if (annotation.getQualifiedName().contentEquals(GENERATE_IMPLEMENTATION)) {
+                writeProjections(roundEnv.getElementsAnnotatedWith(annotation));
+                continue;
+            }
+            if (annotation.getQualifiedName().contentEquals(GENERATE_MAPPER)) {
+                writeMappers(roundEnv.getElementsAnnotatedWith(annotation));
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    continue;
+                }
+                TypeElement entity = (TypeElement) element;
+                try {
+                    new EntityDescriptorWriter(processingEnv, entity).write();
+                } catch (IOException | IllegalStateException e) {
+                    processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), entity);
+                }
+            }
+        }
+        // other processors may handle @Entity as well
+        return false;
+    }
+
+    private void writeProjections(Set<? extends Element> elements) {
+        for (Element element : elements) {
+            try {
+                new ProjectionWriter(processingEnv, (TypeElement) element).write();
+            } catch (IOException | IllegalStateException e) {
+                processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), element);
+            }
+        }
+    }
+
+    private void writeMappers(Set<? extends Element> elements) {
+        for (Element element : elements) {
+            try {
+                new MapperWriter(processingEnv, (TypeElement) element).write();
+            } catch (IOException | IllegalStateException e) {
+                processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), element);
+            }
+        }
+    }
+
+}
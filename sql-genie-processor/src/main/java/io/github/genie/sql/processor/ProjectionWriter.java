@@ -0,0 +1,204 @@
+package io.github.genie.sql.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * implements one projection interface with a field per abstract getter. the constructor takes the values boxed and
+ * ordered by getter name, which is how {@code InterfaceConstructor} binds the row to it
+ */
+class ProjectionWriter {
+
+    // same as GenerateImplementation.SUFFIX
+    private static final String SUFFIX = "_Projection";
+
+    private final ProcessingEnvironment env;
+    private final Types types;
+    private final Elements elements;
+    private final TypeElement projection;
+    private final String packageName;
+
+    ProjectionWriter(ProcessingEnvironment env, TypeElement projection) {
+        this.env = env;
+        this.types = env.getTypeUtils();
+        this.elements = env.getElementUtils();
+        this.projection = projection;
+        this.packageName = elements.getPackageOf(projection).getQualifiedName().toString();
+    }
+
+    void write() throws IOException {
+        if (projection.getKind() != ElementKind.INTERFACE) {
+            throw new IllegalStateException("only interfaces can have a generated implementation");
+        }
+        if (!projection.getTypeParameters().isEmpty() || projection.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new IllegalStateException("generic or private projection interfaces can not be implemented");
+        }
+        Map<String, TypeMirror> getters = getGetters();
+        String binaryName = elements.getBinaryName(projection).toString();
+        String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                           + SUFFIX;
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        // no @Generated, java.compiler is not readable from every module that uses the processor
+        source.append("// generated by ").append(MetamodelProcessor.class.getName()).append("\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(className)
+                .append(" implements ").append(projection.getQualifiedName()).append(" {\n\n");
+        for (Entry<String, TypeMirror> getter : getters.entrySet()) {
+            source.append("    private final ").append(boxed(getter.getValue())).append(" ")
+                    .append(getter.getKey()).append(";\n");
+        }
+        source.append("\n    public ").append(className).append("(");
+        String delimiter = "";
+        for (Entry<String, TypeMirror> getter : getters.entrySet()) {
+            source.append(delimiter).append(boxed(getter.getValue())).append(" ").append(getter.getKey());
+            delimiter = ", ";
+        }
+        source.append(") {\n");
+        for (String name : getters.keySet()) {
+            source.append("        this.").append(name).append(" = ").append(name).append(";\n");
+        }
+        source.append("    }\n\n");
+        for (Entry<String, TypeMirror> getter : getters.entrySet()) {
+            source.append("    @Override\n")
+                    .append("    public ").append(getter.getValue()).append(" ").append(getter.getKey()).append("() {\n")
+                    .append("        return this.").append(getter.getKey()).append(";\n")
+                    .append("    }\n\n");
+        }
+        appendEquals(source, className, getters);
+        appendHashCode(source, getters);
+        appendToString(source, getters);
+        source.append("}\n");
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaFileObject file = env.getFiler().createSourceFile(qualifiedName, projection);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * @return erased return types of the abstract getters, by name
+     */
+    private Map<String, TypeMirror> getGetters() {
+        Map<String, TypeMirror> getters = new TreeMap<>();
+        DeclaredType type = (DeclaredType) projection.asType();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(projection))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT) || isObjectMethod(method)) {
+                continue;
+            }
+            TypeMirror returnType = ((ExecutableType) types.asMemberOf(type, method)).getReturnType();
+            if (!method.getParameters().isEmpty()
+                || !method.getTypeParameters().isEmpty()
+                || returnType.getKind() == TypeKind.VOID) {
+                throw new IllegalStateException(method + " of " + projection + " is not a getter");
+            }
+            getters.putIfAbsent(method.getSimpleName().toString(), types.erasure(returnType));
+        }
+        return getters;
+    }
+
+    private static boolean isObjectMethod(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        int parameters = method.getParameters().size();
+        return parameters == 0 && (name.equals("toString") || name.equals("hashCode"))
+               || parameters == 1 && name.equals("equals");
+    }
+
+    private static void appendEquals(StringBuilder source, String className, Map<String, TypeMirror> getters) {
+        source.append("    @Override\n")
+                .append("    public boolean equals(Object o) {\n")
+                .append("        if (this == o) {\n")
+                .append("            return true;\n")
+                .append("        }\n")
+                .append("        if (!(o instanceof ").append(className).append(")) {\n")
+                .append("            return false;\n")
+                .append("        }\n")
+                .append("        ").append(className).append(" that = (").append(className).append(") o;\n")
+                .append("        return ");
+        if (getters.isEmpty()) {
+            source.append("true");
+        }
+        String delimiter = "";
+        for (String name : getters.keySet()) {
+            source.append(delimiter).append("java.util.Objects.equals(this.").append(name)
+                    .append(", that.").append(name).append(")");
+            delimiter = "\n               && ";
+        }
+        source.append(";\n")
+                .append("    }\n\n");
+    }
+
+    private static void appendHashCode(StringBuilder source, Map<String, TypeMirror> getters) {
+        source.append("    @Override\n")
+                .append("    public int hashCode() {\n")
+                .append("        int result = 0;\n");
+        for (String name : getters.keySet()) {
+            source.append("        result = 31 * result + java.util.Objects.hashCode(this.").append(name).append(");\n");
+        }
+        source.append("        return result;\n")
+                .append("    }\n\n");
+    }
+
+    private void appendToString(StringBuilder source, Map<String, TypeMirror> getters) {
+        source.append("    @Override\n")
+                .append("    public String toString() {\n")
+                .append("        return \"").append(projection.getSimpleName()).append("{\"");
+        String delimiter = "";
+        for (String name : getters.keySet()) {
+            source.append("\n                + \"").append(delimiter).append(getPropertyName(name))
+                    .append("=\" + this.").append(name);
+            delimiter = ", ";
+        }
+        source.append("\n                + \"}\";\n")
+                .append("    }\n\n");
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * same as {@code PathReference.getPropertyName}
+     */
+    private static String getPropertyName(String methodName) {
+        StringBuilder builder;
+        if (methodName.length() > 3 && methodName.startsWith("get")) {
+            builder = new StringBuilder(methodName.substring(3));
+        } else if (methodName.length() > 2 && methodName.startsWith("is")) {
+            builder = new StringBuilder(methodName.substring(2));
+        } else {
+            return methodName;
+        }
+        if (builder.length() == 1) {
+            return builder.toString().toLowerCase();
+        }
+        if (Character.isUpperCase(builder.charAt(1))) {
+            return builder.toString();
+        }
+        builder.setCharAt(0, Character.toLowerCase(builder.charAt(0)));
+        return builder.toString();
+    }
+
+}
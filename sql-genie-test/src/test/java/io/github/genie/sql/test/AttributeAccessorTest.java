@@ -0,0 +1,101 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.builder.reflect.AttributeAccessor;
+import io.github.genie.sql.builder.reflect.AttributeAccessor.Kind;
+import io.github.genie.sql.builder.reflect.ReflectUtil;
+import io.github.genie.sql.test.entity.Gender;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AttributeAccessorTest {
+
+    @Test
+    void accessesThroughMethods() throws Exception {
+        AttributeAccessor id = AttributeAccessor.of(User.class.getMethod("getId"),
+                User.class.getMethod("setId", int.class), field(User.class, "id"));
+        AttributeAccessor gender = AttributeAccessor.of(User.class.getMethod("getGender"),
+                User.class.getMethod("setGender", Gender.class), field(User.class, "gender"));
+        User user = new User();
+        id.set(user, 3);
+        gender.set(user, Gender.FEMALE);
+        assertEquals(3, user.getId());
+        assertEquals(3, id.get(user));
+        assertSame(Gender.FEMALE, gender.get(user));
+        assertSame(Kind.LAMBDA, id.getterKind());
+        assertSame(Kind.LAMBDA, id.setterKind());
+    }
+
+    @Test
+    void accessesFieldsWithoutPublicMethods() throws Exception {
+        Method getter = Bean.class.getDeclaredMethod("getSecret");
+        AttributeAccessor secret = AttributeAccessor.of(getter, null, field(Bean.class, "secret"));
+        Bean bean = new Bean();
+        secret.set(bean, 7L);
+        assertEquals(7L, bean.secret);
+        assertEquals(7L, secret.get(bean));
+        assertSame(Kind.VAR_HANDLE, secret.getterKind());
+        assertSame(Kind.VAR_HANDLE, secret.setterKind());
+    }
+
+    @Test
+    void fallsBackToMethodHandlesWithoutPrivateLookup() throws Exception {
+        // java.util.concurrent.atomic is exported but not opened, like an entity package on the module path
+        AttributeAccessor value = AttributeAccessor.of(AtomicInteger.class.getMethod("get"),
+                AtomicInteger.class.getMethod("set", int.class), null);
+        AtomicInteger bean = new AtomicInteger();
+        value.set(bean, 3);
+        assertEquals(3, bean.get());
+        assertEquals(3, value.get(bean));
+        assertSame(Kind.METHOD_HANDLE, value.getterKind());
+        assertSame(Kind.METHOD_HANDLE, value.setterKind());
+    }
+
+    @Test
+    void dropsResultOfFluentSetters() throws Exception {
+        AttributeAccessor name = AttributeAccessor.of(Bean.class.getMethod("name"),
+                Bean.class.getMethod("name", String.class), field(Bean.class, "name"));
+        Bean bean = new Bean();
+        name.set(bean, "a");
+        assertEquals("a", name.get(bean));
+        assertSame(Kind.LAMBDA, name.setterKind());
+    }
+
+    @Test
+    void nullIntoPrimitiveFails() throws Exception {
+        AttributeAccessor id = AttributeAccessor.of(User.class.getMethod("getId"),
+                User.class.getMethod("setId", int.class), field(User.class, "id"));
+        assertThrows(NullPointerException.class, () -> id.set(new User(), null));
+    }
+
+    private static Field field(Class<?> type, String name) {
+        return ReflectUtil.getDeclaredField(type, name);
+    }
+
+    public static class Bean {
+        private long secret;
+        private String name;
+
+        @SuppressWarnings("unused")
+        private long getSecret() {
+            throw new AssertionError("private getters are bypassed");
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Bean name(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.builder.exception.OptimisticLockException;
+import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateOptions;
+import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.InsertTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchSizeTest {
+
+    final List<String> events = new ArrayList<>();
+    int failAtBatch = -1;
+    int batches;
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final JdbcUpdate update = new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of(),
+            new JdbcUpdateOptions().batchSize(2));
+
+    {
+        provider.batchCounts = size -> {
+            events.add("flush" + size);
+            int[] counts = new int[size];
+            Arrays.fill(counts, ++batches == failAtBatch ? 0 : 1);
+            return counts;
+        };
+    }
+
+    @Test
+    void deleteStreamsIterable() {
+        List<InsertTest> entities = entities(5);
+        Iterable<InsertTest> lazy = () -> {
+            Iterator<InsertTest> iterator = entities.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public InsertTest next() {
+                    events.add("next");
+                    return iterator.next();
+                }
+            };
+        };
+        update.delete(lazy, InsertTest.class);
+        assertEquals(List.of("next", "next", "flush2", "next", "next", "flush2", "next", "flush1"), events);
+    }
+
+    @Test
+    void updateFailsOnAnyChunkBeforeBumpingVersions() {
+        List<InsertTest> entities = entities(5);
+        update.update(entities, InsertTest.class);
+        assertEquals(List.of(1, 1, 1, 1, 1),
+                entities.stream().map(InsertTest::getVersion).collect(Collectors.toList()));
+
+        failAtBatch = batches + 2;
+        assertThrows(OptimisticLockException.class, () -> update.update(entities, InsertTest.class));
+        assertEquals(List.of(1, 1, 1, 1, 1),
+                entities.stream().map(InsertTest::getVersion).collect(Collectors.toList()));
+    }
+
+    private static List<InsertTest> entities(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new InsertTest(i, i))
+                .collect(Collectors.toList());
+    }
+
+}
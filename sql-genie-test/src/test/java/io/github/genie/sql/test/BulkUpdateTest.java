@@ -0,0 +1,79 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.InsertTest;
+import io.github.genie.sql.test.entity.Tag;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkUpdateTest {
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final List<String> sql = provider.sql;
+    final List<Object> bound = provider.bound;
+
+    final JdbcUpdate update = new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of());
+
+    {
+        provider.updateCount = sql -> 3;
+    }
+
+    @Test
+    void updatesMatchingRows() {
+        int rows = update.update(User.class)
+                .set(User::getUsername, "x")
+                .setExpression(User::getRandomNumber, Q.get(User::getRandomNumber).add(1))
+                .where(User::getId).gt(10)
+                .execute();
+        assertEquals(3, rows);
+        assertEquals(List.of("update `user` u_ set u_.username=?,u_.random_number=u_.random_number+?"
+                             + ",u_.opt_lock=u_.opt_lock+? where u_.id>?"), sql);
+        assertEquals(List.of("x", 1, 1, 10), bound);
+    }
+
+    @Test
+    void updateBumpsVersion() {
+        update.update(InsertTest.class).set(InsertTest::getNum, 1).where(InsertTest::getId).eq(2).execute();
+        assertEquals(List.of("update `insert_test` i_ set i_.num=?,i_.version=i_.version+? where i_.id=?"), sql);
+    }
+
+    @Test
+    void updateJoinsReferencedEntities() {
+        update.update(User.class)
+                .set(User::getPid, null)
+                .where(User::getParentUser).get(User::getUsername).eq("x")
+                .execute();
+        assertEquals(List.of("update `user` u_ left join `user` u0_ on u_.pid=u0_.id"
+                             + " set u_.pid=?,u_.opt_lock=u_.opt_lock+? where u0_.username=?"), sql);
+    }
+
+    @Test
+    void deletesMatchingRows() {
+        update.delete(Tag.class).where(Tag::getName).eq("a").where(Tag::getId).in(1, 2).execute();
+        assertEquals(List.of("delete t_ from `tag` t_ where t_.name=? and t_.id in(?,?)"), sql);
+        assertEquals(List.of("a", 1, 2), bound);
+    }
+
+    @Test
+    void emptyPredicateSkipsStatement() {
+        assertEquals(0, update.delete(Tag.class).where(Tag::getId).in().execute());
+        assertTrue(sql.isEmpty());
+    }
+
+    @Test
+    void whereIsRequired() {
+        assertThrows(IllegalStateException.class, () -> update.delete(Tag.class).execute());
+        assertThrows(IllegalStateException.class, () -> update.update(Tag.class).set(Tag::getName, "a").execute());
+        assertThrows(IllegalStateException.class, () -> update.update(Tag.class).where(Tag::getId).eq(1).execute());
+    }
+
+}
@@ -0,0 +1,172 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.ColumnarResult;
+import io.github.genie.sql.api.ColumnarResult.ColumnType;
+import io.github.genie.sql.api.LongHashSet;
+import io.github.genie.sql.api.Query;
+import io.github.genie.sql.builder.ColumnarResults;
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor;
+import io.github.genie.sql.executor.jdbc.JdbcResultCollector;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarResultTest {
+
+    static final int ROWS = 40;
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final List<Object[]> rows = provider.rows;
+
+    final JdbcQueryExecutor executor = new JdbcQueryExecutor(JpaMetamodel.of(), new MySqlQuerySqlBuilder(),
+            provider, new JdbcResultCollector());
+
+    @Test
+    void readsPrimitiveColumns() {
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{i, "user" + i, i % 3 == 0 ? null : i, (long) i * 10, i % 2 == 0});
+        }
+        ColumnarResult result = executor.createQuery()
+                .from(User.class)
+                .select(User::getId, User::getUsername, User::getPid, User::getTestLong, User::isValid)
+                .getColumns();
+        assertEquals(ROWS, result.size());
+        assertEquals(5, result.columnCount());
+        assertEquals(ColumnType.INT, result.columnType(0));
+        assertEquals(ColumnType.STRING, result.columnType(1));
+        assertEquals(ColumnType.LONG, result.columnType(3));
+        assertEquals(ColumnType.BOOLEAN, result.columnType(4));
+        assertEquals(ROWS, result.ints(0).length);
+        assertEquals(39, result.ints(0)[39]);
+        assertEquals("user7", result.strings(1)[7]);
+        assertTrue(result.isNull(2, 3));
+        assertNull(result.get(2, 3));
+        assertEquals(0, result.ints(2)[3]);
+        assertFalse(result.isNull(2, 4));
+        assertEquals(4, result.get(2, 4));
+        assertEquals(390L, result.longs(3)[39]);
+        assertTrue(result.booleans(4)[38]);
+        assertThrows(IllegalStateException.class, () -> result.longs(0));
+    }
+
+    @Test
+    void readsSingleColumn() {
+        rows.add(new Object[]{"a"});
+        rows.add(new Object[]{null});
+        ColumnarResult result = executor.createQuery().from(User.class).select(User::getUsername).getColumns();
+        assertArrayEquals(new String[]{"a", null}, result.strings(0));
+        assertTrue(result.isNull(0, 1));
+    }
+
+    @Test
+    void readsPrimitiveArrays() {
+        rows.add(new Object[]{3});
+        rows.add(new Object[]{null});
+        rows.add(new Object[]{5});
+        Query.Collector<Integer> ids = executor.createQuery().from(User.class).select(User::getPid);
+        assertArrayEquals(new int[]{3, 5}, ids.getIntArray());
+        assertArrayEquals(new long[]{3, 5}, ids.getLongArray());
+        assertArrayEquals(new double[]{3, 5}, ids.getDoubleArray());
+        LongHashSet set = ids.getLongSet();
+        assertEquals(2, set.size());
+        assertTrue(set.contains(5));
+        assertFalse(set.contains(4));
+    }
+
+    @Test
+    void typesAggregatesFromMetadata() {
+        provider.columnTypes = new int[]{Types.INTEGER, Types.BIGINT, Types.DOUBLE};
+        rows.add(new Object[]{1, 3L, 1.5});
+        rows.add(new Object[]{2, 4L, 2.5});
+        ColumnarResult result = executor.createQuery()
+                .from(User.class)
+                .select(List.of(Q.get(User::getRandomNumber), Q.count(User::getId), Q.avg(User::getTimestamp)))
+                .groupBy(User::getRandomNumber)
+                .getColumns();
+        assertEquals(ColumnType.LONG, result.columnType(1));
+        assertEquals(ColumnType.DOUBLE, result.columnType(2));
+        assertArrayEquals(new long[]{3, 4}, result.toLongArray(1));
+        assertArrayEquals(new double[]{1.5, 2.5}, result.toDoubleArray(2));
+    }
+
+    @Test
+    void emptyResultsGivePrimitiveArrays() {
+        Query.Collector<Integer> ids = executor.createQuery()
+                .from(User.class)
+                .select(User::getId)
+                .where(User::getId).in(Set.<Integer>of());
+        assertArrayEquals(new long[0], ids.getLongArray());
+        assertTrue(provider.sql.isEmpty());
+        assertEquals(ColumnType.INT, ids.getColumns().columnType(0));
+        assertArrayEquals(new int[0], ids.getIntArray());
+        assertArrayEquals(new double[0], ids.getDoubleArray());
+        assertEquals(0, ids.getLongSet().size());
+    }
+
+    @Test
+    void allNullColumnsGivePrimitiveArrays() {
+        rows.add(new Object[]{null, null});
+        rows.add(new Object[]{null, null});
+        ColumnarResult result = ColumnarResults.of(rows, 2);
+        assertEquals(ColumnType.OBJECT, result.columnType(0));
+        assertArrayEquals(new int[0], result.toIntArray(0));
+        assertArrayEquals(new long[0], result.toLongArray(0));
+        assertArrayEquals(new double[0], result.toDoubleArray(1));
+        assertEquals(ColumnType.INT, ColumnarResults.of(rows, List.of(Integer.class, Object.class)).columnType(0));
+    }
+
+    @Test
+    void primitiveArraysRequireSingleColumn() {
+        rows.add(new Object[]{1, 2});
+        assertThrows(IllegalStateException.class, () -> executor.createQuery()
+                .from(User.class)
+                .select(User::getId, User::getPid)
+                .getLongArray());
+    }
+
+    @Test
+    void longSetGrows() {
+        LongHashSet set = new LongHashSet();
+        for (long i = -1000; i < 1000; i += 2) {
+            assertTrue(set.add(i * 31));
+        }
+        assertFalse(set.add(0));
+        assertEquals(1000, set.size());
+        for (long i = -1000; i < 1000; i++) {
+            assertEquals(i % 2 == 0, set.contains(i * 31));
+        }
+        assertEquals(1000, set.toArray().length);
+    }
+
+    @Test
+    void requiresSelectedExpressions() {
+        assertThrows(IllegalStateException.class, () -> executor.createQuery().from(User.class).getColumns());
+    }
+
+    @Test
+    void transposesRows() {
+        ColumnarResult result = ColumnarResults.of(List.of(
+                new Object[]{null, 1.5, "x"},
+                new Object[]{2, null, new StringBuilder("y")}), 3);
+        assertEquals(ColumnType.INT, result.columnType(0));
+        assertEquals(ColumnType.DOUBLE, result.columnType(1));
+        assertEquals(ColumnType.OBJECT, result.columnType(2));
+        assertArrayEquals(new int[]{0, 2}, result.ints(0));
+        assertTrue(result.isNull(0, 0));
+        assertTrue(result.isNull(1, 1));
+    }
+
+}
@@ -0,0 +1,94 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.builder.meta.BasicAttribute;
+import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateOptions;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateSqlBuilder;
+import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.InsertTest;
+import io.github.genie.sql.test.entity.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeleteByIdsTest {
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final List<String> sql = provider.sql;
+    final List<Object> bound = provider.bound;
+    int batches;
+
+    {
+        provider.batchCounts = size -> {
+            batches++;
+            return new int[]{1, 1, 1};
+        };
+    }
+
+    @Test
+    void deletesInPaddedChunks() {
+        update(4).delete(tags(11), Tag.class);
+        String in4 = "delete from `tag` where `id` in (?,?,?,?)";
+        assertEquals(List.of(in4, in4, in4), sql);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 10), bound);
+
+        sql.clear();
+        update(1000).delete(tags(5), Tag.class);
+        assertEquals(List.of("delete from `tag` where `id` in (?,?,?,?,?,?,?,?)"), sql);
+    }
+
+    @Test
+    void versionedEntitiesStayRowByRow() {
+        List<InsertTest> entities = IntStream.range(0, 3)
+                .mapToObj(i -> new InsertTest(i, i))
+                .collect(Collectors.toList());
+        update(1000).delete(entities, InsertTest.class);
+        assertEquals(List.of("delete from `insert_test` where `id`=?"), sql);
+        assertEquals(1, batches);
+        assertEquals(3, bound.size());
+    }
+
+    @Test
+    void buildersWithoutIdListsStayRowByRow() {
+        MysqlUpdateSqlBuilder mysql = new MysqlUpdateSqlBuilder();
+        JdbcUpdateSqlBuilder builder = new JdbcUpdateSqlBuilder() {
+            @Override
+            public PreparedSql buildInsert(@NotNull EntityType entityType) {
+                return mysql.buildInsert(entityType);
+            }
+
+            @Override
+            public PreparedSql buildUpdate(@NotNull EntityType entityType, @NotNull List<BasicAttribute> columns) {
+                return mysql.buildUpdate(entityType, columns);
+            }
+
+            @Override
+            public PreparedSql buildDelete(EntityType entity) {
+                return mysql.buildDelete(entity);
+            }
+        };
+        new JdbcUpdate(builder, provider, JpaMetamodel.of()).delete(tags(3), Tag.class);
+        assertEquals(List.of("delete from `tag` where `id`=?"), sql);
+        assertEquals(1, batches);
+        assertEquals(List.of(0, 1, 2), bound);
+    }
+
+    private static List<Tag> tags(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new Tag(i, "t" + i))
+                .collect(Collectors.toList());
+    }
+
+    private JdbcUpdate update(int chunkSize) {
+        return new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of(),
+                new JdbcUpdateOptions().deleteChunkSize(chunkSize));
+    }
+
+}
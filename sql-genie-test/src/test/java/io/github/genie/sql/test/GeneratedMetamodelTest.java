@@ -0,0 +1,133 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.Query.Collector;
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.builder.AttributePath;
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.builder.meta.AnyToOneAttribute;
+import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.BasicAttribute;
+import io.github.genie.sql.builder.meta.EntityDescriptor;
+import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.builder.meta.Metamodel;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.InsertTest;
+import io.github.genie.sql.test.entity.Tag;
+import io.github.genie.sql.test.entity.User;
+import io.github.genie.sql.test.entity.User_Genie;
+import io.github.genie.sql.test.example.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeneratedMetamodelTest {
+
+    private final Metamodel generated = JpaMetamodel.of();
+    private final Metamodel reflective = new JpaMetamodel() {
+    };
+
+    private final Select<User> query = new RecordingQueryExecutor().createQuery().from(User.class);
+
+    @Test
+    void descriptorsAreGenerated() {
+        assertNotNull(EntityDescriptor.find(User.class));
+        assertNotNull(EntityDescriptor.find(Employee.class));
+        assertNull(EntityDescriptor.find(GeneratedMetamodelTest.class));
+    }
+
+    @Test
+    void subclassHooksAreNotBypassed() {
+        Metamodel custom = new JpaMetamodel() {
+            @Override
+            protected String getTableName(Class<?> javaType) {
+                return "custom_" + super.getTableName(javaType);
+            }
+        };
+        assertEquals("custom_user", custom.getEntity(User.class).tableName());
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {User.class, Tag.class, InsertTest.class, Employee.class})
+    void matchesReflectiveMetamodel(Class<?> type) {
+        EntityType expected = reflective.getEntity(type);
+        EntityType actual = generated.getEntity(type);
+        assertEquals(expected.tableName(), actual.tableName());
+        assertEquals(name(expected.id()), name(actual.id()));
+        assertEquals(name(expected.version()), name(actual.version()));
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    @Test
+    void accessesAttributes() {
+        EntityType entity = generated.getEntity(User.class);
+        User user = new User();
+        entity.getAttribute("username").set(user, "a");
+        entity.version().set(user, 2);
+        assertEquals("a", user.getUsername());
+        assertEquals("a", entity.getAttribute("username").get(user));
+        assertEquals(2, entity.version().get(user));
+    }
+
+    @Test
+    void pathConstantsBuildSameQueries() {
+        assertEquals(structure(query.select(User::getUsername)
+                        .where(User::getId).gt(1)
+                        .where(User::isValid).eq(true)
+                        .where(User::getParentUser).get(User::getUsername).eq("a")
+                        .orderBy(Q.desc(User::getTime))),
+                structure(query.select(User_Genie.username)
+                        .where(User_Genie.id).gt(1)
+                        .where(User_Genie.valid).eq(true)
+                        .where(User_Genie.parentUser).get(User_Genie.username).eq("a")
+                        .orderBy(Q.desc(User_Genie.time))));
+        assertEquals(structure(query.select(User::getRandomNumber).where(User::getTestLocalDate).isNotNull()),
+                structure(query.select(User_Genie.randomNumber).where(User_Genie.testLocalDate).isNotNull()));
+    }
+
+    @Test
+    void pathConstantsCarryProperty() {
+        AttributePath<?, ?> id = assertInstanceOf(AttributePath.class, User_Genie.id);
+        assertEquals("id", id.getPropertyName());
+        assertEquals(Integer.class, id.getReturnType());
+        assertEquals(User.class, id.getEntityType());
+        User user = new User();
+        user.setId(5);
+        assertEquals(5, User_Genie.id.apply(user));
+        assertThrows(IllegalStateException.class, () -> User_Genie.optLock.apply(user));
+    }
+
+    private static QueryStructure structure(Collector<?> collector) {
+        return collector.buildMetadata().getList(-1, -1, LockModeType.NONE);
+    }
+
+    private static Map<String, String> describe(EntityType entity) {
+        Map<String, String> result = new TreeMap<>();
+        for (Attribute attribute : entity.attributes()) {
+            String value = attribute.javaType().getName();
+            if (attribute instanceof BasicAttribute basic) {
+                value += " " + basic.columnName() + " " + basic.hasVersion();
+            } else if (attribute instanceof AnyToOneAttribute anyToOne) {
+                value += " " + anyToOne.joinColumnName() + " " + anyToOne.referencedColumnName()
+                         + " " + anyToOne.tableName();
+            }
+            result.put(attribute.name(), value);
+        }
+        return result;
+    }
+
+    private static String name(Attribute attribute) {
+        return attribute == null ? null : attribute.name();
+    }
+
+}
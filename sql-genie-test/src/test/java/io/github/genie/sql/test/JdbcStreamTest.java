@@ -0,0 +1,74 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.QuerySqlBuilder;
+import io.github.genie.sql.executor.jdbc.JdbcResultCollector;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcStreamTest {
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+
+    @Test
+    void streamsFromLentConnection() {
+        provider.lending = true;
+        provider.rows.add(new Object[]{1});
+        provider.rows.add(new Object[]{2});
+        try (Stream<Integer> stream = query(new MySqlQuerySqlBuilder()).select(User::getId).stream()) {
+            assertEquals(List.of(1, 2), stream.toList());
+        }
+        assertEquals(1, provider.borrowed);
+        assertEquals(1, provider.released);
+        assertNull(provider.fetchSize);
+    }
+
+    @Test
+    void streamsRowByRowOnMysqlDriver() {
+        provider.lending = true;
+        provider.driverName = "MySQL Connector/J";
+        provider.columnTypes = new int[]{Types.INTEGER};
+        try (Stream<Integer> stream = query(new MySqlQuerySqlBuilder()).select(User::getId).stream()) {
+            assertEquals(0, stream.count());
+        }
+        assertEquals(JdbcQueryExecutor.MYSQL_STREAMING_FETCH_SIZE, provider.fetchSize);
+    }
+
+    @Test
+    void readsListWithoutLentConnection() {
+        provider.rows.add(new Object[]{1});
+        provider.rows.add(new Object[]{2});
+        try (Stream<Integer> stream = query(new MySqlQuerySqlBuilder()).select(User::getId).stream()) {
+            assertEquals(List.of(1, 2), stream.toList());
+        }
+        assertEquals(1, provider.sql.size());
+        assertEquals(0, provider.borrowed);
+    }
+
+    @Test
+    void failedBuildBorrowsNoConnection() {
+        provider.lending = true;
+        Select<User> query = query((structure, metamodel) -> {
+            throw new IllegalStateException("build");
+        });
+        assertThrows(IllegalStateException.class, query::stream);
+        assertEquals(0, provider.borrowed);
+    }
+
+    private Select<User> query(QuerySqlBuilder sqlBuilder) {
+        return new JdbcQueryExecutor(JpaMetamodel.of(), sqlBuilder, provider, new JdbcResultCollector())
+                .createQuery().from(User.class);
+    }
+
+}
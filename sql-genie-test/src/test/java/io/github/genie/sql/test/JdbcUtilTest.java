@@ -0,0 +1,80 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.executor.jdbc.JdbcUtil;
+import io.github.genie.sql.test.entity.Gender;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JdbcUtilTest {
+
+    final List<String> calls = new ArrayList<>();
+
+    @Test
+    void readsWithTypedAccessors() throws Exception {
+        Timestamp timestamp = Timestamp.valueOf("2024-01-02 03:04:05");
+        ResultSet resultSet = resultSet(7, 1, "a", timestamp, new BigDecimal("1.50"));
+        assertEquals(7, JdbcUtil.getValue(resultSet, 1, int.class));
+        assertEquals(Gender.FEMALE, JdbcUtil.getValue(resultSet, 2, Gender.class));
+        assertEquals("a", JdbcUtil.getValue(resultSet, 3, String.class));
+        assertEquals(timestamp.toLocalDateTime(), JdbcUtil.getValue(resultSet, 4, LocalDateTime.class));
+        assertEquals(new BigDecimal("1.50"), JdbcUtil.getValue(resultSet, 5, BigDecimal.class));
+        assertEquals(List.of("getInt", "getInt", "getString", "getTimestamp", "getBigDecimal"), calls);
+    }
+
+    @Test
+    void nullsStayNull() throws Exception {
+        ResultSet resultSet = resultSet(null, null, null);
+        assertNull(JdbcUtil.getValue(resultSet, 1, Long.class));
+        assertNull(JdbcUtil.getValue(resultSet, 2, Gender.class));
+        assertNull(JdbcUtil.getValue(resultSet, 3, boolean.class));
+    }
+
+    @Test
+    void bindsWithTypedSetters() throws Exception {
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    calls.add(method.getName() + Arrays.asList(args));
+                    return null;
+                });
+        Timestamp timestamp = Timestamp.valueOf("2024-01-02 03:04:05");
+        JdbcUtil.setParam(statement, Arrays.asList(1, 2L, "a", Gender.FEMALE, timestamp, null));
+        assertEquals(List.of("setInt[1, 1]", "setLong[2, 2]", "setString[3, a]", "setInt[4, 1]",
+                "setTimestamp[5, " + timestamp + "]", "setObject[6, null]"), calls);
+    }
+
+    private ResultSet resultSet(Object... row) {
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("wasNull")) {
+                        return wasNull[0];
+                    }
+                    calls.add(method.getName());
+                    Object value = row[(Integer) args[0] - 1];
+                    wasNull[0] = value == null;
+                    Class<?> type = method.getReturnType();
+                    if (type == int.class) {
+                        return value == null ? 0 : (Integer) value;
+                    } else if (type == long.class) {
+                        return value == null ? 0L : ((Number) value).longValue();
+                    } else if (type == boolean.class) {
+                        return value != null && (Boolean) value;
+                    }
+                    return value;
+                });
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.Page;
+import io.github.genie.sql.api.Query.Collector;
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.tuple.Tuple2;
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.builder.Tuples;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.PreparedSql;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.Gender;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPageTest {
+
+    final RecordingQueryExecutor executor = new RecordingQueryExecutor();
+    final List<QueryStructure> executed = executor.executed;
+    List<?> rows = List.of();
+
+    {
+        executor.rows = structure -> rows;
+    }
+
+    final Select<User> query = executor.createQuery().from(User.class);
+
+    @Test
+    void seeksAfterLastRowOfMixedOrder() {
+        Collector<User> collector = query.orderBy(List.of(Q.desc(User::getRandomNumber), Q.asc(User::getId)));
+        rows = List.of(user(1, 30), user(2, 20), user(3, 20));
+        Page<User> first = collector.getPage(2);
+        assertEquals(2, first.data().size());
+        assertTrue(first.hasNext());
+
+        rows = List.of(user(3, 20));
+        Page<User> second = collector.getPage(first.next(), 2);
+        assertEquals(1, second.data().size());
+        assertNull(second.next());
+
+        PreparedSql sql = new MySqlQuerySqlBuilder().build(executed.get(1), JpaMetamodel.of());
+        assertTrue(sql.sql().contains("where u_.random_number<? or(u_.random_number is null)"
+                                      + " or u_.random_number=? and u_.id>?"), sql.sql());
+        assertEquals(List.of(20, 20, 2, 3), sql.args());
+    }
+
+    @Test
+    void keysComeFromTupleSelection() {
+        Collector<Tuple2<Gender, Integer>> collector = query.select(User::getGender, User::getId)
+                .orderBy(List.of(Q.asc(User::getGender), Q.asc(User::getId)));
+        rows = List.of(Tuples.of(null, 1), Tuples.of(Gender.FEMALE, 2));
+        Page<Tuple2<Gender, Integer>> first = collector.getPage(1);
+        rows = List.of();
+        assertFalse(collector.getPage(first.next(), 1).hasNext());
+        String sql = new MySqlQuerySqlBuilder().build(executed.get(1), JpaMetamodel.of()).sql();
+        assertTrue(sql.contains("where u_.gender is not null or (u_.gender is null) and u_.id>?"), sql);
+    }
+
+    @Test
+    void rejectsForeignCursor() {
+        Collector<User> collector = query.orderBy(User::getId).asc();
+        assertThrows(IllegalArgumentException.class, () -> collector.getPage("not-a-cursor", 10));
+        assertThrows(IllegalStateException.class, () -> query.getPage(10));
+    }
+
+    private static User user(int id, int randomNumber) {
+        User user = new User();
+        user.setId(id);
+        user.setRandomNumber(randomNumber);
+        return user;
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateOptions;
+import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.InsertTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiRowInsertTest {
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final List<String> sql = provider.sql;
+
+    {
+        provider.updateCount = MultiRowInsertTest::rows;
+        provider.nextKey = 100;
+    }
+
+    @Test
+    void chunksRowsAndMapsKeysInOrder() {
+        JdbcUpdate update = new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of(),
+                new JdbcUpdateOptions().insertRowsPerStatement(3));
+        List<InsertTest> entities = IntStream.range(0, 7)
+                .mapToObj(i -> new InsertTest(null, i))
+                .collect(Collectors.toList());
+        update.insert(entities, InsertTest.class);
+        assertEquals(List.of(3, 3, 1), sql.stream().map(MultiRowInsertTest::rows).collect(Collectors.toList()));
+        assertEquals(List.of(100, 101, 102, 103, 104, 105, 106),
+                entities.stream().map(InsertTest::getId).collect(Collectors.toList()));
+        assertEquals(7 * 3, provider.bound.size());
+    }
+
+    @Test
+    void packetSizeCapsRows() {
+        JdbcUpdate update = new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of(),
+                new JdbcUpdateOptions().insertRowsPerStatement(100).maxPacketSize(250));
+        List<InsertTest> entities = IntStream.range(0, 5)
+                .mapToObj(i -> new InsertTest(null, i))
+                .collect(Collectors.toList());
+        update.insert(entities, InsertTest.class);
+        assertTrue(sql.size() > 1, sql::toString);
+        assertEquals(5, sql.stream().mapToInt(MultiRowInsertTest::rows).sum());
+    }
+
+    @Test
+    void rejectsBuildersWithoutMultiRowInsert() {
+        MysqlUpdateSqlBuilder builder = new MysqlUpdateSqlBuilder() {
+            @Override
+            public boolean supportsMultiRowInsert() {
+                return false;
+            }
+        };
+        JdbcUpdateOptions options = new JdbcUpdateOptions().insertRowsPerStatement(3);
+        assertThrows(IllegalArgumentException.class, () -> new JdbcUpdate(builder, provider, JpaMetamodel.of(), options));
+        new JdbcUpdate(builder, provider, JpaMetamodel.of(), options.insertRowsPerStatement(1));
+    }
+
+    private static int rows(String sql) {
+        return sql.split("\\),\\(").length;
+    }
+
+}
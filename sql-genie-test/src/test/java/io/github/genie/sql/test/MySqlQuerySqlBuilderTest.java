@@ -0,0 +1,105 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.PreparedSql;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MySqlQuerySqlBuilderTest {
+
+    static final Select<User> query = new RecordingQueryExecutor().createQuery().from(User.class);
+
+    final MySqlQuerySqlBuilder cached = new MySqlQuerySqlBuilder();
+    final MySqlQuerySqlBuilder uncached = new MySqlQuerySqlBuilder(0);
+
+    @Test
+    void cachedSqlMatchesFreshBuild() {
+        for (int j = 0; j < 3; j++) {
+            int i = j;
+            assertSameSql(query.where(User::getId).eq(i)
+                    .buildMetadata().getList(i, 10 + i, LockModeType.NONE));
+            assertSameSql(query.fetch(User::getParentUser)
+                    .where(User::getUsername).eq("user" + i)
+                    .where(User::isValid).eq(i % 2 == 0)
+                    .buildMetadata().getList(0, i, LockModeType.NONE));
+            assertSameSql(query.where(User::getRandomNumber).in(i, i + 1, i + 2)
+                    .orderBy(User::getId).desc()
+                    .buildMetadata().getList(-1, -1, LockModeType.NONE));
+            assertSameSql(query.where(User::getRandomNumber).in()
+                    .buildMetadata().count());
+            assertSameSql(query.selectDistinct(User::getRandomNumber)
+                    .where(User::getRandomNumber).between(i, i + 10)
+                    .buildMetadata().count());
+            assertSameSql(query.select(User::getRandomNumber)
+                    .groupBy(User::getRandomNumber)
+                    .having(root -> root.get(User::getRandomNumber).gt(i))
+                    .buildMetadata().count());
+            assertSameSql(query.where(User::getParentUser).get(User::getUsername).eq("p" + i)
+                    .buildMetadata().exist(i));
+        }
+    }
+
+    @Test
+    void cacheHitReusesTemplate() {
+        PreparedSql first = cached.build(query.where(User::getId).eq(1)
+                .buildMetadata().getList(20, 10, LockModeType.NONE), JpaMetamodel.of());
+        PreparedSql second = cached.build(query.where(User::getId).eq(2)
+                .buildMetadata().getList(30, 10, LockModeType.NONE), JpaMetamodel.of());
+        assertSame(first.sql(), second.sql());
+        assertSame(first.selected(), second.selected());
+        assertEquals(List.of(2, 30, 10L), second.args());
+    }
+
+    @Test
+    void joinColumnReferenceSkipsJoin() {
+        String sql = uncached.build(query.where(User::getParentUser).get(User::getId).eq(1)
+                .buildMetadata().count(), JpaMetamodel.of()).sql();
+        assertFalse(sql.contains("join"), sql);
+        sql = uncached.build(query.where(User::getParentUser).get(User::getUsername).eq("p")
+                .buildMetadata().count(), JpaMetamodel.of()).sql();
+        assertTrue(sql.contains("left join"), sql);
+        sql = uncached.build(query.fetch(User::getParentUser).buildMetadata().count(), JpaMetamodel.of()).sql();
+        assertFalse(sql.contains("join"), sql);
+        sql = uncached.build(query.fetch(User::getParentUser)
+                .where(User::getParentUser).get(User::getId).eq(1)
+                .buildMetadata().getList(0, 10, LockModeType.NONE), JpaMetamodel.of()).sql();
+        assertTrue(sql.contains("left join"), sql);
+    }
+
+    @Test
+    void windowTotalColumn() {
+        MySqlQuerySqlBuilder window = new MySqlQuerySqlBuilder(MySqlQuerySqlBuilder.DEFAULT_CACHE_SIZE, true);
+        QueryStructure list = query.where(User::getId).gt(1).buildMetadata().getList(10, 20, LockModeType.NONE);
+        PreparedSql sql = window.buildWithTotal(list, JpaMetamodel.of());
+        assertEquals(window.build(list, JpaMetamodel.of()).sql()
+                .replace(" from ", "," + MySqlQuerySqlBuilder.COUNT_OVER + " from "), sql.sql());
+        assertSame(sql.sql(), window.buildWithTotal(list, JpaMetamodel.of()).sql());
+        assertNull(cached.buildWithTotal(list, JpaMetamodel.of()));
+        assertNull(window.buildWithTotal(query.selectDistinct(User::getRandomNumber)
+                .buildMetadata().getList(0, 10, LockModeType.NONE), JpaMetamodel.of()));
+        assertNull(window.buildWithTotal(query.select(User::getRandomNumber).groupBy(User::getRandomNumber)
+                .buildMetadata().getList(0, 10, LockModeType.NONE), JpaMetamodel.of()));
+    }
+
+    private void assertSameSql(QueryStructure structure) {
+        PreparedSql expected = uncached.build(structure, JpaMetamodel.of());
+        cached.build(structure, JpaMetamodel.of());
+        PreparedSql actual = cached.build(structure, JpaMetamodel.of());
+        assertEquals(expected.sql(), actual.sql());
+        assertEquals(expected.args(), actual.args());
+        assertEquals(expected.selected(), actual.selected());
+    }
+
+}
@@ -0,0 +1,74 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.Query.Collector;
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.builder.Expressions;
+import io.github.genie.sql.builder.PredicateOptimizer;
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.builder.QueryStructurePostProcessor;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PredicateOptimizerTest {
+
+    final RecordingQueryExecutor executor = new RecordingQueryExecutor();
+    final List<QueryStructure> executed = executor.executed;
+    final Select<User> query = executor.createQuery().from(User.class);
+    final Select<User> plain = new RecordingQueryExecutor()
+            .createQuery(QueryStructurePostProcessor.NONE, PredicateOptimizer.NONE).from(User.class);
+
+    @Test
+    void contradictionsSkipExecution() {
+        assertEquals(0, query.where(User::getRandomNumber).in().count());
+        assertEquals(List.of(), query.where(User::getId).eq(1).where(User::getId).eq(2).getList());
+        assertFalse(query.where(User::getId).gt(10).where(User::getId).le(10).exist());
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    void aggregateWithoutGroupByStillExecutes() {
+        query.select(Q.get(User::getId).count())
+                .where(User::getId).in()
+                .getList();
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    void mergesEqualitiesAndRanges() {
+        assertEquals(where(plain.where(User::getId).in(3, 4)),
+                where(query.where(User::getId).in(1, 2, 3, 4).where(User::getId).in(2, 3, 4, 5)
+                        .where(User::getId).ge(3)));
+        assertEquals(where(plain.where(User::getId).eq(3)),
+                where(query.where(User::getId).in(3, 4).where(User::getId).in(3)));
+        assertEquals(where(plain.where(User::getId).in(1, 2)),
+                where(query.where(Q.get(User::getId).eq(1).or(User::getId).eq(2))));
+        assertEquals(where(plain.where(User::getRandomNumber).gt(5).where(User::getRandomNumber).le(7)),
+                where(query.where(User::getRandomNumber).between(3, 7)
+                        .where(User::getRandomNumber).gt(5)
+                        .where(User::getRandomNumber).le(9)));
+        assertEquals(where(plain.where(User::getUsername).eq("a")),
+                where(query.where(User::getUsername).eq("a").where(User::getUsername).eq("a")));
+    }
+
+    @Test
+    void keepsPredicatesThatCannotBeDecided() {
+        assertEquals(where(plain.where(User::getUsername).eq("a").where(User::getUsername).eq("A")),
+                where(query.where(User::getUsername).eq("a").where(User::getUsername).eq("A")));
+        Expression negated = where(query.where(Q.not(Q.get(User::getId).eq(1).and(User::getId).eq(2))));
+        assertFalse(Expressions.isTrue(negated) || Expressions.isFalse(negated));
+    }
+
+    private static Expression where(Collector<User> collector) {
+        return collector.buildMetadata().getList(-1, -1, LockModeType.NONE).where();
+    }
+
+}
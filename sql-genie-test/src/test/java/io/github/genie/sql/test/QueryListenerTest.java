@@ -0,0 +1,99 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.builder.QueryEvent;
+import io.github.genie.sql.builder.exception.SqlExecuteException;
+import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.ResultCollector;
+import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateOptions;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.Tag;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryListenerTest {
+
+    final List<QueryEvent> events = new ArrayList<>();
+    final List<QueryStructure> resolved = new ArrayList<>();
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+
+    {
+        provider.updateCount = sql -> 4;
+    }
+
+    final ResultCollector collector = new ResultCollector() {
+        @Override
+        public <T> List<T> resolve(ResultSet resultSet,
+                                   EntityType entityType,
+                                   List<? extends Attribute> selected,
+                                   QueryStructure structure) {
+            resolved.add(structure);
+            // noinspection unchecked
+            return (List<T>) List.of(new User(), new User());
+        }
+    };
+
+    final JdbcQueryExecutor executor = new JdbcQueryExecutor(JpaMetamodel.of(), new MySqlQuerySqlBuilder(),
+            provider, collector, JdbcQueryExecutor.DEFAULT_FETCH_SIZE, events::add);
+
+    @Test
+    void reportsQueryPhases() {
+        executor.createQuery().from(User.class).where(User::getId).in(1, 2, 3).getList();
+        assertEquals(1, events.size());
+        QueryEvent event = events.get(0);
+        assertSame(resolved.get(0), event.structure());
+        assertEquals(2, event.rows());
+        assertNull(event.failure());
+        assertTrue(event.sql().endsWith("u_.id in(?,?,?)"));
+        assertTrue(event.fingerprint().endsWith("u_.id in(?)"));
+        assertTrue(event.buildNanos() > 0 && event.executeNanos() > 0);
+        assertEquals(event.totalNanos(),
+                event.buildNanos() + event.connectionNanos() + event.executeNanos() + event.mappingNanos());
+    }
+
+    @Test
+    void reportsFailure() {
+        provider.queryFailure = new SQLException("boom");
+        SqlExecuteException e = assertThrows(SqlExecuteException.class,
+                () -> executor.createQuery().from(User.class).getList());
+        assertSame(e, events.get(0).failure());
+        assertEquals(-1, events.get(0).rows());
+    }
+
+    @Test
+    void reportsAffectedRows() {
+        JdbcUpdate update = new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of(),
+                new JdbcUpdateOptions(), events::add);
+        update.delete(Tag.class).where(Tag::getId).gt(1).execute();
+        QueryEvent event = events.get(0);
+        assertEquals("delete t_ from `tag` t_ where t_.id>?", event.sql());
+        assertNull(event.structure());
+        assertEquals(4, event.rows());
+    }
+
+    @Test
+    void listenerFailureDoesNotFailQuery() {
+        JdbcQueryExecutor executor = new JdbcQueryExecutor(JpaMetamodel.of(), new MySqlQuerySqlBuilder(),
+                provider, collector, JdbcQueryExecutor.DEFAULT_FETCH_SIZE, event -> {
+            throw new IllegalStateException();
+        });
+        assertEquals(2, executor.createQuery().from(User.class).getList().size());
+    }
+
+}
@@ -0,0 +1,224 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.executor.jdbc.ConnectionProvider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * hands out one proxy connection that records prepared sql and bound values instead of talking to a database,
+ * statement results are taken from the non-final fields
+ */
+public class RecordingConnectionProvider implements ConnectionProvider {
+
+    final List<String> sql = new ArrayList<>();
+    final List<Object> bound = new ArrayList<>();
+    /**
+     * sql of closed statements
+     */
+    final List<String> closed = new ArrayList<>();
+    /**
+     * rows of every query result
+     */
+    final List<Object[]> rows = new ArrayList<>();
+    /**
+     * {@link Types} of the result columns, {@link Types#OTHER} if null
+     */
+    int[] columnTypes;
+    ToIntFunction<String> updateCount = sql -> 1;
+    IntFunction<int[]> batchCounts = size -> {
+        int[] counts = new int[size];
+        Arrays.fill(counts, 1);
+        return counts;
+    };
+    /**
+     * thrown by executeQuery if not null
+     */
+    SQLException queryFailure;
+    /**
+     * next generated key, one per row of the last update
+     */
+    int nextKey = 1;
+    boolean connectionClosed;
+    /**
+     * whether {@link #getConnection()} lends the connection, for streamed queries
+     */
+    boolean lending;
+    int borrowed;
+    int released;
+    String driverName = "Recording";
+    /**
+     * last fetch size set on a statement, null if never set
+     */
+    Integer fetchSize;
+
+    final Connection connection = proxy(Connection.class, this::connection);
+
+    @Override
+    public <T> T execute(ConnectionCallback<T> action) throws SQLException {
+        return action.doInConnection(connection);
+    }
+
+    @Override
+    public boolean canLendConnection() {
+        return lending;
+    }
+
+    @Override
+    public Connection getConnection() {
+        if (!lending) {
+            throw new UnsupportedOperationException();
+        }
+        borrowed++;
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) {
+        released++;
+    }
+
+    private Object connection(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "prepareStatement" -> statement((String) args[0]);
+            case "getAutoCommit" -> false;
+            case "getMetaData" -> proxy(DatabaseMetaData.class, (p, m, a) ->
+                    m.getName().equals("getDriverName") ? driverName : defaultValue(m));
+            case "close" -> connectionClosed = true;
+            case "isClosed" -> connectionClosed;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "RecordingConnection";
+            default -> defaultValue(method);
+        };
+    }
+
+    private PreparedStatement statement(String text) {
+        sql.add(text);
+        int[] pending = {0};
+        int[] updated = {0};
+        boolean[] isClosed = {false};
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "executeQuery":
+                    if (queryFailure != null) {
+                        throw queryFailure;
+                    }
+                    return resultSet();
+                case "executeUpdate":
+                    updated[0] = updateCount.applyAsInt(text);
+                    return updated[0];
+                case "getGeneratedKeys":
+                    return keys(updated[0]);
+                case "addBatch":
+                    pending[0]++;
+                    return null;
+                case "executeBatch":
+                    int[] counts = batchCounts.apply(pending[0]);
+                    pending[0] = 0;
+                    return counts;
+                case "close":
+                    isClosed[0] = true;
+                    closed.add(text);
+                    return null;
+                case "isClosed":
+                    return isClosed[0];
+                case "setFetchSize":
+                    fetchSize = (Integer) args[0];
+                    return null;
+                default:
+                    if (name.startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                        bound.add(name.equals("setNull") ? null : args[1]);
+                        return null;
+                    }
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private ResultSet resultSet() {
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getColumnCount" -> columnTypes != null ? columnTypes.length : rows.isEmpty() ? 0 : rows.get(0).length;
+            case "getColumnType" -> columnTypes != null ? columnTypes[(Integer) args[0] - 1] : Types.OTHER;
+            default -> defaultValue(method);
+        });
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getMetaData" -> metaData;
+            case "getType" -> ResultSet.TYPE_FORWARD_ONLY;
+            case "next" -> ++cursor[0] < rows.size();
+            case "wasNull" -> wasNull[0];
+            default -> {
+                if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof Integer)) {
+                    yield defaultValue(method);
+                }
+                Object value = rows.get(cursor[0])[(Integer) args[0] - 1];
+                wasNull[0] = value == null;
+                yield value == null ? defaultValue(method) : convert(value, method.getReturnType());
+            }
+        });
+    }
+
+    private ResultSet keys(int count) {
+        int[] cursor = {0};
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> cursor[0]++ < count;
+            case "getInt" -> nextKey++;
+            case "getLong" -> (long) nextKey++;
+            case "getObject" -> nextKey++;
+            case "wasNull" -> false;
+            default -> defaultValue(method);
+        });
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (type == int.class) {
+            return ((Number) value).intValue();
+        } else if (type == long.class) {
+            return ((Number) value).longValue();
+        } else if (type == double.class) {
+            return ((Number) value).doubleValue();
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0.0;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        }
+        return null;
+    }
+
+    private <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.builder.AbstractQueryExecutor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * records the query structures it is asked to execute instead of talking to a database,
+ * results are taken from the non-final fields
+ */
+public class RecordingQueryExecutor implements AbstractQueryExecutor {
+
+    /**
+     * structures of list queries
+     */
+    final List<QueryStructure> executed = new ArrayList<>();
+    /**
+     * structures of windowed slice queries
+     */
+    final List<QueryStructure> sliced = new ArrayList<>();
+    Function<QueryStructure, List<?>> rows = structure -> List.of();
+    /**
+     * answers streamed queries if not null, they are read from {@link #rows} otherwise
+     */
+    Function<QueryStructure, Stream<?>> stream;
+    /**
+     * answers windowed slice queries if not null, slices are counted and listed otherwise
+     */
+    Function<QueryStructure, Slice<?>> slice;
+
+    @NotNull
+    @Override
+    public <R> List<R> getList(@NotNull QueryStructure queryStructure) {
+        executed.add(queryStructure);
+        // noinspection unchecked
+        return (List<R>) rows.apply(queryStructure);
+    }
+
+    @Override
+    public <R> Stream<R> getStream(QueryStructure queryStructure) {
+        if (stream == null) {
+            return AbstractQueryExecutor.super.getStream(queryStructure);
+        }
+        // noinspection unchecked
+        return (Stream<R>) stream.apply(queryStructure);
+    }
+
+    @Override
+    public boolean supportsSlice() {
+        return slice != null;
+    }
+
+    @Override
+    public <R> Slice<R> getSlice(QueryStructure queryStructure) {
+        sliced.add(queryStructure);
+        // noinspection unchecked
+        return (Slice<R>) slice.apply(queryStructure);
+    }
+
+}
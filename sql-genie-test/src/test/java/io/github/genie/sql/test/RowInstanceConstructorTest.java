@@ -0,0 +1,224 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.GenerateImplementation;
+import io.github.genie.sql.builder.meta.GenerateMapper;
+import io.github.genie.sql.builder.meta.Projection;
+import io.github.genie.sql.builder.reflect.InstanceConstructor;
+import io.github.genie.sql.builder.reflect.ReflectUtil;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.User;
+import io.github.genie.sql.test.projection.UserModel;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowInstanceConstructorTest {
+
+    @Test
+    void constructsBeans() {
+        List<Attribute> attributes = attributes(UserModel.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, UserModel.class);
+        UserModel first = (UserModel) constructor.newInstance(row(attributes, 1));
+        UserModel second = (UserModel) constructor.newInstance(row(attributes, 2));
+        assertNotSame(first, second);
+        assertEquals(1, first.getId());
+        assertEquals("user1", first.getUsername());
+        assertEquals(2, second.getId());
+    }
+
+    @Test
+    void constructsRecords() {
+        List<Attribute> attributes = attributes(UserRecord.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, UserRecord.class);
+        assertEquals(new UserRecord(1, "user1"), constructor.newInstance(row(attributes, 1)));
+        assertEquals(new UserRecord(2, "user2"), constructor.newInstance(row(attributes, 2)));
+    }
+
+    @Test
+    void nullIntoPrimitiveComponentFails() {
+        List<Attribute> attributes = attributes(UserRecord.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, UserRecord.class);
+        assertThrows(RuntimeException.class, () -> constructor.newInstance(new Object[attributes.size()]));
+    }
+
+    @Test
+    void constructsTypesClosedToPrivateLookup() {
+        // java.util.concurrent.atomic is exported but not opened, like a result package on the module path
+        Supplier<Object> factory = ReflectUtil.newInstanceFactory(AtomicLong.class);
+        Object first = factory.get();
+        assertInstanceOf(AtomicLong.class, first);
+        assertNotSame(first, factory.get());
+    }
+
+    @Test
+    void constructsInterfaces() {
+        List<Attribute> attributes = attributes(UserView.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, UserView.class);
+        UserView first = (UserView) constructor.newInstance(row(attributes, 1));
+        UserView same = (UserView) constructor.newInstance(row(attributes, 1));
+        UserView second = (UserView) constructor.newInstance(row(attributes, 2));
+        assertEquals(1, first.getId());
+        assertEquals("1:user1", first.label());
+        assertEquals(first, same);
+        assertEquals(first.hashCode(), same.hashCode());
+        assertNotEquals(first, second);
+        assertTrue(first.toString().startsWith("UserView{"));
+        assertTrue(first.toString().contains("username=user1"));
+        assertFalse(Proxy.isProxyClass(first.getClass()));
+        assertInstanceOf(RowInstanceConstructorTest$UserView_Projection.class, first);
+    }
+
+    @Test
+    void proxiesInterfacesWithoutGeneratedImplementation() {
+        List<Attribute> attributes = attributes(UserName.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, UserName.class);
+        UserName first = (UserName) constructor.newInstance(row(attributes, 1));
+        assertTrue(Proxy.isProxyClass(first.getClass()));
+        assertEquals("user1", first.getUsername());
+        assertEquals(first, constructor.newInstance(row(attributes, 1)));
+    }
+
+    @Test
+    void constructsBeansThroughGeneratedMapper() {
+        List<Attribute> attributes = attributes(MappedUser.class).stream()
+                .filter(it -> !isNested(it))
+                .toList();
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, MappedUser.class);
+        MappedUser user = (MappedUser) constructor.newInstance(row(attributes, 1));
+        assertEquals(1, user.getId());
+        assertEquals("user1", user.getUsername());
+        assertNull(user.getParentUser());
+        assertEquals(RowInstanceConstructorTest$MappedUser_Mapper.class, user.writer);
+    }
+
+    @Test
+    void constructsUnselectedBeanPropertiesThroughGeneratedMapper() {
+        List<Attribute> attributes = attributes(MappedUser.class).stream()
+                .filter(it -> !isNested(it) && it.name().equals("username"))
+                .toList();
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, MappedUser.class);
+        MappedUser user = (MappedUser) constructor.newInstance(row(attributes, 1));
+        assertEquals(0, user.getId());
+        assertEquals("user1", user.getUsername());
+        assertEquals(RowInstanceConstructorTest$MappedUser_Mapper.class, user.writer);
+    }
+
+    @Test
+    void constructsNestedBeansThroughGeneratedMapper() {
+        List<Attribute> attributes = attributes(MappedUser.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, MappedUser.class);
+        Object[] row = row(attributes, 1);
+        MappedUser user = (MappedUser) constructor.newInstance(row);
+        assertEquals("user1", user.getUsername());
+        assertEquals("user1", user.getParentUser().getUsername());
+        assertEquals(RowInstanceConstructorTest$MappedParent_Mapper.class, user.getParentUser().writer);
+        for (int i = 0; i < attributes.size(); i++) {
+            if (isNested(attributes.get(i))) {
+                row[i] = null;
+            }
+        }
+        assertNull(((MappedUser) constructor.newInstance(row)).getParentUser());
+    }
+
+    @Test
+    void constructsRecordsThroughGeneratedMapper() {
+        List<Attribute> attributes = attributes(MappedRecord.class);
+        InstanceConstructor constructor = ReflectUtil.getRowInstanceConstructor(attributes, MappedRecord.class);
+        assertEquals(new MappedRecord(1, "user1"), constructor.newInstance(row(attributes, 1)));
+        assertEquals(RowInstanceConstructorTest$MappedRecord_Mapper.class, MappedRecord.writer);
+        assertThrows(NullPointerException.class, () -> constructor.newInstance(new Object[attributes.size()]));
+    }
+
+    private static List<Attribute> attributes(Class<?> type) {
+        Projection projection = JpaMetamodel.of().getProjection(User.class, type);
+        return new ArrayList<>(projection.attributes());
+    }
+
+    private static boolean isNested(Attribute attribute) {
+        return Attribute.getDeclaringType(attribute) instanceof Attribute;
+    }
+
+    private static Object[] row(List<Attribute> attributes, int id) {
+        return attributes.stream()
+                .map(attribute -> switch (attribute.name()) {
+                    case "id" -> id;
+                    case "username" -> "user" + id;
+                    default -> attribute.javaType().isPrimitive() ? defaultValue(attribute.javaType()) : null;
+                })
+                .toArray();
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type == boolean.class ? false : 0;
+    }
+
+    @GenerateImplementation
+    public interface UserView {
+        int getId();
+
+        String getUsername();
+
+        default String label() {
+            return getId() + ":" + getUsername();
+        }
+    }
+
+    public interface UserName {
+        String getUsername();
+    }
+
+    public record UserRecord(int id, String username) {
+    }
+
+    @Data
+    @GenerateMapper
+    public static class MappedUser {
+        private int id;
+        private String username;
+        private MappedParent parentUser;
+        transient Class<?> writer;
+
+        public void setUsername(String username) {
+            this.username = username;
+            this.writer = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+        }
+    }
+
+    @Data
+    @GenerateMapper
+    public static class MappedParent {
+        private int id;
+        private String username;
+        transient Class<?> writer;
+
+        public void setUsername(String username) {
+            this.username = username;
+            this.writer = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+        }
+    }
+
+    @GenerateMapper
+    public record MappedRecord(int id, String username) {
+        static Class<?> writer;
+
+        public MappedRecord {
+            writer = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+        }
+    }
+
+}
@@ -26,4 +26,18 @@ public class SingleConnectionProvider implements ConnectionProvider {
     public <T> T execute(ConnectionCallback<T> action) throws SQLException {
         return action.doInConnection(connection);
     }
+
+    @Override
+    public boolean canLendConnection() {
+        return true;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) {
+    }
 }
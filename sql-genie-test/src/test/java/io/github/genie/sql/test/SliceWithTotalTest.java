@@ -0,0 +1,166 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.Column;
+import io.github.genie.sql.api.Expression;
+import io.github.genie.sql.api.From;
+import io.github.genie.sql.api.LockModeType;
+import io.github.genie.sql.api.Order;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Selection;
+import io.github.genie.sql.api.Selection.EntitySelected;
+import io.github.genie.sql.api.Selection.SingleSelected;
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.builder.QueryConditionBuilder;
+import io.github.genie.sql.builder.QueryStructurePostProcessor;
+import io.github.genie.sql.builder.meta.Attribute;
+import io.github.genie.sql.builder.meta.EntityType;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor;
+import io.github.genie.sql.executor.jdbc.JdbcQueryExecutor.ResultCollector;
+import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SliceWithTotalTest {
+
+    int listQueries;
+
+    final QueryStructurePostProcessor postProcessor = new QueryStructurePostProcessor() {
+        @Override
+        public QueryStructure preListQuery(QueryConditionBuilder<?, ?> builder, QueryStructure queryStructure) {
+            listQueries++;
+            return queryStructure;
+        }
+    };
+
+    final ResultCollector collector = new ResultCollector() {
+        @Override
+        public <T> List<T> resolve(ResultSet resultSet,
+                                   EntityType entityType,
+                                   List<? extends Attribute> selected,
+                                   QueryStructure structure) {
+            return rows(structure);
+        }
+    };
+
+    final RecordingQueryExecutor executor = new RecordingQueryExecutor();
+
+    {
+        executor.rows = SliceWithTotalTest::rows;
+    }
+
+    @Test
+    void executorWithoutSlicePostProcessesOnce() {
+        Slice<User> slice = executor.createQuery(postProcessor).from(User.class).slice(0, 10);
+        assertEquals(3, slice.total());
+        assertEquals(1, listQueries);
+    }
+
+    @Test
+    void collectorWithoutTotalSkipsWindowedQuery() {
+        RecordingConnectionProvider provider = new RecordingConnectionProvider();
+        JdbcQueryExecutor executor = new JdbcQueryExecutor(JpaMetamodel.of(),
+                new MySqlQuerySqlBuilder(MySqlQuerySqlBuilder.DEFAULT_CACHE_SIZE, true), provider, collector);
+        Slice<User> slice = executor.createQuery(postProcessor).from(User.class).slice(0, 10);
+        assertEquals(3, slice.total());
+        assertEquals(3, slice.data().size());
+        assertEquals(2, provider.sql.size());
+        assertFalse(provider.sql.stream().anyMatch(sql -> sql.contains(MySqlQuerySqlBuilder.COUNT_OVER)),
+                provider.sql::toString);
+        assertEquals(1, listQueries);
+    }
+
+    @Test
+    void postProcessedDistinctQueryIsReused() {
+        executor.slice = structure -> null;
+        QueryStructurePostProcessor distinct = new QueryStructurePostProcessor() {
+            @Override
+            public QueryStructure preListQuery(QueryConditionBuilder<?, ?> builder, QueryStructure queryStructure) {
+                listQueries++;
+                return new DistinctStructure(queryStructure);
+            }
+        };
+        Slice<User> slice = executor.createQuery(distinct).from(User.class).slice(0, 10);
+        assertEquals(3, slice.total());
+        assertEquals(3, slice.data().size());
+        assertEquals(1, listQueries);
+        assertTrue(executor.sliced.isEmpty());
+    }
+
+    private record DistinctStructure(QueryStructure structure) implements QueryStructure {
+        @Override
+        public Selection select() {
+            return new EntitySelected() {
+                @Override
+                public Class<?> resultType() {
+                    return structure.select().resultType();
+                }
+
+                @Override
+                public boolean distinct() {
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        public From from() {
+            return structure.from();
+        }
+
+        @Override
+        public Expression where() {
+            return structure.where();
+        }
+
+        @Override
+        public List<? extends Expression> groupBy() {
+            return structure.groupBy();
+        }
+
+        @Override
+        public List<? extends Order<?>> orderBy() {
+            return structure.orderBy();
+        }
+
+        @Override
+        public Expression having() {
+            return structure.having();
+        }
+
+        @Override
+        public Integer offset() {
+            return structure.offset();
+        }
+
+        @Override
+        public Integer limit() {
+            return structure.limit();
+        }
+
+        @Override
+        public LockModeType lockType() {
+            return structure.lockType();
+        }
+
+        @Override
+        public List<? extends Column> fetch() {
+            return structure.fetch();
+        }
+    }
+
+    private static <T> List<T> rows(QueryStructure structure) {
+        //noinspection unchecked
+        return (List<T>) (structure.select() instanceof SingleSelected
+                ? List.of(3L)
+                : List.of(new User(), new User(), new User()));
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.api.Selection.SingleSelected;
+import io.github.genie.sql.api.Slice;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SliceWithoutCountTest {
+
+    final RecordingQueryExecutor executor = new RecordingQueryExecutor();
+    final List<QueryStructure> executed = executor.executed;
+    int available;
+
+    {
+        executor.rows = structure -> {
+            if (structure.select() instanceof SingleSelected) {
+                return List.of((long) available);
+            }
+            int offset = Math.max(structure.offset() == null ? 0 : structure.offset(), 0);
+            int size = Math.max(0, Math.min(structure.limit(), available - offset));
+            return new ArrayList<>(Collections.nCopies(size, new User()));
+        };
+    }
+
+    final Select<User> query = executor.createQuery().from(User.class);
+
+    @Test
+    void shortPageDerivesTotal() {
+        available = 25;
+        Slice<User> slice = query.sliceWithoutCount(20, 10);
+        assertEquals(5, slice.data().size());
+        assertEquals(25, slice.total());
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    void fullPageCountsOrUsesEstimate() {
+        available = 100;
+        Slice<User> slice = query.sliceWithoutCount(0, 10);
+        assertEquals(10, slice.data().size());
+        assertEquals(100, slice.total());
+        assertEquals(2, executed.size());
+
+        slice = query.sliceWithoutCount(0, 10, () -> 5);
+        assertEquals(10, slice.data().size());
+        assertEquals(11, slice.total());
+        assertEquals(3, executed.size());
+    }
+
+    @Test
+    void pastTheEndCounts() {
+        available = 5;
+        Slice<User> slice = query.sliceWithoutCount(10, 10);
+        assertEquals(0, slice.data().size());
+        assertEquals(5, slice.total());
+    }
+
+}
@@ -0,0 +1,192 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.executor.jdbc.ConnectionProvider;
+import io.github.genie.sql.executor.jdbc.StatementCachingConnectionProvider;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCachingConnectionProviderTest {
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final List<String> prepared = provider.sql;
+    final List<String> closed = provider.closed;
+
+    @Test
+    void reusesStatementsPerSqlAndKeysMode() throws Exception {
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(provider, 2);
+        for (int i = 0; i < 3; i++) {
+            cache.execute(c -> {
+                try (PreparedStatement statement = c.prepareStatement("select 1")) {
+                    assertFalse(statement.isClosed());
+                    assertTrue(statement.getConnection() == c);
+                }
+                c.prepareStatement("insert", Statement.RETURN_GENERATED_KEYS).close();
+                return null;
+            });
+        }
+        assertEquals(List.of("select 1", "insert"), prepared);
+        assertEquals(4, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void nestedUseGetsSeparateStatement() throws Exception {
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(provider, 4);
+        cache.execute(c -> {
+            try (PreparedStatement a = c.prepareStatement("select 1");
+                 PreparedStatement b = c.prepareStatement("select 1")) {
+                assertNotSame(a, b);
+            }
+            return null;
+        });
+        assertEquals(2, prepared.size());
+        assertEquals(1, closed.size());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndInvalidatesOnClose() throws Exception {
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(provider, 2);
+        cache.execute(c -> {
+            c.prepareStatement("a").close();
+            c.prepareStatement("b").close();
+            c.prepareStatement("a").close();
+            c.prepareStatement("c").close();
+            return null;
+        });
+        assertEquals(List.of("b"), closed);
+        cache.execute(c -> {
+            c.close();
+            return null;
+        });
+        assertEquals(List.of("b", "a", "c"), closed);
+        assertTrue(provider.connectionClosed);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void survivesPoolsClosingTrackedStatements() throws Exception {
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(new ConnectionProvider() {
+            // like hikari and dbcp, closes the statements opened through its proxy when the connection is returned
+            @Override
+            public <T> T execute(ConnectionCallback<T> action) throws SQLException {
+                List<Statement> tracked = new ArrayList<>();
+                Connection logical = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                            case "isWrapperFor" -> true;
+                            case "unwrap" -> provider.connection;
+                            case "prepareStatement" -> {
+                                PreparedStatement statement = provider.connection.prepareStatement((String) args[0]);
+                                tracked.add(statement);
+                                yield statement;
+                            }
+                            case "close" -> null;
+                            default -> method.invoke(provider.connection, args);
+                        });
+                try {
+                    return action.doInConnection(logical);
+                } finally {
+                    for (Statement statement : tracked) {
+                        statement.close();
+                    }
+                    logical.close();
+                }
+            }
+        }, 4);
+        for (int i = 0; i < 3; i++) {
+            cache.execute(c -> {
+                c.prepareStatement("select 1").close();
+                c.close();
+                return null;
+            });
+        }
+        assertEquals(List.of("select 1"), prepared);
+        assertEquals(List.of(), closed);
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void closesStatementsWithChangedSettings() throws Exception {
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(provider, 4);
+        cache.execute(c -> {
+            try (PreparedStatement statement = c.prepareStatement("select 1")) {
+                statement.setMaxRows(1);
+            }
+            try (PreparedStatement statement = c.prepareStatement("select 1")) {
+                statement.setInt(1, 1);
+            }
+            c.prepareStatement("select 1").close();
+            return null;
+        });
+        assertEquals(List.of("select 1", "select 1"), prepared);
+        assertEquals(List.of("select 1"), closed);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void freesCacheOfRetiredConnection() throws Exception {
+        RecordingConnectionProvider next = new RecordingConnectionProvider();
+        RecordingConnectionProvider[] pooled = {provider};
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(new ConnectionProvider() {
+            @Override
+            public <T> T execute(ConnectionCallback<T> action) throws java.sql.SQLException {
+                return pooled[0].execute(action);
+            }
+        }, 4);
+        cache.execute(c -> {
+            c.prepareStatement("select 1").close();
+            return null;
+        });
+        // the pool closes the physical connection and hands out a new one
+        provider.connectionClosed = true;
+        pooled[0] = next;
+        cache.execute(c -> {
+            c.prepareStatement("select 2").close();
+            return null;
+        });
+        assertEquals(List.of("select 1"), closed);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void freesCacheOnReleaseOfClosedConnection() throws Exception {
+        StatementCachingConnectionProvider cache = new StatementCachingConnectionProvider(new ConnectionProvider() {
+            @Override
+            public <T> T execute(ConnectionCallback<T> action) throws java.sql.SQLException {
+                return provider.execute(action);
+            }
+
+            @Override
+            public Connection getConnection() {
+                return provider.connection;
+            }
+
+            @Override
+            public void releaseConnection(Connection connection) {
+                provider.connectionClosed = true;
+            }
+        }, 4);
+        Connection connection = cache.getConnection();
+        connection.prepareStatement("select 1").close();
+        assertEquals(1, cache.size());
+        cache.releaseConnection(connection);
+        assertEquals(List.of("select 1"), closed);
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.api.Query.Select;
+import io.github.genie.sql.api.QueryStructure;
+import io.github.genie.sql.test.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class StreamTest {
+
+    final RecordingQueryExecutor executor = new RecordingQueryExecutor();
+    final List<QueryStructure> streamed = new ArrayList<>();
+    int closed;
+
+    {
+        executor.rows = structure -> fail("stream must not materialize the list");
+        executor.stream = structure -> {
+            streamed.add(structure);
+            return Stream.of(new User(), new User()).onClose(() -> closed++);
+        };
+    }
+
+    final Select<User> query = executor.createQuery().from(User.class);
+
+    @Test
+    void forEachClosesStream() {
+        List<User> users = new ArrayList<>();
+        query.where(User::getId).gt(1).orderBy(User::getId).forEach(users::add);
+        assertEquals(2, users.size());
+        assertEquals(1, closed);
+        assertEquals(1, streamed.size());
+        assertEquals(-1, streamed.get(0).limit());
+    }
+
+    @Test
+    void emptyResultSkipsExecutor() {
+        try (Stream<User> stream = query.where(User::getId).in().stream()) {
+            assertEquals(0, stream.count());
+        }
+        assertTrue(streamed.isEmpty());
+    }
+
+}
@@ -2,7 +2,10 @@ package io.github.genie.sql.test;
 
 import io.github.genie.sql.api.Query.Select;
 import io.github.genie.sql.api.Updater;
+import io.github.genie.sql.builder.Q;
+import io.github.genie.sql.builder.exception.OptimisticLockException;
 import io.github.genie.sql.test.entity.User;
+import io.github.genie.sql.test.entity.User_Genie;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
@@ -13,6 +16,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -104,6 +108,87 @@ public class UpdateTest {
 
     }
 
+    @Test
+    void multiRowInsert() {
+        Transaction.doInTransaction(() -> {
+            Select<User> select = UserQueryProvider.jdbc;
+            List<User> exist = select.where(User::getId).in(10000008, 10000009, 10000010).getList();
+            if (!exist.isEmpty()) {
+                UserUpdaterProvider.jdbc.delete(exist);
+            }
+            // two rows per statement, the third goes alone
+            List<User> users = Arrays.asList(newUser(10000008), newUser(10000009), newUser(10000010));
+            UserUpdaterProvider.multiRowJdbc.insert(users);
+            assertEquals(users, select.where(User::getId).in(10000008, 10000009, 10000010).getList());
+            UserUpdaterProvider.jdbc.delete(users);
+        });
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(UserUpdaterProvider.class)
+    void upsert(Updater<User> userUpdater) {
+        Transaction.doInTransaction(() -> testUpsert(userUpdater));
+    }
+
+    private void testUpsert(Updater<User> userUpdater) {
+        User exist = query(userUpdater).where(User::getId).eq(10000003).getSingle();
+        if (exist != null) {
+            userUpdater.delete(exist);
+        }
+        List<User> users = new ArrayList<>();
+        for (User user : query(userUpdater).where(User::getId).in(1, 2).getList()) {
+            user = user.clone();
+            user.setRandomNumber(user.getRandomNumber() + 1);
+            users.add(user);
+        }
+        int version = version(userUpdater, 1);
+        users.add(newUser(10000003));
+        userUpdater.upsert(users);
+        assertEquals(users, query(userUpdater).where(User::getId).in(1, 2, 10000003).getList());
+        assertEquals(version + 1, version(userUpdater, 1));
+        userUpdater.delete(users.get(2));
+    }
+
+    @Test
+    void upsertStaleVersion() {
+        Transaction.doInTransaction(() -> {
+            Updater<User> updater = UserUpdaterProvider.jdbc;
+            User user = UserQueryProvider.jdbc.where(User::getId).eq(1).getSingle();
+            User stale = user.clone();
+            user.setRandomNumber(user.getRandomNumber() + 1);
+            updater.upsert(user);
+            stale.setRandomNumber(stale.getRandomNumber() + 2);
+            assertThrows(OptimisticLockException.class, () -> updater.upsert(stale));
+            assertEquals(user, UserQueryProvider.jdbc.where(User::getId).eq(1).getSingle());
+        });
+    }
+
+    private int version(Updater<User> userUpdater, int id) {
+        return query(userUpdater).select(User_Genie.optLock).where(User::getId).eq(id).getSingle();
+    }
+
+    @Test
+    void bulkUpdateJoinsParent() {
+        Transaction.doInTransaction(() -> {
+            Select<User> select = UserQueryProvider.jdbc;
+            User child = select.where(User::getPid).isNotNull().getFirst();
+            User parent = select.where(User::getId).eq(child.getPid()).getSingle();
+            List<User> children = select.where(User::getPid).eq(parent.getId()).getList();
+            for (User user : children) {
+                user.setRandomNumber(user.getRandomNumber() + 1);
+            }
+            int version = version(UserUpdaterProvider.jdbc, child.getId());
+            int rows = UserUpdaterProvider.jdbcUpdate.update(User.class)
+                    .setExpression(User::getRandomNumber, Q.get(User::getRandomNumber).add(1))
+                    .where(User::getParentUser).get(User::getUsername).eq(parent.getUsername())
+                    .where(User::getPid).eq(parent.getId())
+                    .execute();
+            assertEquals(children.size(), rows);
+            assertEquals(children, select.where(User::getPid).eq(parent.getId()).getList());
+            assertEquals(version + 1, version(UserUpdaterProvider.jdbc, child.getId()));
+        });
+    }
+
     @Test
     public void test() {
         Transaction.doInTransaction(() -> {
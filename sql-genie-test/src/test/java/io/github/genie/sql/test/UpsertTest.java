@@ -0,0 +1,75 @@
+package io.github.genie.sql.test;
+
+import io.github.genie.sql.builder.exception.OptimisticLockException;
+import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
+import io.github.genie.sql.meta.JpaMetamodel;
+import io.github.genie.sql.test.entity.InsertTest;
+import io.github.genie.sql.test.entity.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UpsertTest {
+
+    final RecordingConnectionProvider provider = new RecordingConnectionProvider();
+    final List<String> sql = provider.sql;
+    int[] rowCounts;
+
+    final JdbcUpdate update = new JdbcUpdate(new MysqlUpdateSqlBuilder(), provider, JpaMetamodel.of());
+
+    {
+        provider.batchCounts = size -> rowCounts;
+    }
+
+    @Test
+    void updatesAllColumnsOnDuplicateKey() {
+        rowCounts = new int[]{1, 2};
+        update.upsert(List.of(new Tag(1, "a"), new Tag(2, "b")), Tag.class);
+        assertEquals(List.of("insert into `tag` (`name`,`id`) values (?,?)"
+                             + " on duplicate key update `name`=values(`name`)"), sql);
+    }
+
+    @Test
+    void bumpsVersionOfStoredRowsOnly() {
+        // found rows reports 1 for an update that changed nothing, the counts are not consulted
+        rowCounts = new int[]{1, 1};
+        provider.rows.add(new Object[]{2, 0});
+        InsertTest inserted = new InsertTest(1, 1);
+        InsertTest updated = new InsertTest(2, 2);
+        update.upsert(List.of(inserted, updated), InsertTest.class);
+        assertEquals(List.of("select `id`,`version` from `insert_test` where `id` in (?,?) for update",
+                "insert into `insert_test` (`num`,`id`,`version`) values (?,?,?)"
+                + " on duplicate key update `num`=if(`version`=values(`version`),values(`num`),`num`)"
+                + ",`version`=if(`version`=values(`version`),`version`+1,`version`)"), sql);
+        assertEquals(0, inserted.getVersion());
+        assertEquals(1, updated.getVersion());
+    }
+
+    @Test
+    void staleVersionFailsBeforeWriting() {
+        rowCounts = new int[]{1, 1};
+        provider.rows.add(new Object[]{1, 3});
+        InsertTest entity = new InsertTest(1, 1);
+        assertThrows(OptimisticLockException.class,
+                () -> update.upsert(List.of(entity, new InsertTest(2, 2)), InsertTest.class));
+        assertEquals(1, sql.size());
+        assertEquals(0, entity.getVersion());
+    }
+
+    @Test
+    void acceptsRewrittenBatchCounts() {
+        rowCounts = new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO};
+        provider.rows.add(new Object[]{2, 0});
+        InsertTest inserted = new InsertTest(1, 1);
+        InsertTest updated = new InsertTest(2, 2);
+        update.upsert(List.of(inserted, updated), InsertTest.class);
+        assertEquals(0, inserted.getVersion());
+        assertEquals(1, updated.getVersion());
+    }
+
+}
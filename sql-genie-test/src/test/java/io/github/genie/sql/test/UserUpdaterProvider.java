@@ -3,6 +3,7 @@ package io.github.genie.sql.test;
 import io.github.genie.sql.api.Updater;
 import io.github.genie.sql.test.entity.User;
 import io.github.genie.sql.executor.jdbc.JdbcUpdate;
+import io.github.genie.sql.executor.jdbc.JdbcUpdateOptions;
 import io.github.genie.sql.executor.jdbc.MySqlQuerySqlBuilder;
 import io.github.genie.sql.executor.jdbc.MysqlUpdateSqlBuilder;
 import io.github.genie.sql.executor.jpa.JpaQueryExecutor;
@@ -16,7 +17,13 @@ import org.junit.jupiter.params.provider.ArgumentsProvider;
 import java.util.stream.Stream;
 
 public class UserUpdaterProvider implements ArgumentsProvider {
-    public static final Updater<User> jdbc = jdbc();
+    public static final JdbcUpdate jdbcUpdate = new JdbcUpdate(
+            new MysqlUpdateSqlBuilder(),
+            SingleConnectionProvider.CONNECTION_PROVIDER,
+            JpaMetamodel.of()
+    );
+    public static final Updater<User> jdbc = jdbcUpdate.getUpdater(User.class);
+    public static final Updater<User> multiRowJdbc = multiRowJdbc();
     public static final Updater<User> jpa = jpa();
 
     @Override
@@ -28,11 +35,12 @@ public class UserUpdaterProvider implements ArgumentsProvider {
         );
     }
 
-    private static Updater<User> jdbc() {
+    private static Updater<User> multiRowJdbc() {
         JdbcUpdate jdbcUpdate = new JdbcUpdate(
                 new MysqlUpdateSqlBuilder(),
                 SingleConnectionProvider.CONNECTION_PROVIDER,
-                JpaMetamodel.of()
+                JpaMetamodel.of(),
+                new JdbcUpdateOptions().insertRowsPerStatement(2)
         );
         return jdbcUpdate.getUpdater(User.class);
     }